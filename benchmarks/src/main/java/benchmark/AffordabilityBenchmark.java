@@ -0,0 +1,108 @@
+package benchmark;
+
+import analysis.AffordabilitySolver;
+import model.Apartment;
+import model.PaymentBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cotação inversa de um lote de perfis: o maior valor de imóvel e a maior taxa para um orçamento mensal.
+ * A referência {@code guessApartmentValues} é a forma de responder sem o solver: bissecção do valor chamando
+ * getMonthlyPayment de um apartamento até a parcela encostar no orçamento.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class AffordabilityBenchmark {
+    @Param({"100000"})
+    private int size;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private byte[] type;
+    private double[] budget;
+    private int[] termYears;
+    private double[] rate;
+    private double[] value;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        type = new byte[size];
+        budget = new double[size];
+        termYears = new int[size];
+        rate = new double[size];
+        value = new double[size];
+        for (int i = 0; i < size; i++) {
+            type[i] = (byte) random.nextInt(3);
+            budget[i] = 1_000 + random.nextDouble() * 9_000;
+            termYears[i] = 5 + random.nextInt(31);
+            rate[i] = 4 + random.nextDouble() * 10;
+            value[i] = 100_000 + random.nextDouble() * 900_000;
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] maxPropertyValues() {
+        return AffordabilitySolver.maxPropertyValues(type, budget, termYears, rate, pool);
+    }
+
+    @Benchmark
+    public double[] maxInterestRates() {
+        return AffordabilitySolver.maxInterestRates(type, value, termYears, budget, pool);
+    }
+
+    @Benchmark
+    public double[] guessApartmentValues() {
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            double low = 0;
+            double high = budget[i] * termYears[i] * 12;
+            for (int iteration = 0; iteration < 60; iteration++) {
+                double middle = (low + high) / 2;
+                if (new Apartment(middle, termYears[i], rate[i], 0, 0).getMonthlyPayment() <= budget[i]) {
+                    low = middle;
+                } else {
+                    high = middle;
+                }
+            }
+            result[i] = low;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] apartmentValues() {
+        double[] result = new double[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = AffordabilitySolver.maxPropertyValue(PaymentBatch.APARTMENT, budget[i], termYears[i], rate[i]);
+        }
+        return result;
+    }
+}
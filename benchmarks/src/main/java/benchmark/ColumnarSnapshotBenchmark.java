@@ -0,0 +1,89 @@
+package benchmark;
+
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.ColumnarFinancingSnapshot;
+import util.FinancingFileHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abertura da carteira a partir do snapshot colunar mapeado em memória, comparada com a desserialização de
+ * financings.ser: apenas a abertura, e a abertura seguida da soma dos pagamentos mensais.
+ * Com {@code -prof gc}, a alocação por operação mostra o custo de heap de cada formato.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class ColumnarSnapshotBenchmark {
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private Path directory;
+    private String snapshotFile;
+    private String serializedFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        ArrayList<Financing> financings = Portfolios.generate(size, "MIXED", 42);
+        directory = Files.createTempDirectory("financing-benchmark");
+        snapshotFile = directory.resolve("financings.col").toString();
+        serializedFile = directory.resolve("financings.ser").toString();
+        ColumnarFinancingSnapshot.write(financings, snapshotFile);
+        FinancingFileHandler.serializeFinancings(financings, serializedFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(Path.of(snapshotFile));
+        Files.delete(Path.of(serializedFile));
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public int openSnapshot() throws IOException {
+        return ColumnarFinancingSnapshot.open(snapshotFile).size();
+    }
+
+    @Benchmark
+    public int deserialize() throws IOException, ClassNotFoundException {
+        return FinancingFileHandler.deserializeFinancings(serializedFile).size();
+    }
+
+    @Benchmark
+    public double openSnapshotAndSum() throws IOException {
+        return sumMonthlyPayments(ColumnarFinancingSnapshot.open(snapshotFile).asList());
+    }
+
+    @Benchmark
+    public double deserializeAndSum() throws IOException, ClassNotFoundException {
+        return sumMonthlyPayments(FinancingFileHandler.deserializeFinancings(serializedFile));
+    }
+
+    private static double sumMonthlyPayments(List<Financing> financings) {
+        double sum = 0;
+        for (Financing financing : financings) {
+            sum += financing.getMonthlyPayment();
+        }
+        return sum;
+    }
+}
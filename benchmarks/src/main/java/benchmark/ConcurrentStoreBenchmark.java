@@ -0,0 +1,125 @@
+package benchmark;
+
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import portfolio.ConcurrentPortfolioStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de inclusões simultâneas na carteira: {@link ConcurrentPortfolioStore} contra um ArrayList com trava global
+ * ({@link Collections#synchronizedList}), como a carteira da aplicação antes.
+ * Pelo JMH, roda com uma thread por núcleo. Para medir a escalabilidade, {@link #main(String[])} repete o benchmark
+ * com 1, 2, 4, ... threads até a quantidade de núcleos ({@code gradle :benchmarks:jmhThreadSweep}, com limite opcional
+ * {@code -Pthreads=16}) e mostra a vazão e o ganho em relação a uma thread para cada quantidade.
+ * As carteiras são recriadas a cada iteração e guardam sempre os mesmos objetos, para medir apenas a inclusão.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class ConcurrentStoreBenchmark {
+    private static final int PORTFOLIO_SIZE = 1024;
+
+    private ArrayList<Financing> financings;
+    private ConcurrentPortfolioStore store;
+    private List<Financing> synchronizedList;
+
+    @Setup
+    public void setUp() {
+        financings = Portfolios.generate(PORTFOLIO_SIZE, "MIXED", 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        store = new ConcurrentPortfolioStore();
+        synchronizedList = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * Posição de cada thread na carteira gerada.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        Financing next(ArrayList<Financing> financings) {
+            Financing financing = financings.get(next);
+            next = (next + 1) & (PORTFOLIO_SIZE - 1);
+            return financing;
+        }
+    }
+
+    @Benchmark
+    public int store(Cursor cursor) {
+        return store.add(cursor.next(financings));
+    }
+
+    @Benchmark
+    public boolean synchronizedList(Cursor cursor) {
+        return synchronizedList.add(cursor.next(financings));
+    }
+
+    /**
+     * Varredura da quantidade de threads: executa os dois benchmarks com 1, 2, 4, ... threads, até o limite informado
+     * (por padrão, a quantidade de núcleos, que sempre é incluída), e mostra a vazão e o ganho de cada um.
+     *
+     * @param args Opcionalmente, a quantidade máxima de threads.
+     * @throws RunnerException Se o JMH falhar.
+     */
+    public static void main(String[] args) throws RunnerException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        Map<Integer, Map<String, Double>> throughput = new TreeMap<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(ConcurrentStoreBenchmark.class.getName() + "\\.")
+                    .threads(threads)
+                    .build();
+            Map<String, Double> byBenchmark = new TreeMap<>();
+            for (RunResult result : new Runner(options).run()) {
+                String label = result.getParams().getBenchmark();
+                byBenchmark.put(label.substring(label.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+            }
+            throughput.put(threads, byBenchmark);
+        }
+
+        Map<String, Double> single = throughput.get(1);
+        System.out.printf("%n%8s %20s %10s %20s %10s%n", "Threads", "store (ops/us)", "ganho", "synchronizedList", "ganho");
+        for (Map.Entry<Integer, Map<String, Double>> entry : throughput.entrySet()) {
+            double store = entry.getValue().get("store");
+            double locked = entry.getValue().get("synchronizedList");
+            System.out.printf("%8d %20.2f %9.2fx %20.2f %9.2fx%n", entry.getKey(),
+                    store, store / single.get("store"), locked, locked / single.get("synchronizedList"));
+        }
+    }
+}
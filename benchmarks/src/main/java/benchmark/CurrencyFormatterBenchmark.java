@@ -0,0 +1,68 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.CurrencyFormatter;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatação de valores em reais: {@link CurrencyFormatter} comparado ao NumberFormat do JDK.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class CurrencyFormatterBenchmark {
+    private static final int VALUES = 1024;
+
+    private double[] amounts;
+    private NumberFormat numberFormat;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        amounts = Portfolios.amounts(VALUES, 42);
+        numberFormat = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
+        buffer = new StringBuilder(64);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void formatToBRL(Blackhole blackhole) {
+        for (double amount : amounts) {
+            blackhole.consume(CurrencyFormatter.formatToBRL(amount));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void appendBRL(Blackhole blackhole) {
+        for (double amount : amounts) {
+            buffer.setLength(0);
+            blackhole.consume(CurrencyFormatter.appendBRL(amount, buffer).length());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void numberFormat(Blackhole blackhole) {
+        for (double amount : amounts) {
+            blackhole.consume(numberFormat.format(amount));
+        }
+    }
+}
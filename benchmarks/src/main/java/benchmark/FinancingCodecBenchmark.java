@@ -0,0 +1,82 @@
+package benchmark;
+
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.FinancingCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificação da carteira em memória: {@link FinancingCodec} comparado ao ObjectOutputStream.
+ * Os tamanhos codificados nos dois formatos são exibidos na preparação de cada execução.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class FinancingCodecBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"HOUSE", "LAND", "MIXED"})
+    private String mix;
+
+    private ArrayList<Financing> financings;
+    private byte[] javaBytes;
+    private byte[] codecBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        financings = Portfolios.generate(size, mix, 42);
+        javaBytes = objectOutputStream();
+        codecBytes = codec();
+        System.out.printf("%nTamanho: ObjectOutputStream %d bytes, FinancingCodec %d bytes (%.1f%%)%n",
+                javaBytes.length, codecBytes.length, 100.0 * codecBytes.length / javaBytes.length);
+    }
+
+    @Benchmark
+    public byte[] objectOutputStream() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size * 64);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(financings);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] codec() {
+        return FinancingCodec.encode(financings);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public ArrayList<Financing> objectInputStream() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaBytes))) {
+            return (ArrayList<Financing>) in.readObject();
+        }
+    }
+
+    @Benchmark
+    public ArrayList<Financing> codecDecode() throws IOException {
+        return FinancingCodec.decode(ByteBuffer.wrap(codecBytes));
+    }
+}
@@ -0,0 +1,108 @@
+package benchmark;
+
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import util.AsyncFinancingWriter;
+import util.FinancingFileHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de gravação em financings.txt com várias threads produtoras, cada uma aguardando a confirmação do seu bloco:
+ * {@link FinancingFileHandler#saveToFile} (abre e fecha o arquivo a cada bloco) contra {@link AsyncFinancingWriter}
+ * em cada durabilidade. Com vários produtores, os blocos que chegam juntos compartilham a mesma escrita e o mesmo fsync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class GroupCommitBenchmark {
+    private static final int PORTFOLIO_SIZE = 1024;
+
+    private ArrayList<Financing> financings;
+    private Path directory;
+    private String outputFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        financings = Portfolios.generate(PORTFOLIO_SIZE, "MIXED", 42);
+        directory = Files.createTempDirectory("financing-benchmark");
+        outputFile = directory.resolve("financings.txt").toString();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOutput() throws IOException {
+        Files.deleteIfExists(Path.of(outputFile));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(outputFile));
+        Files.delete(directory);
+    }
+
+    /**
+     * Gravador compartilhado pelas threads, recriado a cada iteração para que o arquivo não cresça sem limite.
+     */
+    @State(Scope.Benchmark)
+    public static class WriterState {
+        @Param({"NONE", "BATCH", "RECORD"})
+        private AsyncFinancingWriter.Durability durability;
+
+        private AsyncFinancingWriter writer;
+
+        @Setup(Level.Iteration)
+        public void open(GroupCommitBenchmark benchmark) throws IOException {
+            writer = new AsyncFinancingWriter(benchmark.outputFile, durability);
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Posição de cada thread na carteira, para que as threads gravem financiamentos diferentes.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        Financing next(ArrayList<Financing> financings) {
+            Financing financing = financings.get(next);
+            next = (next + 1) % financings.size();
+            return financing;
+        }
+    }
+
+    @Benchmark
+    public void saveToFile(Cursor cursor) throws IOException {
+        FinancingFileHandler.saveToFile(cursor.next(financings), outputFile);
+    }
+
+    @Benchmark
+    public void append(WriterState state, Cursor cursor) {
+        state.writer.append(cursor.next(financings)).join();
+    }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.FinancingFileHandler;
+import util.IncrementalFinancingReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recarga de um financings.txt grande que cresce aos poucos: {@link IncrementalFinancingReader} comparado
+ * à leitura completa. Antes de cada chamada, alguns blocos são acrescentados ao arquivo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class IncrementalReadBenchmark {
+    @Param({"100000"})
+    private int size;
+
+    @Param({"10"})
+    private int appended;
+
+    private Path file;
+    private List<Financing> additions;
+    private IncrementalFinancingReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("financings", ".txt");
+        FinancingFileHandler.saveAllToFile(Portfolios.generate(size, "MIXED", 42), file.toString());
+        additions = Portfolios.generate(appended, "MIXED", 7);
+        reader = new IncrementalFinancingReader(file.toString());
+        reader.reload();
+    }
+
+    @Setup(Level.Invocation)
+    public void append() throws IOException {
+        FinancingFileHandler.saveAllToFile(additions, file.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public List<Financing> incrementalReload() throws IOException {
+        return reader.reload();
+    }
+
+    @Benchmark
+    public ArrayList<Financing> fullRead() throws IOException {
+        return FinancingFileHandler.readFromFile(file.toString());
+    }
+}
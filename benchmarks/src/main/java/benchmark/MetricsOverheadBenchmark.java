@@ -0,0 +1,86 @@
+package benchmark;
+
+import metrics.FinancingMetrics;
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.CurrencyFormatter;
+import util.FinancingReportWriter;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das métricas nos caminhos mais frequentes, com as métricas desligadas e ligadas:
+ * pagamento mensal de uma carteira, formatação de moeda e geração dos blocos de relatório.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class MetricsOverheadBenchmark {
+    @Param({"1000"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    private ArrayList<Financing> financings;
+    private double[] amounts;
+    private FinancingReportWriter reportWriter;
+    private StringBuilder report;
+
+    @Setup
+    public void setUp() {
+        financings = Portfolios.generate(size, "MIXED", 42);
+        amounts = Portfolios.amounts(size, 42);
+        reportWriter = new FinancingReportWriter();
+        report = new StringBuilder(size * 512);
+        FinancingMetrics.setEnabled(enabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FinancingMetrics.setEnabled(false);
+        FinancingMetrics.getMXBean().reset();
+    }
+
+    @Benchmark
+    public double getMonthlyPayment() {
+        double sum = 0;
+        for (Financing financing : financings) {
+            sum += financing.getMonthlyPayment();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int formatToBRL() {
+        int length = 0;
+        for (double amount : amounts) {
+            length += CurrencyFormatter.formatToBRL(amount).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public int writeReport() {
+        report.setLength(0);
+        for (Financing financing : financings) {
+            reportWriter.write(financing, report);
+        }
+        return report.length();
+    }
+}
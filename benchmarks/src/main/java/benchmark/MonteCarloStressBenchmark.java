@@ -0,0 +1,58 @@
+package benchmark;
+
+import analysis.MonteCarloStressTest;
+import analysis.StressResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de estresse de Monte Carlo com 100 mil trajetórias de dez anos, variando a quantidade de threads do pool.
+ * O resultado é o mesmo em todas as configurações; só o tempo deve mudar com a quantidade de núcleos disponíveis.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class MonteCarloStressBenchmark {
+    @Param({"10000"})
+    private int size;
+
+    @Param({"1", "2", "4"})
+    private int threads;
+
+    private MonteCarloStressTest stressTest;
+    private MonteCarloStressTest.Parameters parameters;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        stressTest = MonteCarloStressTest.of(Portfolios.generate(size, "MIXED", 42));
+        parameters = new MonteCarloStressTest.Parameters(100_000, 10, 0.1, 1.0, 42);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public StressResult stressTest() {
+        return stressTest.run(parameters, pool);
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.Financing;
+import model.FinancingColumns;
+import model.Quote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo do pagamento mensal de uma carteira: pelos objetos (getMonthlyPayment e quote)
+ * e pelo cálculo em lote sobre colunas primitivas.
+ * As carteiras vão até 10^7 financiamentos, cerca de 1 GB de objetos e colunas. Com 10^8, só os objetos passariam
+ * de 8 GB de heap, por isso esse tamanho ficou de fora.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class MonthlyPaymentBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"HOUSE", "APARTMENT", "LAND", "MIXED"})
+    private String mix;
+
+    private ArrayList<Financing> financings;
+    private FinancingColumns columns;
+    private double[] monthly;
+    private double[] total;
+
+    @Setup
+    public void setUp() {
+        financings = Portfolios.generate(size, mix, 42);
+        columns = FinancingColumns.of(financings);
+        monthly = new double[size];
+        total = new double[size];
+    }
+
+    @Benchmark
+    public double getMonthlyPayment() {
+        double sum = 0;
+        for (Financing financing : financings) {
+            sum += financing.getMonthlyPayment();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double quote() {
+        double sum = 0;
+        for (Financing financing : financings) {
+            Quote quote = financing.quote();
+            sum += quote.totalPayment();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double[] batchKernel() {
+        columns.computePayments(monthly, total);
+        return total;
+    }
+}
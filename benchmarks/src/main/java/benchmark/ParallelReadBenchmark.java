@@ -0,0 +1,68 @@
+package benchmark;
+
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.FinancingFileHandler;
+import util.ParallelFinancingReader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escalabilidade da leitura paralela de financings.txt com 1 a N threads, comparada à leitura sequencial.
+ * O arquivo tem 3 milhões de blocos (cerca de 1,1 GB), gerado em um arquivo temporário.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class ParallelReadBenchmark {
+    @Param({"3000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private Path file;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("financings", ".txt");
+        FinancingFileHandler.saveAllToFile(Portfolios.generate(size, "MIXED", 42), file.toString());
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.delete(file);
+    }
+
+    @Benchmark
+    public ArrayList<Financing> sequential() throws IOException {
+        return FinancingFileHandler.readFromFile(file.toString());
+    }
+
+    @Benchmark
+    public ArrayList<Financing> parallel() throws IOException {
+        return ParallelFinancingReader.readFromFile(file.toString(), pool);
+    }
+}
@@ -0,0 +1,110 @@
+package benchmark;
+
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.FinancingFileHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistência da carteira: leitura e gravação de financings.txt e serialização de financings.ser.
+ * Os arquivos são criados em um diretório temporário removido ao final.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class PersistenceBenchmark {
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"MIXED"})
+    private String mix;
+
+    private ArrayList<Financing> financings;
+    private Path directory;
+    private String textFile;
+    private String serializedFile;
+    private String outputFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        financings = Portfolios.generate(size, mix, 42);
+        directory = Files.createTempDirectory("financing-benchmark");
+        textFile = directory.resolve("financings.txt").toString();
+        serializedFile = directory.resolve("financings.ser").toString();
+        outputFile = directory.resolve("output").toString();
+        FinancingFileHandler.saveAllToFile(financings, textFile);
+        FinancingFileHandler.serializeFinancings(financings, serializedFile);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearOutput() throws IOException {
+        Files.deleteIfExists(Path.of(outputFile));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public ArrayList<Financing> readFromFile() throws IOException {
+        return FinancingFileHandler.readFromFile(textFile);
+    }
+
+    @Benchmark
+    public long streamFromFile() throws IOException {
+        try (var stream = FinancingFileHandler.streamFromFile(textFile)) {
+            return stream.count();
+        }
+    }
+
+    /**
+     * Grava um único bloco por chamada, como o cadastro interativo.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void saveToFile() throws IOException {
+        FinancingFileHandler.saveToFile(financings.get(0), outputFile);
+    }
+
+    @Benchmark
+    public void saveAllToFile() throws IOException {
+        FinancingFileHandler.saveAllToFile(financings, outputFile);
+        Files.delete(Path.of(outputFile));
+    }
+
+    @Benchmark
+    public void serializeFinancings() throws IOException {
+        FinancingFileHandler.serializeFinancings(financings, outputFile);
+    }
+
+    @Benchmark
+    public ArrayList<Financing> deserializeFinancings() throws IOException, ClassNotFoundException {
+        return FinancingFileHandler.deserializeFinancings(serializedFile);
+    }
+}
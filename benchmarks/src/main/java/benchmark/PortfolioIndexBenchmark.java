@@ -0,0 +1,99 @@
+package benchmark;
+
+import model.Apartment;
+import model.Financing;
+import model.Land;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import portfolio.PortfolioIndex;
+import util.FinancingTypesTranslated;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas filtradas sobre a carteira: {@link PortfolioIndex} comparado a um filtro linear com streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class PortfolioIndexBenchmark {
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"MIXED"})
+    private String mix;
+
+    private ArrayList<Financing> financings;
+    private PortfolioIndex index;
+
+    @Setup
+    public void setUp() {
+        financings = Portfolios.generate(size, mix, 42);
+        index = new PortfolioIndex(financings);
+    }
+
+    @Benchmark
+    public List<Financing> apartmentsByFloorAndValueIndex() {
+        return index.query()
+                .type(FinancingTypesTranslated.APARTMENT)
+                .floorNumberBetween(11, Integer.MAX_VALUE)
+                .propertyValueBetween(400_000, 800_000)
+                .list();
+    }
+
+    @Benchmark
+    public List<Financing> apartmentsByFloorAndValueStream() {
+        return financings.stream()
+                .filter(financing -> financing instanceof Apartment apartment && apartment.getFloorNumber() > 10)
+                .filter(financing -> financing.getPropertyValue() >= 400_000 && financing.getPropertyValue() <= 800_000)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Financing> commercialLandByTermIndex() {
+        return index.query()
+                .zoneType("comercial")
+                .loanTermBetween(20, Integer.MAX_VALUE)
+                .list();
+    }
+
+    @Benchmark
+    public List<Financing> commercialLandByTermStream() {
+        return financings.stream()
+                .filter(financing -> financing instanceof Land land && land.getZoneType().equalsIgnoreCase("comercial"))
+                .filter(financing -> financing.getLoanTerm() >= 20)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int paymentAndRateRangeIndex() {
+        return index.query()
+                .monthlyPaymentBetween(5_000, 5_100)
+                .interestRateBetween(3, 4)
+                .count();
+    }
+
+    @Benchmark
+    public long paymentAndRateRangeStream() {
+        return financings.stream()
+                .filter(financing -> financing.getInterestRate() >= 3 && financing.getInterestRate() <= 4)
+                .mapToDouble(Financing::getMonthlyPayment)
+                .filter(payment -> payment >= 5_000 && payment <= 5_100)
+                .count();
+    }
+}
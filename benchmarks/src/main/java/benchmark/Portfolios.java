@@ -0,0 +1,70 @@
+package benchmark;
+
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Geração determinística de carteiras sintéticas para os benchmarks.
+ */
+final class Portfolios {
+    private static final String[] ZONE_TYPES = {"residencial", "comercial", "industrial", "rural"};
+
+    private Portfolios() {
+    }
+
+    /**
+     * Gera uma carteira com a composição de tipos informada.
+     *
+     * @param size Quantidade de financiamentos.
+     * @param mix  Composição: HOUSE, APARTMENT, LAND ou MIXED (um terço de cada tipo).
+     * @param seed Semente do gerador.
+     * @return A carteira gerada.
+     */
+    static ArrayList<Financing> generate(int size, String mix, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ArrayList<Financing> financings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int type = switch (mix) {
+                case "HOUSE" -> 0;
+                case "APARTMENT" -> 1;
+                case "LAND" -> 2;
+                case "MIXED" -> random.nextInt(3);
+                default -> throw new IllegalArgumentException("Composição desconhecida: " + mix);
+            };
+            financings.add(next(random, type));
+        }
+        return financings;
+    }
+
+    private static Financing next(SplittableRandom random, int type) {
+        double value = 100_000 + random.nextInt(1_900_000);
+        int term = 1 + random.nextInt(35);
+        double rate = 1 + random.nextInt(1900) / 100.0;
+        return switch (type) {
+            case 0 -> new House(value, term, rate, 50 + random.nextInt(450), 100 + random.nextInt(900));
+            case 1 -> new Apartment(value, term, rate, random.nextInt(4), random.nextInt(30));
+            default -> new Land(value, term, rate, ZONE_TYPES[random.nextInt(ZONE_TYPES.length)]);
+        };
+    }
+
+    /**
+     * Gera valores monetários com magnitudes variadas, de centavos a bilhões.
+     *
+     * @param size Quantidade de valores.
+     * @param seed Semente do gerador.
+     * @return Os valores gerados.
+     */
+    static double[] amounts(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] amounts = new double[size];
+        for (int i = 0; i < size; i++) {
+            amounts[i] = Math.pow(10, random.nextDouble(-2, 9)) * (random.nextInt(10) == 0 ? -1 : 1);
+        }
+        return amounts;
+    }
+}
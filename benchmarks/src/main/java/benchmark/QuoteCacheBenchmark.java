@@ -0,0 +1,97 @@
+package benchmark;
+
+import factory.FinancingFactory;
+import factory.QuoteCache;
+import factory.QuoteRequest;
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import util.FinancingReportWriter;
+import util.FinancingTypesTranslated;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cotação com bloco de relatório para uma sequência de pedidos repetidos, com e sem o {@link QuoteCache}.
+ * Cada pedido é sorteado entre {@code distinct} combinações de parâmetros, como as de um cliente
+ * ajustando valor, prazo e taxa; com mais combinações que o tamanho do cache, parte dos pedidos é descartada e recalculada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class QuoteCacheBenchmark {
+    private static final int CACHE_SIZE = 1000;
+
+    @Param({"100", "5000"})
+    private int distinct;
+
+    private QuoteRequest[] requests;
+    private QuoteCache cache;
+    private FinancingReportWriter reportWriter;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        QuoteRequest[] pool = new QuoteRequest[distinct];
+        FinancingTypesTranslated[] types = FinancingTypesTranslated.values();
+        for (int i = 0; i < distinct; i++) {
+            FinancingTypesTranslated type = types[i % types.length];
+            double value = 100_000 + random.nextInt(100) * 10_000;
+            int term = 5 + random.nextInt(30);
+            double rate = 4 + random.nextInt(40) * 0.25;
+            pool[i] = switch (type) {
+                case HOUSE -> new QuoteRequest(type, value, term, rate, 120, 250, 0, 0, null);
+                case APARTMENT -> new QuoteRequest(type, value, term, rate, 0, 0, 1, 1 + random.nextInt(20), null);
+                case LAND -> new QuoteRequest(type, value, term, rate, 0, 0, 0, 0, "Residencial");
+            };
+        }
+        requests = pool;
+        cache = new QuoteCache(CACHE_SIZE, Duration.ofMinutes(10));
+        reportWriter = new FinancingReportWriter();
+    }
+
+    /**
+     * Sorteio dos pedidos de cada thread.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private SplittableRandom random;
+
+        @Setup
+        public void setUp() {
+            random = new SplittableRandom(Thread.currentThread().getId());
+        }
+
+        QuoteRequest next(QuoteRequest[] pool) {
+            return pool[random.nextInt(pool.length)];
+        }
+    }
+
+    @Benchmark
+    public int uncached(Cursor cursor) {
+        Financing financing = FinancingFactory.createFinancing(cursor.next(requests));
+        return (int) financing.quote().monthlyPayment() + reportWriter.render(financing).length();
+    }
+
+    @Benchmark
+    public int cached(Cursor cursor) {
+        QuoteCache.CachedQuote quote = cache.get(cursor.next(requests));
+        return (int) quote.quote().monthlyPayment() + quote.report().length();
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import analysis.RateScenarioEngine;
+import analysis.ScenarioMatrix;
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reprecificação da carteira em uma grade de cenários de taxa: {@link RateScenarioEngine} comparado
+ * à abordagem de clonar cada financiamento com a taxa deslocada e chamar getMonthlyPayment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class RateScenarioBenchmark {
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"MIXED"})
+    private String mix;
+
+    private ArrayList<Financing> financings;
+    private RateScenarioEngine engine;
+    private double[] shifts;
+
+    @Setup
+    public void setUp() {
+        financings = Portfolios.generate(size, mix, 42);
+        engine = RateScenarioEngine.of(financings);
+        shifts = RateScenarioEngine.grid(0.25, 5);
+    }
+
+    @Benchmark
+    public ScenarioMatrix engine() {
+        return engine.run(shifts);
+    }
+
+    @Benchmark
+    public double[] cloneAndReprice() {
+        double[] totals = new double[shifts.length];
+        for (int s = 0; s < shifts.length; s++) {
+            for (Financing financing : financings) {
+                double rate = Math.max(0, financing.getInterestRate() + shifts[s]);
+                Financing shifted;
+                if (financing instanceof House house) {
+                    shifted = new House(house.getPropertyValue(), house.getLoanTerm(), rate, house.getBuiltAreaSize(), house.getLandSize());
+                } else if (financing instanceof Apartment apartment) {
+                    shifted = new Apartment(apartment.getPropertyValue(), apartment.getLoanTerm(), rate,
+                            apartment.getGarageSpaces(), apartment.getFloorNumber());
+                } else {
+                    shifted = new Land(financing.getPropertyValue(), financing.getLoanTerm(), rate, ((Land) financing).getZoneType());
+                }
+                totals[s] += shifted.getMonthlyPayment() * financing.getLoanTerm() * 12;
+            }
+        }
+        return totals;
+    }
+}
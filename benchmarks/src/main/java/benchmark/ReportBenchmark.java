@@ -0,0 +1,72 @@
+package benchmark;
+
+import model.Financing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.FinancingReportWriter;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração dos blocos de relatório: toString dos modelos comparado ao {@link FinancingReportWriter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Duser.language=pt", "-Duser.country=BR", "-Dfile.encoding=UTF-8"})
+public class ReportBenchmark {
+    private static final int SIZE = 1000;
+
+    @Param({"HOUSE", "APARTMENT", "LAND", "MIXED"})
+    private String mix;
+
+    private ArrayList<Financing> financings;
+    private FinancingReportWriter writer;
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        financings = Portfolios.generate(SIZE, mix, 42);
+        writer = new FinancingReportWriter();
+        buffer = new StringBuilder(1024);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void toString(Blackhole blackhole) {
+        for (Financing financing : financings) {
+            blackhole.consume(financing.toString());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void writerRender(Blackhole blackhole) {
+        for (Financing financing : financings) {
+            blackhole.consume(writer.render(financing));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void writerReusedBuffer(Blackhole blackhole) {
+        for (Financing financing : financings) {
+            buffer.setLength(0);
+            blackhole.consume(writer.write(financing, buffer).length());
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package analysis;
+
+import model.House;
+import model.PaymentBatch;
+import util.FinancingTypesTranslated;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * Cotação inversa: o que cabe em um orçamento mensal.
+ * <ul>
+ *     <li>{@link #maxPropertyValue}: o maior valor de imóvel cuja parcela não passa do orçamento;</li>
+ *     <li>{@link #minLoanTerm}: o menor prazo, em anos inteiros, cuja parcela não passa do orçamento;</li>
+ *     <li>{@link #maxInterestRate}: a maior taxa de juros anual cuja parcela não passa do orçamento.</li>
+ * </ul>
+ * As parcelas são as de {@link PaymentBatch}, iguais às de getMonthlyPayment, com o acréscimo padrão da casa.
+ * <p>
+ * O valor do imóvel tem solução fechada para os três tipos: a parcela do terreno é linear no valor, a do apartamento
+ * (PRICE) também, e a da casa é linear por partes, com a quebra no ponto em que os juros da parcela igualam o acréscimo
+ * fixo. A taxa tem solução fechada para o terreno e para a casa; para o apartamento, é obtida pelo método de Newton
+ * dentro de um intervalo que sempre contém a raiz, com bissecção quando o passo de Newton sai do intervalo.
+ * O prazo é obtido por busca binária, pois a parcela diminui com o prazo para os três tipos.
+ * <p>
+ * Depois do cálculo, o resultado é ajustado entre os doubles vizinhos até que a parcela calculada pela fórmula direta
+ * não passe do orçamento, e o próximo valor representável já passe. Assim, o resultado é sempre compatível com a
+ * cotação, apesar dos arredondamentos.
+ * <p>
+ * Os métodos em lote resolvem um perfil por posição dos arrays, em blocos com fork/join.
+ */
+public class AffordabilitySolver {
+    /**
+     * Resultado de {@link #minLoanTerm} quando nenhum prazo até o limite cabe no orçamento.
+     */
+    public static final int NOT_AFFORDABLE = -1;
+
+    /**
+     * A maior taxa de juros anual aceita pelo sistema, em porcentagem.
+     */
+    public static final double MAX_INTEREST_RATE = 100;
+
+    private static final int THRESHOLD = 4096;
+    private static final int MAX_NEWTON_ITERATIONS = 100;
+    private static final double LAND_INCREASE = 1.02;
+
+    /**
+     * Calcula o maior valor de imóvel cuja parcela mensal não passa do orçamento.
+     *
+     * @param type          O tipo de financiamento.
+     * @param monthlyBudget O valor máximo da parcela mensal.
+     * @param termYears     O prazo em anos.
+     * @param interestRate  A taxa de juros anual, em porcentagem.
+     * @return O maior valor de imóvel.
+     * @throws IllegalArgumentException Se algum parâmetro estiver fora do intervalo aceito pelo sistema.
+     */
+    public static double maxPropertyValue(FinancingTypesTranslated type, double monthlyBudget, int termYears, double interestRate) {
+        return maxPropertyValue(type.code(), monthlyBudget, termYears, interestRate);
+    }
+
+    /**
+     * Calcula o menor prazo, em anos inteiros, cuja parcela mensal não passa do orçamento.
+     *
+     * @param type          O tipo de financiamento.
+     * @param propertyValue O valor do imóvel.
+     * @param monthlyBudget O valor máximo da parcela mensal.
+     * @param interestRate  A taxa de juros anual, em porcentagem.
+     * @param maxTermYears  O maior prazo considerado, em anos.
+     * @return O menor prazo, ou {@link #NOT_AFFORDABLE} se nem o maior prazo couber no orçamento.
+     * @throws IllegalArgumentException Se algum parâmetro estiver fora do intervalo aceito pelo sistema.
+     */
+    public static int minLoanTerm(FinancingTypesTranslated type, double propertyValue, double monthlyBudget,
+                                  double interestRate, int maxTermYears) {
+        return minLoanTerm(type.code(), propertyValue, monthlyBudget, interestRate, maxTermYears);
+    }
+
+    /**
+     * Calcula a maior taxa de juros anual cuja parcela mensal não passa do orçamento, limitada a {@link #MAX_INTEREST_RATE}.
+     *
+     * @param type          O tipo de financiamento.
+     * @param propertyValue O valor do imóvel.
+     * @param termYears     O prazo em anos.
+     * @param monthlyBudget O valor máximo da parcela mensal.
+     * @return A maior taxa em porcentagem, ou NaN se a parcela passar do orçamento mesmo com juros próximos de zero.
+     * @throws IllegalArgumentException Se algum parâmetro estiver fora do intervalo aceito pelo sistema.
+     */
+    public static double maxInterestRate(FinancingTypesTranslated type, double propertyValue, int termYears, double monthlyBudget) {
+        return maxInterestRate(type.code(), propertyValue, termYears, monthlyBudget);
+    }
+
+    /**
+     * Versão de {@link #maxPropertyValue(FinancingTypesTranslated, double, int, double)} com o código de tipo de
+     * {@link PaymentBatch}.
+     */
+    public static double maxPropertyValue(byte type, double monthlyBudget, int termYears, double interestRate) {
+        requirePositive(monthlyBudget, "orçamento mensal");
+        requireTerm(termYears);
+        requireRate(interestRate);
+        double monthlyInterestRate = interestRate / 100 / 12;
+        int months = termYears * 12;
+        double value = switch (type) {
+            case PaymentBatch.HOUSE -> {
+                // Abaixo da quebra, o acréscimo aplicado é igual aos juros: parcela = base * (1 + 2i).
+                // Acima dela, é o acréscimo fixo: parcela = base * (1 + i) + acréscimo.
+                double breakBase = House.DEFAULT_INCREASE / monthlyInterestRate;
+                double breakPayment = breakBase * (1 + 2 * monthlyInterestRate);
+                double base = monthlyBudget < breakPayment
+                        ? monthlyBudget / (1 + 2 * monthlyInterestRate)
+                        : (monthlyBudget - House.DEFAULT_INCREASE) / (1 + monthlyInterestRate);
+                yield base * months;
+            }
+            case PaymentBatch.APARTMENT -> {
+                double growth = Math.pow(1 + monthlyInterestRate, months);
+                yield monthlyBudget * (growth - 1) / (growth * monthlyInterestRate);
+            }
+            case PaymentBatch.LAND -> monthlyBudget / ((1 + monthlyInterestRate) * LAND_INCREASE) * months;
+            default -> throw unknownType(type);
+        };
+        return fitBelow(value, monthlyBudget,
+                candidate -> PaymentBatch.monthlyPayment(type, candidate, termYears, interestRate));
+    }
+
+    /**
+     * Versão de {@link #minLoanTerm(FinancingTypesTranslated, double, double, double, int)} com o código de tipo de
+     * {@link PaymentBatch}.
+     */
+    public static int minLoanTerm(byte type, double propertyValue, double monthlyBudget, double interestRate, int maxTermYears) {
+        requirePositive(propertyValue, "valor do imóvel");
+        requirePositive(monthlyBudget, "orçamento mensal");
+        requireRate(interestRate);
+        requireTerm(maxTermYears);
+        checkType(type);
+        if (PaymentBatch.monthlyPayment(type, propertyValue, maxTermYears, interestRate) > monthlyBudget) {
+            return NOT_AFFORDABLE;
+        }
+        int low = 1;
+        int high = maxTermYears;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (PaymentBatch.monthlyPayment(type, propertyValue, middle, interestRate) <= monthlyBudget) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Versão de {@link #maxInterestRate(FinancingTypesTranslated, double, int, double)} com o código de tipo de
+     * {@link PaymentBatch}.
+     */
+    public static double maxInterestRate(byte type, double propertyValue, int termYears, double monthlyBudget) {
+        requirePositive(propertyValue, "valor do imóvel");
+        requireTerm(termYears);
+        requirePositive(monthlyBudget, "orçamento mensal");
+        checkType(type);
+        DoubleUnaryOperator payment = rate -> PaymentBatch.monthlyPayment(type, propertyValue, termYears, rate);
+        if (payment.applyAsDouble(MAX_INTEREST_RATE) <= monthlyBudget) {
+            return MAX_INTEREST_RATE;
+        }
+        int months = termYears * 12;
+        double base = propertyValue / months;
+        double monthlyInterestRate = switch (type) {
+            case PaymentBatch.HOUSE -> {
+                double belowBreak = (monthlyBudget / base - 1) / 2;
+                yield base * belowBreak < House.DEFAULT_INCREASE
+                        ? belowBreak
+                        : (monthlyBudget - House.DEFAULT_INCREASE) / base - 1;
+            }
+            case PaymentBatch.APARTMENT -> apartmentMonthlyRate(propertyValue, months, monthlyBudget);
+            default -> monthlyBudget / (base * LAND_INCREASE) - 1;
+        };
+        if (!(monthlyInterestRate > 0)) {
+            return Double.NaN;
+        }
+        double rate = fitBelow(monthlyInterestRate * 12 * 100, monthlyBudget, payment);
+        return rate > 0 && payment.applyAsDouble(rate) <= monthlyBudget ? rate : Double.NaN;
+    }
+
+    /**
+     * Calcula o maior valor de imóvel de cada perfil, usando o pool comum de fork/join.
+     *
+     * @param type          O código de tipo de cada perfil ({@link PaymentBatch#HOUSE}, {@link PaymentBatch#APARTMENT}
+     *                      ou {@link PaymentBatch#LAND}).
+     * @param monthlyBudget O orçamento mensal de cada perfil.
+     * @param termYears     O prazo em anos de cada perfil.
+     * @param interestRate  A taxa de juros anual de cada perfil.
+     * @return O maior valor de imóvel de cada perfil.
+     * @throws IllegalArgumentException Se algum perfil tiver parâmetros fora do intervalo aceito.
+     */
+    public static double[] maxPropertyValues(byte[] type, double[] monthlyBudget, int[] termYears, double[] interestRate) {
+        return maxPropertyValues(type, monthlyBudget, termYears, interestRate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula o maior valor de imóvel de cada perfil no pool informado.
+     */
+    public static double[] maxPropertyValues(byte[] type, double[] monthlyBudget, int[] termYears, double[] interestRate,
+                                             ForkJoinPool pool) {
+        requireSameLength(type.length, monthlyBudget.length, termYears.length, interestRate.length);
+        double[] result = new double[type.length];
+        pool.invoke(new SolveTask(0, type.length,
+                i -> result[i] = maxPropertyValue(type[i], monthlyBudget[i], termYears[i], interestRate[i])));
+        return result;
+    }
+
+    /**
+     * Calcula o menor prazo de cada perfil, usando o pool comum de fork/join.
+     *
+     * @param type          O código de tipo de cada perfil.
+     * @param propertyValue O valor do imóvel de cada perfil.
+     * @param monthlyBudget O orçamento mensal de cada perfil.
+     * @param interestRate  A taxa de juros anual de cada perfil.
+     * @param maxTermYears  O maior prazo considerado, em anos.
+     * @return O menor prazo de cada perfil, ou {@link #NOT_AFFORDABLE}.
+     * @throws IllegalArgumentException Se algum perfil tiver parâmetros fora do intervalo aceito.
+     */
+    public static int[] minLoanTerms(byte[] type, double[] propertyValue, double[] monthlyBudget, double[] interestRate,
+                                     int maxTermYears) {
+        return minLoanTerms(type, propertyValue, monthlyBudget, interestRate, maxTermYears, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula o menor prazo de cada perfil no pool informado.
+     */
+    public static int[] minLoanTerms(byte[] type, double[] propertyValue, double[] monthlyBudget, double[] interestRate,
+                                     int maxTermYears, ForkJoinPool pool) {
+        requireSameLength(type.length, propertyValue.length, monthlyBudget.length, interestRate.length);
+        int[] result = new int[type.length];
+        pool.invoke(new SolveTask(0, type.length,
+                i -> result[i] = minLoanTerm(type[i], propertyValue[i], monthlyBudget[i], interestRate[i], maxTermYears)));
+        return result;
+    }
+
+    /**
+     * Calcula a maior taxa de juros de cada perfil, usando o pool comum de fork/join.
+     *
+     * @param type          O código de tipo de cada perfil.
+     * @param propertyValue O valor do imóvel de cada perfil.
+     * @param termYears     O prazo em anos de cada perfil.
+     * @param monthlyBudget O orçamento mensal de cada perfil.
+     * @return A maior taxa de cada perfil, ou NaN quando nenhuma taxa positiva cabe no orçamento.
+     * @throws IllegalArgumentException Se algum perfil tiver parâmetros fora do intervalo aceito.
+     */
+    public static double[] maxInterestRates(byte[] type, double[] propertyValue, int[] termYears, double[] monthlyBudget) {
+        return maxInterestRates(type, propertyValue, termYears, monthlyBudget, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula a maior taxa de juros de cada perfil no pool informado.
+     */
+    public static double[] maxInterestRates(byte[] type, double[] propertyValue, int[] termYears, double[] monthlyBudget,
+                                            ForkJoinPool pool) {
+        requireSameLength(type.length, propertyValue.length, termYears.length, monthlyBudget.length);
+        double[] result = new double[type.length];
+        pool.invoke(new SolveTask(0, type.length,
+                i -> result[i] = maxInterestRate(type[i], propertyValue[i], termYears[i], monthlyBudget[i])));
+        return result;
+    }
+
+    /**
+     * Taxa mensal do apartamento pelo método de Newton, dentro do intervalo
+     * [orçamento / valor - 1 / meses, orçamento / valor], que sempre contém a raiz:
+     * a parcela PRICE fica entre {@code valor * i} e {@code valor * i + valor / meses}.
+     */
+    private static double apartmentMonthlyRate(double value, int months, double monthlyBudget) {
+        double low = Math.max(monthlyBudget / value - 1.0 / months, 0);
+        double high = Math.min(monthlyBudget / value, MAX_INTEREST_RATE / 100 / 12);
+        if (monthlyBudget <= value / months) {
+            return 0;
+        }
+        double rate = high;
+        for (int iteration = 0; iteration < MAX_NEWTON_ITERATIONS && high - low > Math.ulp(high); iteration++) {
+            double growth = Math.pow(1 + rate, months);
+            double payment = value * growth * rate / (growth - 1);
+            double difference = payment - monthlyBudget;
+            if (difference == 0) {
+                return rate;
+            }
+            if (difference > 0) {
+                high = rate;
+            } else {
+                low = rate;
+            }
+            // Derivada da parcela PRICE em relação à taxa mensal
+            double growthDerivative = months * growth / (1 + rate);
+            double derivative = value * (growth * (growth - 1) - rate * growthDerivative) / ((growth - 1) * (growth - 1));
+            double next = rate - difference / derivative;
+            rate = next > low && next < high ? next : (low + high) / 2;
+        }
+        return rate;
+    }
+
+    /**
+     * Procura, perto de {@code x}, o maior double positivo com {@code payment(x) <= budget}, considerando que a parcela
+     * cresce com {@code x}. O intervalo é aberto dobrando a distância a partir de {@code x} e depois reduzido por
+     * bissecção sobre a representação dos doubles, que para números positivos segue a mesma ordem dos valores.
+     * Devolve 0 se nenhum valor positivo couber no orçamento.
+     */
+    private static double fitBelow(double x, double budget, DoubleUnaryOperator payment) {
+        double low;
+        double high;
+        if (payment.applyAsDouble(x) <= budget) {
+            low = x;
+            high = x;
+            for (double distance = Math.ulp(x); payment.applyAsDouble(high) <= budget; distance *= 2) {
+                low = high;
+                high = x + distance;
+                if (Double.isInfinite(high)) {
+                    return low;
+                }
+            }
+        } else {
+            low = x;
+            high = x;
+            for (double distance = Math.ulp(x); low > 0 && payment.applyAsDouble(low) > budget; distance *= 2) {
+                high = low;
+                low = Math.max(x - distance, 0);
+            }
+            if (low == 0) {
+                return 0;
+            }
+        }
+        long lowBits = Double.doubleToRawLongBits(low);
+        long highBits = Double.doubleToRawLongBits(high);
+        while (highBits - lowBits > 1) {
+            long middleBits = (lowBits + highBits) >>> 1;
+            if (payment.applyAsDouble(Double.longBitsToDouble(middleBits)) <= budget) {
+                lowBits = middleBits;
+            } else {
+                highBits = middleBits;
+            }
+        }
+        return Double.longBitsToDouble(lowBits);
+    }
+
+    private static void checkType(byte type) {
+        if (type != PaymentBatch.HOUSE && type != PaymentBatch.APARTMENT && type != PaymentBatch.LAND) {
+            throw unknownType(type);
+        }
+    }
+
+    private static IllegalArgumentException unknownType(byte type) {
+        return new IllegalArgumentException("Tipo de financiamento desconhecido: " + type);
+    }
+
+    private static void requirePositive(double value, String name) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + value);
+        }
+    }
+
+    private static void requireTerm(int termYears) {
+        if (termYears <= 0) {
+            throw new IllegalArgumentException("Valor inválido para prazo: " + termYears);
+        }
+    }
+
+    private static void requireRate(double interestRate) {
+        if (!(interestRate > 0) || interestRate > MAX_INTEREST_RATE) {
+            throw new IllegalArgumentException("Taxa de juros deve estar entre 0 e 100: " + interestRate);
+        }
+    }
+
+    private static void requireSameLength(int... lengths) {
+        for (int length : lengths) {
+            if (length != lengths[0]) {
+                throw new IllegalArgumentException("Os arrays de perfis devem ter o mesmo tamanho.");
+            }
+        }
+    }
+
+    /**
+     * Tarefa que divide o intervalo de perfis ao meio até o limite de tamanho do bloco.
+     */
+    private static class SolveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer solve;
+
+        SolveTask(int from, int to, IntConsumer solve) {
+            this.from = from;
+            this.to = to;
+            this.solve = solve;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    solve.accept(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SolveTask(from, middle, solve), new SolveTask(middle, to, solve));
+        }
+    }
+}
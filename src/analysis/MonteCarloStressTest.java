@@ -0,0 +1,430 @@
+package analysis;
+
+import model.Financing;
+import model.FinancingColumns;
+import util.FinancingTypesTranslated;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Teste de estresse de Monte Carlo da carteira sob trajetórias aleatórias de taxa de juros.
+ * <p>
+ * Cada trajetória é um passeio aleatório anual do deslocamento de taxa, em pontos percentuais: a cada ano do horizonte,
+ * o deslocamento acumulado recebe um choque normal com a deriva e a volatilidade informadas. Os contratos em curso são
+ * reprecificados a cada ano com o deslocamento daquele ano (taxas negativas são consideradas zero), e o resultado da
+ * trajetória é, por tipo de financiamento, quanto os pagamentos dos anos do horizonte somam a mais (ou a menos) do que
+ * somariam com as taxas atuais.
+ * <p>
+ * Como a carteira não guarda a data de contratação, o prazo de cada contrato é contado a partir do início do horizonte:
+ * um contrato de N anos paga nos N primeiros anos e deixa de contar depois de vencido. Para isso, os contratos são
+ * agrupados por prazo, cada grupo com o seu {@link RateScenarioEngine}, e a grade guarda, para cada ano do horizonte,
+ * os pagamentos dos grupos ainda em curso naquele ano.
+ * <p>
+ * Os deslocamentos são arredondados para uma grade, e cada grupo é reprecificado uma única vez em cada ponto da grade
+ * entre o menor e o maior deslocamento alcançados pelas trajetórias enquanto ainda há contratos em curso, com as
+ * mesmas fórmulas de getMonthlyPayment. A resolução da grade é de {@link #SHIFT_RESOLUTION} ponto percentual; quando a faixa
+ * alcançada exigiria mais de {@link #MAX_GRID_POINTS} pontos (volatilidade alta ou horizonte longo), a resolução passa
+ * a ser o menor múltiplo dela que cabe nesse limite. Assim, o custo da simulação é o de no máximo
+ * {@link #MAX_GRID_POINTS} reprecificações da carteira, mais o das trajetórias, que não depende do tamanho da carteira.
+ * Os resultados das trajetórias não são guardados: são acumulados em um {@link QuantileSketch} por tipo e outro para o total.
+ * <p>
+ * As trajetórias são divididas em blocos de {@link #BLOCK_PATHS}, cada um com o seu {@link SplittableRandom}, cuja
+ * semente é derivada em sequência da semente do teste. Os blocos são processados com fork/join, sempre com a mesma
+ * divisão; por isso, para uma mesma semente, o resultado é idêntico com qualquer quantidade de threads.
+ */
+public class MonteCarloStressTest {
+    /**
+     * Resolução da grade de deslocamentos, em pontos percentuais (um ponto-base).
+     */
+    public static final double SHIFT_RESOLUTION = 0.01;
+
+    /**
+     * Quantidade máxima de pontos da grade de deslocamentos; com a resolução de um ponto-base, cobre de -10% a +10%.
+     */
+    public static final int MAX_GRID_POINTS = 2048;
+
+    /**
+     * Quantidade de trajetórias de cada bloco com o seu próprio gerador.
+     */
+    public static final int BLOCK_PATHS = 1024;
+
+    private static final double SKETCH_ACCURACY = 0.005;
+
+    /**
+     * Prazos distintos da carteira, em ordem crescente, e o mecanismo de cenários dos contratos de cada prazo.
+     */
+    private final int[] terms;
+    private final RateScenarioEngine[] engines;
+    private final int size;
+
+    /**
+     * Parâmetros de uma simulação.
+     *
+     * @param paths            A quantidade de trajetórias.
+     * @param horizonYears     O horizonte em anos (um choque por ano).
+     * @param annualDrift      A deriva anual do deslocamento, em pontos percentuais.
+     * @param annualVolatility O desvio padrão do choque anual, em pontos percentuais.
+     * @param seed             A semente dos geradores.
+     */
+    public record Parameters(int paths, int horizonYears, double annualDrift, double annualVolatility, long seed) {
+        public Parameters {
+            if (paths <= 0 || horizonYears <= 0) {
+                throw new IllegalArgumentException("A quantidade de trajetórias e o horizonte devem ser positivos.");
+            }
+            if (!(annualVolatility >= 0) || Double.isInfinite(annualVolatility) || Double.isNaN(annualDrift)
+                    || Double.isInfinite(annualDrift)) {
+                throw new IllegalArgumentException("A deriva deve ser finita e a volatilidade não pode ser negativa.");
+            }
+        }
+    }
+
+    /**
+     * Construtor que prepara a carteira a partir das suas colunas.
+     *
+     * @param columns As colunas da carteira.
+     */
+    public MonteCarloStressTest(FinancingColumns columns) {
+        int[] termYears = columns.getTermYears();
+        double[] columnValue = columns.getValue();
+        double[] columnRate = columns.getRate();
+        byte[] columnType = columns.getType();
+        this.size = columns.size();
+        this.terms = Arrays.stream(termYears).distinct().sorted().toArray();
+        this.engines = new RateScenarioEngine[terms.length];
+
+        // Separa os contratos por prazo em uma única passada, mantendo a ordem original dentro de cada grupo
+        int[] group = new int[size];
+        int[] groupSize = new int[terms.length];
+        for (int i = 0; i < size; i++) {
+            group[i] = Arrays.binarySearch(terms, termYears[i]);
+            groupSize[group[i]]++;
+        }
+        double[][] value = new double[terms.length][];
+        double[][] rate = new double[terms.length][];
+        byte[][] type = new byte[terms.length][];
+        for (int k = 0; k < terms.length; k++) {
+            value[k] = new double[groupSize[k]];
+            rate[k] = new double[groupSize[k]];
+            type[k] = new byte[groupSize[k]];
+        }
+        int[] filled = new int[terms.length];
+        for (int i = 0; i < size; i++) {
+            int k = group[i];
+            int m = filled[k]++;
+            value[k][m] = columnValue[i];
+            rate[k][m] = columnRate[i];
+            type[k][m] = columnType[i];
+        }
+        for (int k = 0; k < terms.length; k++) {
+            int[] groupTerms = new int[groupSize[k]];
+            Arrays.fill(groupTerms, terms[k]);
+            engines[k] = new RateScenarioEngine(new FinancingColumns(value[k], groupTerms, rate[k], type[k]));
+        }
+    }
+
+    /**
+     * Cria o teste de estresse a partir de uma lista de financiamentos.
+     *
+     * @param financings A lista de financiamentos.
+     * @return O teste de estresse da carteira.
+     */
+    public static MonteCarloStressTest of(List<? extends Financing> financings) {
+        return new MonteCarloStressTest(FinancingColumns.of(financings));
+    }
+
+    /**
+     * Executa a simulação usando o pool comum de fork/join.
+     *
+     * @param parameters Os parâmetros da simulação.
+     * @return As distribuições da variação dos pagamentos.
+     */
+    public StressResult run(Parameters parameters) {
+        return run(parameters, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Executa a simulação no pool informado.
+     * As trajetórias são geradas duas vezes com as mesmas sementes: a primeira passada só descobre a faixa de
+     * deslocamentos alcançada, para montar a grade de reprecificação; a segunda acumula os resultados.
+     *
+     * @param parameters Os parâmetros da simulação.
+     * @param pool       O pool de fork/join.
+     * @return As distribuições da variação dos pagamentos.
+     * @throws IllegalArgumentException Se a deriva e a volatilidade levarem os deslocamentos ou os pagamentos a valores
+     *                                  não finitos.
+     */
+    public StressResult run(Parameters parameters, ForkJoinPool pool) {
+        int blocks = (int) ((parameters.paths() + (long) BLOCK_PATHS - 1) / BLOCK_PATHS);
+        long[] blockSeeds = new long[blocks];
+        SplittableRandom root = new SplittableRandom(parameters.seed());
+        for (int b = 0; b < blocks; b++) {
+            blockSeeds[b] = root.nextLong();
+        }
+
+        // Depois do vencimento do contrato mais longo, nenhum ano contribui para a variação dos pagamentos
+        int activeYears = terms.length == 0 ? 0 : Math.min(parameters.horizonYears(), terms[terms.length - 1]);
+
+        // Primeira passada: a faixa de deslocamentos alcançada pelas trajetórias, sempre incluindo o deslocamento zero
+        double[] range = pool.invoke(new RangeTask(parameters, activeYears, blockSeeds, 0, blocks));
+        double lowestShift = Math.min(range[0], 0);
+        double highestShift = Math.max(range[1], 0);
+        if (!Double.isFinite(highestShift - lowestShift)) {
+            throw new IllegalArgumentException("A deriva e a volatilidade levam os deslocamentos a valores não finitos.");
+        }
+
+        // Os arredondamentos dos extremos acrescentam no máximo um ponto além de faixa / resolução + 1
+        double steps = Math.ceil((highestShift - lowestShift) / (MAX_GRID_POINTS - 2) / SHIFT_RESOLUTION);
+        double resolution = SHIFT_RESOLUTION * Math.max(1, steps);
+        int lowIndex = gridIndex(lowestShift, resolution);
+        int highIndex = gridIndex(highestShift, resolution);
+
+        double[] shifts = new double[highIndex - lowIndex + 1];
+        for (int i = 0; i < shifts.length; i++) {
+            shifts[i] = (lowIndex + i) * resolution;
+        }
+        ScenarioMatrix[] matrices = new ScenarioMatrix[engines.length];
+        for (int k = 0; k < engines.length; k++) {
+            matrices[k] = engines[k].run(shifts, pool);
+        }
+        Grid annualPayment = new Grid(matrices, terms, activeYears, lowIndex, resolution);
+
+        // Segunda passada: a variação dos pagamentos de cada trajetória, acumulada nos sketches
+        Partial partial = pool.invoke(new PathTask(parameters, activeYears, blockSeeds, annualPayment, 0, blocks));
+        double[] baseline = new double[ScenarioMatrix.TYPES];
+        for (int year = 0; year < activeYears; year++) {
+            for (int type = 0; type < ScenarioMatrix.TYPES; type++) {
+                baseline[type] += annualPayment.at(year, 0, type);
+            }
+        }
+        return new StressResult(parameters, size, baseline, partial.sketches, partial.sums,
+                lowIndex * resolution, highIndex * resolution, resolution);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Índice, na grade com a resolução informada, do deslocamento acumulado.
+     */
+    private static int gridIndex(double shift, double resolution) {
+        return (int) Math.round(shift / resolution);
+    }
+
+    /**
+     * Pagamentos anuais dos contratos em curso (doze vezes a soma das parcelas mensais) por ano do horizonte, ponto da
+     * grade e tipo. O ano {@code y} (a partir de zero) soma os grupos de prazo maior que {@code y}; os anos são
+     * preenchidos do último para o primeiro, acrescentando os grupos à medida que passam a estar em curso.
+     */
+    private static final class Grid {
+        private final double[] annual;
+        private final int scenarios;
+        private final int lowIndex;
+        private final double resolution;
+
+        Grid(ScenarioMatrix[] matrices, int[] terms, int years, int lowIndex, double resolution) {
+            this.lowIndex = lowIndex;
+            this.resolution = resolution;
+            this.scenarios = matrices.length == 0 ? 0 : matrices[0].scenarios();
+            this.annual = new double[years * scenarios * ScenarioMatrix.TYPES];
+            double[] running = new double[scenarios * ScenarioMatrix.TYPES];
+            int next = terms.length - 1;
+            for (int year = years - 1; year >= 0; year--) {
+                for (; next >= 0 && terms[next] > year; next--) {
+                    add(matrices[next], running);
+                }
+                System.arraycopy(running, 0, annual, year * running.length, running.length);
+            }
+        }
+
+        private static void add(ScenarioMatrix matrix, double[] running) {
+            for (int s = 0; s < matrix.scenarios(); s++) {
+                for (FinancingTypesTranslated type : FinancingTypesTranslated.values()) {
+                    double payment = matrix.getMonthlyPayment(s, type) * 12;
+                    if (!Double.isFinite(payment)) {
+                        throw new IllegalArgumentException(String.format(
+                                "Os pagamentos não são finitos com o deslocamento de %+.6g%%.", matrix.getShift(s)));
+                    }
+                    running[s * ScenarioMatrix.TYPES + type.ordinal()] += payment;
+                }
+            }
+        }
+
+        int indexOf(double shift) {
+            return gridIndex(shift, resolution);
+        }
+
+        double at(int year, int index, int type) {
+            return annual[(year * scenarios + index - lowIndex) * ScenarioMatrix.TYPES + type];
+        }
+    }
+
+    /**
+     * Resultados parciais de um intervalo de blocos: um sketch e uma soma por tipo, e mais um de cada para o total.
+     */
+    private static final class Partial {
+        final QuantileSketch[] sketches = new QuantileSketch[ScenarioMatrix.TYPES + 1];
+        final double[] sums = new double[ScenarioMatrix.TYPES + 1];
+
+        Partial() {
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new QuantileSketch(SKETCH_ACCURACY);
+            }
+        }
+
+        Partial merge(Partial other) {
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i].merge(other.sketches[i]);
+                sums[i] += other.sums[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Base das tarefas: divide o intervalo de blocos ao meio até chegar a um único bloco.
+     * As trajetórias sempre sorteiam os choques de todo o horizonte, para que as duas passadas consumam os geradores da
+     * mesma forma, mas só os primeiros {@code activeYears} anos, em que ainda há contratos em curso, são considerados.
+     */
+    private abstract static class BlockTask<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        final Parameters parameters;
+        final int activeYears;
+        final long[] blockSeeds;
+        final int from;
+        final int to;
+
+        BlockTask(Parameters parameters, int activeYears, long[] blockSeeds, int from, int to) {
+            this.parameters = parameters;
+            this.activeYears = activeYears;
+            this.blockSeeds = blockSeeds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from == 1) {
+                return computeBlock(from);
+            }
+            int middle = (from + to) >>> 1;
+            BlockTask<T> left = split(from, middle);
+            BlockTask<T> right = split(middle, to);
+            left.fork();
+            T rightResult = right.compute();
+            return merge(left.join(), rightResult);
+        }
+
+        /**
+         * Quantidade de trajetórias do bloco (o último pode ser menor).
+         */
+        int pathsIn(int block) {
+            return (int) Math.min(BLOCK_PATHS, parameters.paths() - (long) block * BLOCK_PATHS);
+        }
+
+        abstract T computeBlock(int block);
+
+        abstract BlockTask<T> split(int from, int to);
+
+        abstract T merge(T left, T right);
+    }
+
+    /**
+     * Primeira passada: menor e maior deslocamento alcançados.
+     */
+    private static final class RangeTask extends BlockTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        RangeTask(Parameters parameters, int activeYears, long[] blockSeeds, int from, int to) {
+            super(parameters, activeYears, blockSeeds, from, to);
+        }
+
+        @Override
+        double[] computeBlock(int block) {
+            SplittableRandom random = new SplittableRandom(blockSeeds[block]);
+            double low = Double.POSITIVE_INFINITY;
+            double high = Double.NEGATIVE_INFINITY;
+            for (int path = pathsIn(block); path > 0; path--) {
+                double shift = 0;
+                for (int year = 0; year < parameters.horizonYears(); year++) {
+                    shift += parameters.annualDrift() + parameters.annualVolatility() * random.nextGaussian();
+                    if (year < activeYears) {
+                        // Math.min e Math.max propagam NaN, que é rejeitado junto com os infinitos
+                        low = Math.min(low, shift);
+                        high = Math.max(high, shift);
+                    }
+                }
+            }
+            return new double[]{low, high};
+        }
+
+        @Override
+        BlockTask<double[]> split(int from, int to) {
+            return new RangeTask(parameters, activeYears, blockSeeds, from, to);
+        }
+
+        @Override
+        double[] merge(double[] left, double[] right) {
+            return new double[]{Math.min(left[0], right[0]), Math.max(left[1], right[1])};
+        }
+    }
+
+    /**
+     * Segunda passada: variação dos pagamentos de cada trajetória em relação às taxas atuais.
+     */
+    private static final class PathTask extends BlockTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final Grid grid;
+
+        PathTask(Parameters parameters, int activeYears, long[] blockSeeds, Grid grid, int from, int to) {
+            super(parameters, activeYears, blockSeeds, from, to);
+            this.grid = grid;
+        }
+
+        @Override
+        Partial computeBlock(int block) {
+            SplittableRandom random = new SplittableRandom(blockSeeds[block]);
+            Partial partial = new Partial();
+            double[] change = new double[ScenarioMatrix.TYPES];
+            for (int path = pathsIn(block); path > 0; path--) {
+                Arrays.fill(change, 0);
+                double shift = 0;
+                for (int year = 0; year < parameters.horizonYears(); year++) {
+                    shift += parameters.annualDrift() + parameters.annualVolatility() * random.nextGaussian();
+                    if (year >= activeYears) {
+                        continue;
+                    }
+                    int index = grid.indexOf(shift);
+                    for (int type = 0; type < ScenarioMatrix.TYPES; type++) {
+                        change[type] += grid.at(year, index, type) - grid.at(year, 0, type);
+                    }
+                }
+                double total = 0;
+                for (int type = 0; type < ScenarioMatrix.TYPES; type++) {
+                    partial.sketches[type].add(change[type]);
+                    partial.sums[type] += change[type];
+                    total += change[type];
+                }
+                partial.sketches[ScenarioMatrix.TYPES].add(total);
+                partial.sums[ScenarioMatrix.TYPES] += total;
+            }
+            return partial;
+        }
+
+        @Override
+        BlockTask<Partial> split(int from, int to) {
+            return new PathTask(parameters, activeYears, blockSeeds, grid, from, to);
+        }
+
+        @Override
+        Partial merge(Partial left, Partial right) {
+            return left.merge(right);
+        }
+    }
+}
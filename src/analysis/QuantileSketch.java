@@ -0,0 +1,194 @@
+package analysis;
+
+/**
+ * Sketch de quantis com erro relativo garantido, no estilo do DDSketch: cada valor é contado em um balde logarítmico
+ * {@code ceil(log(|x|) / log(gamma))}, com {@code gamma = (1 + alfa) / (1 - alfa)}, e o quantil estimado fica a no máximo
+ * {@code alfa} (em termos relativos) do valor exato. Valores negativos usam um segundo conjunto de baldes, e valores
+ * muito próximos de zero são contados à parte.
+ * <p>
+ * O tamanho não depende da quantidade de valores, apenas da faixa de magnitudes (cerca de 700 baldes por fator de 1000
+ * com alfa de 0,5%). Dois sketches com a mesma precisão podem ser combinados somando as contagens, e o resultado não
+ * depende da ordem em que os valores foram adicionados ou os sketches combinados. Não é seguro para uso concorrente:
+ * cada thread deve usar o seu e combiná-los no final.
+ */
+public final class QuantileSketch {
+    private static final double MIN_INDEXABLE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Bins positive = new Bins();
+    private final Bins negative = new Bins();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Construtor do sketch.
+     *
+     * @param relativeAccuracy O erro relativo máximo dos quantis, entre 0 e 1 (por exemplo, 0,005 para 0,5%).
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("A precisão relativa deve estar entre 0 e 1: " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Adiciona um valor ao sketch.
+     *
+     * @param value O valor, que não pode ser NaN nem infinito.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Valor inválido para o sketch: " + value);
+        }
+        if (value > MIN_INDEXABLE) {
+            positive.increment(index(value), 1);
+        } else if (value < -MIN_INDEXABLE) {
+            negative.increment(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Acrescenta a este sketch as contagens de outro com a mesma precisão.
+     *
+     * @param other O outro sketch.
+     * @return Este sketch.
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Só é possível combinar sketches com a mesma precisão relativa.");
+        }
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Estima o valor no quantil informado.
+     *
+     * @param quantile O quantil, entre 0 e 1 (por exemplo, 0,99).
+     * @return O valor estimado, ou NaN se o sketch estiver vazio.
+     */
+    public double getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("O quantil deve estar entre 0 e 1: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        double estimate;
+        if (rank < negative.total) {
+            // Os negativos vêm do maior módulo para o menor
+            estimate = -value(negative.indexAtRank(negative.total - 1 - rank));
+        } else if (rank < negative.total + zeroCount) {
+            estimate = 0;
+        } else {
+            estimate = value(positive.indexAtRank(rank - negative.total - zeroCount));
+        }
+        return Math.max(min, Math.min(max, estimate));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    /**
+     * Representante do balde: o ponto em que o erro relativo para os dois extremos do balde é o mesmo.
+     */
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    /**
+     * Contagens por índice de balde, em um array que cresce para os dois lados conforme necessário.
+     */
+    private static final class Bins {
+        private long[] counts = new long[0];
+        private int offset;
+        private long total;
+
+        void increment(int index, long amount) {
+            ensureCovers(index);
+            counts[index - offset] += amount;
+            total += amount;
+        }
+
+        void merge(Bins other) {
+            if (other.total == 0) {
+                return;
+            }
+            ensureCovers(other.offset);
+            ensureCovers(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+            total += other.total;
+        }
+
+        /**
+         * O índice do balde que contém o valor de posição {@code rank} (a partir de zero) em ordem crescente.
+         */
+        int indexAtRank(long rank) {
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank) {
+                    return offset + i;
+                }
+            }
+            return offset + counts.length - 1;
+        }
+
+        private void ensureCovers(int index) {
+            if (counts.length == 0) {
+                counts = new long[16];
+                offset = index - 8;
+                return;
+            }
+            if (index >= offset && index < offset + counts.length) {
+                return;
+            }
+            int low = Math.min(offset, index);
+            int high = Math.max(offset + counts.length - 1, index);
+            int length = Math.max(high - low + 1, counts.length * 2);
+            // Sobra espaço do lado em que o array cresceu, para os próximos valores na mesma direção
+            int newOffset = index < offset ? high - length + 1 : low;
+            long[] grown = new long[length];
+            System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+            counts = grown;
+            offset = newOffset;
+        }
+    }
+}
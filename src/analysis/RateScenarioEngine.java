@@ -0,0 +1,224 @@
+package analysis;
+
+import model.Financing;
+import model.FinancingColumns;
+import model.House;
+import model.PaymentBatch;
+import util.FinancingTypesTranslated;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reprecificação da carteira inteira sob uma grade de cenários de taxa de juros.
+ * Cada cenário desloca a taxa anual de todos os contratos por um valor em pontos percentuais,
+ * e o resultado é a soma dos pagamentos mensais e totais de cada tipo de financiamento em cada cenário.
+ * <p>
+ * Os invariantes de cada contrato (prazo em meses e parcela base {@code propertyValue / meses}) são calculados
+ * uma única vez na construção e compartilhados por todos os cenários; o acréscimo fixo das casas é o de
+ * {@link House#DEFAULT_INCREASE}. As fórmulas seguem a mesma ordem de operações de {@link PaymentBatch}, portanto,
+ * no cenário sem deslocamento, os valores coincidem com os de getMonthlyPayment.
+ * <p>
+ * O cálculo é dividido em blocos de contratos com fork/join; como a divisão depende apenas do tamanho da carteira,
+ * o resultado é o mesmo com qualquer quantidade de threads.
+ */
+public class RateScenarioEngine {
+    private static final int THRESHOLD = 2048;
+    private static final double NEGLIGIBLE_GROWTH = 1e-9;
+
+    private final int[] months;
+    private final double[] baseMonthlyPayment;
+    private final double[] value;
+    private final double[] rate;
+    private final byte[] type;
+    /**
+     * Posição de cada contrato nas colunas de {@link ScenarioMatrix}: o ordinal de {@link FinancingTypesTranslated},
+     * obtido do código de tipo de {@link PaymentBatch} por {@link FinancingTypesTranslated#fromCode(byte)}.
+     */
+    private final byte[] column;
+    private final long[] countByType = new long[ScenarioMatrix.TYPES];
+
+    /**
+     * Construtor que prepara os invariantes de cada contrato a partir das colunas da carteira.
+     *
+     * @param columns As colunas da carteira.
+     */
+    public RateScenarioEngine(FinancingColumns columns) {
+        int size = columns.size();
+        this.value = columns.getValue().clone();
+        this.rate = columns.getRate().clone();
+        this.type = columns.getType().clone();
+        this.column = new byte[size];
+        this.months = new int[size];
+        this.baseMonthlyPayment = new double[size];
+        int[] termYears = columns.getTermYears();
+        for (int i = 0; i < size; i++) {
+            months[i] = termYears[i] * 12;
+            baseMonthlyPayment[i] = value[i] / months[i];
+            column[i] = (byte) FinancingTypesTranslated.fromCode(type[i]).ordinal();
+            countByType[column[i]]++;
+        }
+    }
+
+    /**
+     * Cria o mecanismo de cenários a partir de uma lista de financiamentos.
+     *
+     * @param financings A lista de financiamentos.
+     * @return O mecanismo de cenários da carteira.
+     */
+    public static RateScenarioEngine of(List<? extends Financing> financings) {
+        return new RateScenarioEngine(FinancingColumns.of(financings));
+    }
+
+    /**
+     * Gera uma grade simétrica de deslocamentos: de {@code -maxShift} a {@code +maxShift}, em passos de {@code step}.
+     * Por exemplo, {@code grid(0.25, 5)} gera os 41 cenários -5,00; -4,75; ...; 0; ...; +5,00.
+     *
+     * @param step     O passo em pontos percentuais.
+     * @param maxShift O maior deslocamento em pontos percentuais.
+     * @return Os deslocamentos em ordem crescente.
+     */
+    public static double[] grid(double step, double maxShift) {
+        if (step <= 0 || maxShift < 0) {
+            throw new IllegalArgumentException("O passo deve ser positivo e o deslocamento máximo não pode ser negativo.");
+        }
+        int steps = (int) Math.round(maxShift / step);
+        double[] shifts = new double[steps * 2 + 1];
+        for (int i = 0; i < shifts.length; i++) {
+            shifts[i] = (i - steps) * step;
+        }
+        return shifts;
+    }
+
+    /**
+     * Calcula os totais por tipo em cada cenário usando o pool comum de fork/join.
+     *
+     * @param rateShifts Os deslocamentos de taxa em pontos percentuais.
+     * @return A matriz cenário × tipo.
+     */
+    public ScenarioMatrix run(double[] rateShifts) {
+        return run(rateShifts, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calcula os totais por tipo em cada cenário no pool informado.
+     * Taxas que ficariam negativas após o deslocamento são consideradas zero.
+     *
+     * @param rateShifts Os deslocamentos de taxa em pontos percentuais.
+     * @param pool       O pool de fork/join.
+     * @return A matriz cenário × tipo.
+     */
+    public ScenarioMatrix run(double[] rateShifts, ForkJoinPool pool) {
+        double[] shifts = rateShifts.clone();
+        Partial partial = pool.invoke(new ScenarioTask(shifts, 0, months.length));
+        return new ScenarioMatrix(shifts, countByType.clone(), partial.monthly, partial.total, partial.adjustedHouses);
+    }
+
+    public int size() {
+        return months.length;
+    }
+
+    /**
+     * Soma o intervalo de contratos [from, to) em todos os cenários.
+     * O laço externo percorre os contratos, assim os invariantes de cada um são lidos uma única vez.
+     */
+    private Partial compute(double[] shifts, int from, int to) {
+        int scenarios = shifts.length;
+        Partial partial = new Partial(scenarios);
+        double[] monthly = partial.monthly;
+        double[] total = partial.total;
+        for (int i = from; i < to; i++) {
+            int contractMonths = months[i];
+            double base = baseMonthlyPayment[i];
+            int code = type[i];
+            int typeColumn = column[i];
+            for (int s = 0; s < scenarios; s++) {
+                double shiftedRate = Math.max(0, rate[i] + shifts[s]);
+                double monthlyInterestRate = shiftedRate / 100 / 12;
+                double payment;
+                switch (code) {
+                    case PaymentBatch.HOUSE -> {
+                        double monthlyIncrease = base * (1 + monthlyInterestRate) - base;
+                        boolean adjusted = House.DEFAULT_INCREASE > monthlyIncrease;
+                        if (adjusted) {
+                            partial.adjustedHouses[s]++;
+                        }
+                        payment = base + monthlyIncrease + (adjusted ? monthlyIncrease : House.DEFAULT_INCREASE);
+                    }
+                    case PaymentBatch.APARTMENT -> {
+                        // Deslocamentos que anulam a taxa deixam resíduos de arredondamento (da ordem de 1e-16), para os
+                        // quais growth - 1 não é representável; nesses casos vale o limite da taxa zero
+                        if (monthlyInterestRate * contractMonths < NEGLIGIBLE_GROWTH) {
+                            payment = base;
+                        } else {
+                            double growth = Math.pow(1 + monthlyInterestRate, contractMonths);
+                            payment = value[i] * growth * monthlyInterestRate / (growth - 1);
+                        }
+                    }
+                    default -> payment = base * (1 + monthlyInterestRate) * 1.02;
+                }
+                int cell = s * ScenarioMatrix.TYPES + typeColumn;
+                monthly[cell] += payment;
+                total[cell] += payment * contractMonths;
+            }
+        }
+        return partial;
+    }
+
+    /**
+     * Somas parciais de um bloco de contratos.
+     */
+    private static class Partial {
+        final double[] monthly;
+        final double[] total;
+        final long[] adjustedHouses;
+
+        Partial(int scenarios) {
+            this.monthly = new double[scenarios * ScenarioMatrix.TYPES];
+            this.total = new double[scenarios * ScenarioMatrix.TYPES];
+            this.adjustedHouses = new long[scenarios];
+        }
+
+        Partial merge(Partial other) {
+            for (int i = 0; i < monthly.length; i++) {
+                monthly[i] += other.monthly[i];
+                total[i] += other.total[i];
+            }
+            for (int i = 0; i < adjustedHouses.length; i++) {
+                adjustedHouses[i] += other.adjustedHouses[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Tarefa que divide o intervalo de contratos ao meio até o limite de tamanho do bloco.
+     */
+    private class ScenarioTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] shifts;
+        private final int from;
+        private final int to;
+
+        ScenarioTask(double[] shifts, int from, int to) {
+            this.shifts = shifts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= THRESHOLD) {
+                return RateScenarioEngine.this.compute(shifts, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ScenarioTask left = new ScenarioTask(shifts, from, middle);
+            ScenarioTask right = new ScenarioTask(shifts, middle, to);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+}
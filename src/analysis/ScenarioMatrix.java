@@ -0,0 +1,124 @@
+package analysis;
+
+import util.CurrencyFormatter;
+import util.FinancingTypesTranslated;
+
+/**
+ * Resultado de {@link RateScenarioEngine}: matriz cenário × tipo de financiamento, armazenada em arrays primitivos
+ * com uma linha por cenário e uma coluna por tipo (na ordem de {@link FinancingTypesTranslated}).
+ */
+public final class ScenarioMatrix {
+    static final int TYPES = FinancingTypesTranslated.values().length;
+
+    private final double[] shifts;
+    private final long[] countByType;
+    private final double[] monthly;
+    private final double[] total;
+    private final long[] adjustedHouses;
+
+    ScenarioMatrix(double[] shifts, long[] countByType, double[] monthly, double[] total, long[] adjustedHouses) {
+        this.shifts = shifts;
+        this.countByType = countByType;
+        this.monthly = monthly;
+        this.total = total;
+        this.adjustedHouses = adjustedHouses;
+    }
+
+    /**
+     * Retorna a quantidade de cenários.
+     *
+     * @return A quantidade de linhas da matriz.
+     */
+    public int scenarios() {
+        return shifts.length;
+    }
+
+    /**
+     * Retorna o deslocamento de taxa de um cenário.
+     *
+     * @param scenario O índice do cenário.
+     * @return O deslocamento em pontos percentuais.
+     */
+    public double getShift(int scenario) {
+        return shifts[scenario];
+    }
+
+    /**
+     * Retorna a quantidade de contratos de um tipo.
+     *
+     * @param type O tipo de financiamento.
+     * @return A quantidade de contratos.
+     */
+    public long getCount(FinancingTypesTranslated type) {
+        return countByType[type.ordinal()];
+    }
+
+    /**
+     * Retorna a soma dos pagamentos mensais de um tipo em um cenário.
+     *
+     * @param scenario O índice do cenário.
+     * @param type     O tipo de financiamento.
+     * @return A soma dos pagamentos mensais.
+     */
+    public double getMonthlyPayment(int scenario, FinancingTypesTranslated type) {
+        return monthly[scenario * TYPES + type.ordinal()];
+    }
+
+    /**
+     * Retorna a soma dos pagamentos totais de um tipo em um cenário.
+     *
+     * @param scenario O índice do cenário.
+     * @param type     O tipo de financiamento.
+     * @return A soma dos pagamentos totais.
+     */
+    public double getTotalPayment(int scenario, FinancingTypesTranslated type) {
+        return total[scenario * TYPES + type.ordinal()];
+    }
+
+    /**
+     * Retorna a soma dos pagamentos totais de todos os tipos em um cenário.
+     *
+     * @param scenario O índice do cenário.
+     * @return A soma dos pagamentos totais da carteira.
+     */
+    public double getTotalPayment(int scenario) {
+        double sum = 0;
+        for (int type = 0; type < TYPES; type++) {
+            sum += total[scenario * TYPES + type];
+        }
+        return sum;
+    }
+
+    /**
+     * Retorna quantas casas tiveram o acréscimo ajustado ao valor dos juros em um cenário.
+     *
+     * @param scenario O índice do cenário.
+     * @return A quantidade de casas com acréscimo ajustado.
+     */
+    public long getAdjustedHouses(int scenario) {
+        return adjustedHouses[scenario];
+    }
+
+    /**
+     * Transforma em string com formatação: uma linha por cenário com o pagamento total de cada tipo.
+     *
+     * @return String formatada.
+     */
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-10s", "Cenário"));
+        for (FinancingTypesTranslated type : FinancingTypesTranslated.values()) {
+            table.append(String.format("%26s", type.getFinancingType()));
+        }
+        table.append(String.format("%26s", "Total")).append(System.lineSeparator());
+        for (int s = 0; s < shifts.length; s++) {
+            table.append(String.format("%+9.2f%%", shifts[s]));
+            for (FinancingTypesTranslated type : FinancingTypesTranslated.values()) {
+                table.append(String.format("%26s", CurrencyFormatter.formatToBRL(getTotalPayment(s, type))));
+            }
+            table.append(String.format("%26s", CurrencyFormatter.formatToBRL(getTotalPayment(s)))).append(System.lineSeparator());
+        }
+        return table.toString();
+    }
+}
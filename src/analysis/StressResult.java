@@ -0,0 +1,165 @@
+package analysis;
+
+import util.CurrencyFormatter;
+import util.FinancingTypesTranslated;
+
+/**
+ * Resultado de {@link MonteCarloStressTest}: para cada tipo de financiamento e para a carteira inteira, a distribuição
+ * da variação dos pagamentos no horizonte, em relação aos pagamentos com as taxas atuais. Só contam os anos em que
+ * cada contrato ainda está em curso, com o prazo contado a partir do início do horizonte.
+ * Valores positivos significam pagamentos maiores; os percentis altos (95%, 99%, 99,9%) são as medidas de estresse
+ * no estilo do valor em risco (VaR).
+ */
+public final class StressResult {
+    private static final double[] REPORTED_QUANTILES = {0.95, 0.99, 0.999};
+
+    private final MonteCarloStressTest.Parameters parameters;
+    private final int contracts;
+    private final double[] baseline;
+    private final QuantileSketch[] sketches;
+    private final double[] sums;
+    private final double lowestShift;
+    private final double highestShift;
+    private final double shiftResolution;
+
+    StressResult(MonteCarloStressTest.Parameters parameters, int contracts, double[] baseline, QuantileSketch[] sketches,
+                 double[] sums, double lowestShift, double highestShift, double shiftResolution) {
+        this.parameters = parameters;
+        this.contracts = contracts;
+        this.baseline = baseline;
+        this.sketches = sketches;
+        this.sums = sums;
+        this.lowestShift = lowestShift;
+        this.highestShift = highestShift;
+        this.shiftResolution = shiftResolution;
+    }
+
+    public MonteCarloStressTest.Parameters getParameters() {
+        return parameters;
+    }
+
+    public int getContracts() {
+        return contracts;
+    }
+
+    /**
+     * Retorna a soma dos pagamentos de um tipo no horizonte, com as taxas atuais, até o vencimento de cada contrato.
+     *
+     * @param type O tipo de financiamento.
+     * @return Os pagamentos sem choque de taxa.
+     */
+    public double getBaselinePayment(FinancingTypesTranslated type) {
+        return baseline[type.ordinal()];
+    }
+
+    /**
+     * Retorna a soma dos pagamentos da carteira no horizonte, com as taxas atuais, até o vencimento de cada contrato.
+     *
+     * @return Os pagamentos sem choque de taxa.
+     */
+    public double getBaselinePayment() {
+        double sum = 0;
+        for (double value : baseline) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    /**
+     * Retorna a variação média dos pagamentos de um tipo.
+     *
+     * @param type O tipo de financiamento.
+     * @return A média da variação entre as trajetórias.
+     */
+    public double getMeanChange(FinancingTypesTranslated type) {
+        return sums[type.ordinal()] / parameters.paths();
+    }
+
+    /**
+     * Retorna a variação média dos pagamentos da carteira.
+     *
+     * @return A média da variação entre as trajetórias.
+     */
+    public double getMeanChange() {
+        return sums[ScenarioMatrix.TYPES] / parameters.paths();
+    }
+
+    /**
+     * Retorna o percentil da variação dos pagamentos de um tipo, com erro relativo de até 0,5%.
+     *
+     * @param type     O tipo de financiamento.
+     * @param quantile O quantil, entre 0 e 1 (por exemplo, 0,99 para o VaR de 99%).
+     * @return A variação no quantil.
+     */
+    public double getQuantile(FinancingTypesTranslated type, double quantile) {
+        return sketches[type.ordinal()].getQuantile(quantile);
+    }
+
+    /**
+     * Retorna o percentil da variação dos pagamentos da carteira, com erro relativo de até 0,5%.
+     *
+     * @param quantile O quantil, entre 0 e 1.
+     * @return A variação no quantil.
+     */
+    public double getQuantile(double quantile) {
+        return sketches[ScenarioMatrix.TYPES].getQuantile(quantile);
+    }
+
+    /**
+     * Retorna o menor deslocamento de taxa alcançado pelas trajetórias, em pontos percentuais.
+     */
+    public double getLowestShift() {
+        return lowestShift;
+    }
+
+    /**
+     * Retorna o maior deslocamento de taxa alcançado pelas trajetórias, em pontos percentuais.
+     */
+    public double getHighestShift() {
+        return highestShift;
+    }
+
+    /**
+     * Retorna a resolução da grade de deslocamentos usada na simulação, em pontos percentuais: um ponto-base,
+     * ou um múltiplo dele quando a faixa alcançada excede {@link MonteCarloStressTest#MAX_GRID_POINTS} pontos.
+     */
+    public double getShiftResolution() {
+        return shiftResolution;
+    }
+
+    /**
+     * Transforma em string com formatação: uma linha por tipo e uma para o total, com os pagamentos sem choque,
+     * a variação média e os percentis 95%, 99% e 99,9% da variação.
+     *
+     * @return String formatada.
+     */
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%d trajetórias, %d contratos, horizonte de %d anos, deslocamentos de %+.2f%% a %+.2f%%",
+                parameters.paths(), contracts, parameters.horizonYears(), lowestShift, highestShift))
+                .append(System.lineSeparator());
+        table.append(String.format("%-12s%24s%24s", "Tipo", "Sem choque", "Variação média"));
+        for (double quantile : REPORTED_QUANTILES) {
+            table.append(String.format("%24s", String.format("VaR %s%%", trimmed(quantile * 100))));
+        }
+        table.append(System.lineSeparator());
+        for (FinancingTypesTranslated type : FinancingTypesTranslated.values()) {
+            appendRow(table, type.getFinancingType(), getBaselinePayment(type), getMeanChange(type), sketches[type.ordinal()]);
+        }
+        appendRow(table, "Total", getBaselinePayment(), getMeanChange(), sketches[ScenarioMatrix.TYPES]);
+        return table.toString();
+    }
+
+    private static void appendRow(StringBuilder table, String name, double baseline, double mean, QuantileSketch sketch) {
+        table.append(String.format("%-12s%24s%24s", name, CurrencyFormatter.formatToBRL(baseline), CurrencyFormatter.formatToBRL(mean)));
+        for (double quantile : REPORTED_QUANTILES) {
+            table.append(String.format("%24s", CurrencyFormatter.formatToBRL(sketch.getQuantile(quantile))));
+        }
+        table.append(System.lineSeparator());
+    }
+
+    private static String trimmed(double percent) {
+        return percent == Math.rint(percent) ? String.valueOf((long) percent) : String.format("%.1f", percent);
+    }
+}
@@ -2,22 +2,37 @@ package app;
 
 import factory.FinancingFactory;
 import model.Financing;
-import util.FinancingFileHandler;
+import portfolio.ConcurrentPortfolioStore;
+import portfolio.PaymentStatistics;
+import portfolio.PortfolioAggregator;
+import portfolio.PortfolioCache;
+import util.AsyncFinancingWriter;
+import util.CurrencyFormatter;
+import util.FinancingJournal;
+import util.FinancingTypesTranslated;
 import util.UserInterface;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletionException;
 
 /**
  * A classe Application é responsável por gerenciar a execução do programa de financiamento.
  * Ela permite adicionar novos financiamentos e listar os financiamentos salvos.
  */
 public class Application {
+    private static final int PAGE_SIZE = 20;
+
     private UserInterface ui;
-    private ArrayList<Financing> financings;
+    private ConcurrentPortfolioStore financings;
     private String fileName;
     private String fileSerializedName;
+    private String fileJournalName;
+    private FinancingJournal journal;
+    private AsyncFinancingWriter textWriter;
+    private PortfolioAggregator aggregator;
+    private PortfolioCache cache;
 
     /**
      * Construtor da classe Application.
@@ -25,9 +40,9 @@ public class Application {
      */
     public Application() {
         this.ui = new UserInterface();
-        this.financings = new ArrayList<>();
         this.fileName = "financings.txt";
         this.fileSerializedName = "financings.ser";
+        this.fileJournalName = "financings.journal";
     }
 
     /**
@@ -40,14 +55,19 @@ public class Application {
             System.out.println("Escolha uma opção:");
             System.out.println("1. Adicionar novo financiamento");
             System.out.println("2. Listar financiamentos salvos");
-            System.out.println("3. Sair");
+            System.out.println("3. Compactar financiamentos salvos");
+            System.out.println("4. Exibir resumo da carteira");
+            System.out.println("5. Sair");
             int option = scanner.nextInt();
 
             switch (option) {
                 case 1 -> addFinancing();
-                case 2 -> listFinancings();
-                case 3 -> {
+                case 2 -> listFinancings(scanner);
+                case 3 -> compactFinancings();
+                case 4 -> showPortfolioSummary();
+                case 5 -> {
                     System.out.println("Saindo...");
+                    closeFiles();
                     scanner.close();
                     return;
                 }
@@ -59,39 +79,177 @@ public class Application {
     /**
      * Adiciona um novo financiamento à lista e salva nos arquivos.
      * Utiliza a fábrica de financiamentos para criar um novo financiamento.
+     * O financiamento é acrescentado ao diário, sem reescrever os financiamentos já serializados,
+     * e só então à carteira em memória, se ela já tiver sido carregada.
      * Em caso de erro de E/S, exibe a pilha de erros.
      */
     private void addFinancing() {
         try {
             Financing financing = FinancingFactory.createFinancing(ui);
-            financings.add(financing);
-            FinancingFileHandler.saveToFile(financing, fileName);
-            FinancingFileHandler.serializeFinancings(financings, fileSerializedName);
+            getTextWriter().append(financing).join();
+            getJournal().append(financing);
+            if (financings != null) {
+                financings.add(financing);
+            }
+            if (aggregator != null) {
+                aggregator.add(financing);
+            }
             System.out.println("Financiamento salvo com sucesso.");
-        } catch (IOException e) {
+        } catch (IOException | CompletionException e) {
             System.out.println("Erro ao salvar financiamento.");
         }
     }
 
     /**
-     * Lista os financiamentos salvos no arquivo.
+     * Lista os financiamentos salvos no arquivo, uma página por vez.
+     * Os arquivos só são lidos novamente quando mudaram desde a última listagem.
      * Em caso de erro de E/S, exibe uma mensagem informando que não há financiamentos salvos.
+     *
+     * @param scanner O leitor da entrada do usuário, usado para avançar as páginas.
      */
-    private void listFinancings() {
+    private void listFinancings(Scanner scanner) {
         try {
             // Carrega os financiamentos do arquivo e serializados
-            ArrayList<Financing> serializedFinancings = FinancingFileHandler.deserializeFinancings(fileSerializedName);
-            ArrayList<Financing> loadedFinancings = FinancingFileHandler.readFromFile(fileName);
+            List<Financing> serializedFinancings = getCache().getSerializedFinancings();
+            PortfolioCache.Listing listing = getCache().getListing(PAGE_SIZE);
 
             if (serializedFinancings.size() > 0) {
                 System.out.println("Dados carregados com sucesso.");
             }
 
-            loadedFinancings.forEach(System.out::println);
+            for (int page = 0; page < listing.getPageCount(); page++) {
+                System.out.print(listing.getPage(page));
+                if (page + 1 < listing.getPageCount()) {
+                    System.out.printf("Página %d de %d. Digite 'p' para a próxima página ou outra tecla para voltar ao menu: ",
+                            page + 1, listing.getPageCount());
+                    if (!scanner.next().equalsIgnoreCase("p")) {
+                        break;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Nenhum financiamento salvo.");
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Grava um novo snapshot com um retrato da carteira em memória e esvazia o diário.
+     */
+    private void compactFinancings() {
+        try {
+            ConcurrentPortfolioStore store = getFinancings();
+            getJournal().compact(store::serialize);
+            System.out.println("Financiamentos compactados com sucesso.");
+        } catch (IOException e) {
+            System.out.println("Erro ao compactar financiamentos.");
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Exibe os totais da carteira e as estatísticas dos pagamentos mensais por tipo de financiamento.
+     * Os totais são calculados uma única vez sobre um retrato da carteira e depois mantidos a cada novo financiamento.
+     */
+    private void showPortfolioSummary() {
+        try {
+            if (aggregator == null) {
+                aggregator = getFinancings().aggregate();
+            }
+            System.out.println("Quantidade de financiamentos: " + aggregator.getCount());
+            System.out.println("Valor Total de Todos os Imóveis: " + CurrencyFormatter.formatToBRL(aggregator.getTotalPropertyValue()));
+            System.out.println("Valor Total de Todos os Financiamentos: " + CurrencyFormatter.formatToBRL(aggregator.getTotalFinancingValue()));
+            for (FinancingTypesTranslated type : FinancingTypesTranslated.values()) {
+                PaymentStatistics.Summary summary = aggregator.getPaymentSummary(type);
+                if (summary.count() > 0) {
+                    System.out.printf("%s: %d financiamento(s), pagamento mensal mínimo %s, máximo %s, médio %s%n",
+                            type.getFinancingType(),
+                            summary.count(),
+                            CurrencyFormatter.formatToBRL(summary.min()),
+                            CurrencyFormatter.formatToBRL(summary.max()),
+                            CurrencyFormatter.formatToBRL(summary.mean()));
+                }
+            }
         } catch (IOException e) {
             System.out.println("Nenhum financiamento salvo.");
         } catch (ClassNotFoundException e) {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Carrega a carteira serializada (snapshot mais diário) na primeira utilização.
+     *
+     * @return A carteira em memória.
+     * @throws IOException            Se ocorrer um erro de entrada/saída.
+     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
+     */
+    private ConcurrentPortfolioStore getFinancings() throws IOException, ClassNotFoundException {
+        if (financings == null) {
+            financings = new ConcurrentPortfolioStore(getJournal().load());
+        }
+        return financings;
+    }
+
+    /**
+     * Abre o diário de financiamentos na primeira utilização.
+     *
+     * @return O diário de financiamentos.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    private FinancingJournal getJournal() throws IOException {
+        if (journal == null) {
+            journal = new FinancingJournal(fileJournalName, fileSerializedName);
+        }
+        return journal;
+    }
+
+    /**
+     * Abre o gravador do arquivo de texto na primeira utilização.
+     * Cada bloco é confirmado em disco (fsync) antes de o financiamento ser considerado salvo.
+     *
+     * @return O gravador do arquivo de texto.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    private AsyncFinancingWriter getTextWriter() throws IOException {
+        if (textWriter == null) {
+            textWriter = new AsyncFinancingWriter(fileName, AsyncFinancingWriter.Durability.BATCH);
+        }
+        return textWriter;
+    }
+
+    /**
+     * Cria o cache da carteira na primeira utilização.
+     *
+     * @return O cache da carteira.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    private PortfolioCache getCache() throws IOException {
+        if (cache == null) {
+            cache = new PortfolioCache(fileName, getJournal(), fileJournalName, fileSerializedName);
+        }
+        return cache;
+    }
+
+    /**
+     * Fecha o gravador do arquivo de texto e o diário de financiamentos, se estiverem abertos.
+     */
+    private void closeFiles() {
+        try {
+            if (textWriter != null) {
+                textWriter.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Erro ao fechar o arquivo de financiamentos.");
+        }
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Erro ao fechar o diário de financiamentos.");
+        }
+    }
 }
\ No newline at end of file
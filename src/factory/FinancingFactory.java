@@ -4,6 +4,7 @@ import model.Apartment;
 import model.Financing;
 import model.House;
 import model.Land;
+import model.QuoteDiagnostics;
 import util.UserInterface;
 
 import java.util.Scanner;
@@ -31,23 +32,43 @@ public class FinancingFactory {
         Scanner scanner = new Scanner(System.in);
         int choice = scanner.nextInt();
 
-        switch (choice) {
+        Financing financing = switch (choice) {
             case 1 -> {
                 double[] houseAttributes = ui.setHouseAttributes();
-                return new House(propertyValue, loanTerm, interestRate, houseAttributes[0], (int) houseAttributes[1]);
+                yield new House(propertyValue, loanTerm, interestRate, houseAttributes[0], (int) houseAttributes[1]);
             }
             case 2 -> {
                 int[] apartmentAttributes = ui.setApartmentAttributes();
-                return new Apartment(propertyValue, loanTerm, interestRate, apartmentAttributes[0], apartmentAttributes[1]);
+                yield new Apartment(propertyValue, loanTerm, interestRate, apartmentAttributes[0], apartmentAttributes[1]);
             }
             case 3 -> {
                 String landType = ui.setLandAttributes();
-                return new Land(propertyValue, loanTerm, interestRate, landType);
+                yield new Land(propertyValue, loanTerm, interestRate, landType);
             }
             default -> {
                 System.out.println("Opção inválida. Criando financiamento padrão.");
-                return new House(propertyValue, loanTerm, interestRate, 500, 100);
+                yield new House(propertyValue, loanTerm, interestRate, 500, 100);
             }
-        }
+        };
+
+        // Exibe uma única vez os avisos do cálculo (por exemplo, o ajuste do acréscimo da casa)
+        financing.quote(QuoteDiagnostics.CONSOLE);
+        return financing;
+    }
+
+    /**
+     * Cria um financiamento a partir de um pedido de cotação, sem interação com o usuário.
+     *
+     * @param request O pedido de cotação.
+     * @return Uma instância de Financing, que pode ser uma Casa, Apartamento ou Terreno.
+     */
+    public static Financing createFinancing(QuoteRequest request) {
+        return switch (request.type()) {
+            case HOUSE -> new House(request.propertyValue(), request.loanTerm(), request.interestRate(),
+                    request.builtAreaSize(), request.landSize());
+            case APARTMENT -> new Apartment(request.propertyValue(), request.loanTerm(), request.interestRate(),
+                    request.garageSpaces(), request.floorNumber());
+            case LAND -> new Land(request.propertyValue(), request.loanTerm(), request.interestRate(), request.zoneType());
+        };
     }
 }
\ No newline at end of file
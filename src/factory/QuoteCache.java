@@ -0,0 +1,318 @@
+package factory;
+
+import model.Financing;
+import model.Quote;
+import util.FinancingReportWriter;
+import util.FinancingTypesTranslated;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache de cotações na frente do {@link FinancingFactory}, para pedidos repetidos com os mesmos parâmetros
+ * (por exemplo, um cliente ajustando valor, prazo e taxa em uma tela de simulação).
+ * <p>
+ * A chave é formada pelo tipo, valor, prazo, taxa e pelos atributos que se aplicam ao tipo; atributos de outros tipos
+ * são ignorados. Cada entrada guarda a cotação numérica e o bloco de relatório já gerado.
+ * <p>
+ * As entradas são divididas em partições, cada uma com a sua trava e a sua lista em ordem de acesso (LRU), para que
+ * threads diferentes raramente disputem a mesma trava. Cada partição guarda no máximo a sua parte do tamanho máximo,
+ * descartando a entrada usada há mais tempo; entradas mais antigas que o tempo de vida são descartadas na próxima
+ * consulta. O cálculo de uma cotação ausente é feito fora da trava.
+ */
+public class QuoteCache {
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final Stripe[] stripes;
+    private final long timeToLiveNanos;
+    private final FinancingReportWriter reportWriter = new FinancingReportWriter();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Cotação guardada no cache.
+     *
+     * @param quote  O resultado numérico do cálculo.
+     * @param report O bloco de relatório do financiamento.
+     */
+    public record CachedQuote(Quote quote, String report) {
+    }
+
+    /**
+     * Estatísticas do cache desde a criação ou o último {@link #invalidateAll()}.
+     *
+     * @param hits        Consultas atendidas pelo cache.
+     * @param misses      Consultas que precisaram calcular a cotação.
+     * @param evictions   Entradas descartadas por falta de espaço.
+     * @param expirations Entradas descartadas por terem passado do tempo de vida.
+     */
+    public record Stats(long hits, long misses, long evictions, long expirations) {
+        /**
+         * A fração das consultas atendidas pelo cache, ou 0 se não houve consultas.
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * Chave do cache: os parâmetros do pedido que influenciam a cotação e o relatório.
+     * O hash é calculado uma única vez, pois é usado na escolha da partição, na consulta, na inclusão e no descarte.
+     */
+    private static final class QuoteKey {
+        private final FinancingTypesTranslated type;
+        private final double propertyValue;
+        private final int loanTerm;
+        private final double interestRate;
+        private final double firstAttribute;
+        private final double secondAttribute;
+        private final String zoneType;
+        private final int hash;
+
+        private QuoteKey(FinancingTypesTranslated type, double propertyValue, int loanTerm, double interestRate,
+                         double firstAttribute, double secondAttribute, String zoneType) {
+            this.type = type;
+            this.propertyValue = propertyValue;
+            this.loanTerm = loanTerm;
+            this.interestRate = interestRate;
+            this.firstAttribute = firstAttribute;
+            this.secondAttribute = secondAttribute;
+            this.zoneType = zoneType;
+            int h = type.ordinal();
+            h = 31 * h + Double.hashCode(propertyValue);
+            h = 31 * h + loanTerm;
+            h = 31 * h + Double.hashCode(interestRate);
+            h = 31 * h + Double.hashCode(firstAttribute);
+            h = 31 * h + Double.hashCode(secondAttribute);
+            this.hash = 31 * h + Objects.hashCode(zoneType);
+        }
+
+        /**
+         * Cria a chave de um pedido, considerando apenas os atributos que se aplicam ao tipo.
+         */
+        static QuoteKey of(QuoteRequest request) {
+            return switch (request.type()) {
+                case HOUSE -> new QuoteKey(request.type(), request.propertyValue(), request.loanTerm(),
+                        request.interestRate(), request.builtAreaSize(), request.landSize(), null);
+                case APARTMENT -> new QuoteKey(request.type(), request.propertyValue(), request.loanTerm(),
+                        request.interestRate(), request.garageSpaces(), request.floorNumber(), null);
+                case LAND -> new QuoteKey(request.type(), request.propertyValue(), request.loanTerm(),
+                        request.interestRate(), 0, 0, request.zoneType());
+            };
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QuoteKey other)) {
+                return false;
+            }
+            return hash == other.hash
+                    && type == other.type
+                    && loanTerm == other.loanTerm
+                    && Double.compare(propertyValue, other.propertyValue) == 0
+                    && Double.compare(interestRate, other.interestRate) == 0
+                    && Double.compare(firstAttribute, other.firstAttribute) == 0
+                    && Double.compare(secondAttribute, other.secondAttribute) == 0
+                    && Objects.equals(zoneType, other.zoneType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Construtor do cache.
+     *
+     * @param maximumSize A quantidade máxima de cotações guardadas.
+     * @param timeToLive  O tempo de vida de cada cotação, contado a partir do momento em que é guardada.
+     */
+    public QuoteCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Construtor do cache com a quantidade de partições informada.
+     *
+     * @param maximumSize A quantidade máxima de cotações guardadas.
+     * @param timeToLive  O tempo de vida de cada cotação, contado a partir do momento em que é guardada.
+     * @param stripes     A quantidade de partições (arredondada para cima até uma potência de dois, limitada ao tamanho máximo).
+     */
+    public QuoteCache(int maximumSize, Duration timeToLive, int stripes) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("O tamanho máximo do cache deve ser positivo.");
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("O tempo de vida do cache deve ser positivo.");
+        }
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("A quantidade de partições deve ser positiva.");
+        }
+        int count = 1;
+        while (count < stripes && count < maximumSize) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        int perStripe = (maximumSize + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(perStripe);
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    /**
+     * Retorna a cotação do pedido, calculando-a e guardando-a se ainda não estiver no cache.
+     * Cotações com pagamentos não finitos (valores que estouram o intervalo de double ou indefinidos) são recusadas
+     * antes de serem guardadas, para não ocuparem espaço nem contarem como acertos quando o pedido for repetido.
+     *
+     * @param request O pedido de cotação.
+     * @return A cotação e o bloco de relatório.
+     * @throws IllegalArgumentException Se o pagamento mensal ou o total não for finito.
+     */
+    public CachedQuote get(QuoteRequest request) {
+        QuoteKey key = QuoteKey.of(request);
+        Stripe stripe = stripeFor(key);
+        long now = System.nanoTime();
+        CachedQuote cached = stripe.get(key, now);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Financing financing = FinancingFactory.createFinancing(request);
+        Quote quote = financing.quote();
+        if (!Double.isFinite(quote.monthlyPayment()) || !Double.isFinite(quote.totalPayment())) {
+            throw new IllegalArgumentException("Os valores informados resultam em um pagamento fora do intervalo representável.");
+        }
+        CachedQuote computed = new CachedQuote(quote, reportWriter.render(financing));
+        stripe.put(key, computed, System.nanoTime() + timeToLiveNanos);
+        return computed;
+    }
+
+    /**
+     * Retorna a quantidade de cotações guardadas, incluindo as que já expiraram e ainda não foram descartadas.
+     *
+     * @return A quantidade de entradas.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Descarta todas as cotações e zera as estatísticas.
+     */
+    public void invalidateAll() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        expirations.reset();
+    }
+
+    /**
+     * Retorna as estatísticas de uso do cache.
+     *
+     * @return As estatísticas.
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    /**
+     * Escolhe a partição pelos bits altos de uma mistura do hash. Os bits baixos não servem: são os mesmos que o
+     * HashMap usa para escolher o balde, e todas as chaves de uma partição cairiam nos mesmos baldes.
+     */
+    private Stripe stripeFor(QuoteKey key) {
+        long mixed = key.hashCode() * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (mixed >>> 40) & (stripes.length - 1)];
+    }
+
+    /**
+     * Entrada de uma partição: a cotação e o instante (System.nanoTime) em que expira.
+     */
+    private record Entry(CachedQuote value, long expiresAt) {
+    }
+
+    /**
+     * Uma partição do cache: um LinkedHashMap em ordem de acesso protegido por uma trava.
+     */
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<QuoteKey, Entry> entries;
+
+        Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(Math.min(capacity, 1024) * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<QuoteKey, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        CachedQuote get(QuoteKey key, long now) {
+            lock.lock();
+            try {
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (now - entry.expiresAt() >= 0) {
+                    entries.remove(key);
+                    expirations.increment();
+                    return null;
+                }
+                return entry.value();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(QuoteKey key, CachedQuote value, long expiresAt) {
+            lock.lock();
+            try {
+                entries.put(key, new Entry(value, expiresAt));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                entries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
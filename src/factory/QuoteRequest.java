@@ -0,0 +1,90 @@
+package factory;
+
+import util.FinancingTypesTranslated;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pedido de cotação de um financiamento, com os atributos comuns e os específicos de cada tipo.
+ * Atributos que não se aplicam ao tipo informado são ignorados.
+ *
+ * @param type          O tipo de financiamento.
+ * @param propertyValue Valor do imóvel.
+ * @param loanTerm      Prazo do financiamento em anos.
+ * @param interestRate  Taxa de juros anual.
+ * @param builtAreaSize Tamanho da área construída (casa).
+ * @param landSize      Tamanho do terreno (casa).
+ * @param garageSpaces  Número de vagas da garagem (apartamento).
+ * @param floorNumber   Número do andar (apartamento).
+ * @param zoneType      Tipo de zona (terreno).
+ */
+public record QuoteRequest(FinancingTypesTranslated type, double propertyValue, int loanTerm, double interestRate,
+                           double builtAreaSize, double landSize, int garageSpaces, int floorNumber, String zoneType) {
+
+    /**
+     * Cria um pedido a partir de pares nome/valor, como os lidos de uma linha CSV ou de um objeto JSON.
+     * Os nomes são os mesmos dos atributos do pedido; o tipo aceita o nome em português ou em inglês.
+     *
+     * @param fields Os valores de cada campo.
+     * @return O pedido de cotação.
+     * @throws IllegalArgumentException Se um campo obrigatório estiver ausente ou inválido.
+     */
+    public static QuoteRequest fromFields(Map<String, String> fields) {
+        FinancingTypesTranslated type = parseType(required(fields, "type"));
+        double propertyValue = positiveDouble(fields, "propertyValue");
+        int loanTerm = positiveInt(fields, "loanTerm");
+        double interestRate = positiveDouble(fields, "interestRate");
+        if (interestRate > 100) {
+            throw new IllegalArgumentException("Taxa de juros deve estar entre 0 e 100: " + interestRate);
+        }
+        return switch (type) {
+            case HOUSE -> new QuoteRequest(type, propertyValue, loanTerm, interestRate,
+                    positiveDouble(fields, "builtAreaSize"), positiveDouble(fields, "landSize"), 0, 0, null);
+            case APARTMENT -> new QuoteRequest(type, propertyValue, loanTerm, interestRate,
+                    0, 0, positiveInt(fields, "garageSpaces"), positiveInt(fields, "floorNumber"), null);
+            case LAND -> new QuoteRequest(type, propertyValue, loanTerm, interestRate,
+                    0, 0, 0, 0, required(fields, "zoneType"));
+        };
+    }
+
+    private static FinancingTypesTranslated parseType(String value) {
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "casa":
+            case "house":
+                return FinancingTypesTranslated.HOUSE;
+            case "apartamento":
+            case "apartment":
+                return FinancingTypesTranslated.APARTMENT;
+            case "terreno":
+            case "land":
+                return FinancingTypesTranslated.LAND;
+            default:
+                throw new IllegalArgumentException("Tipo de financiamento desconhecido: " + value);
+        }
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Campo obrigatório ausente: " + name);
+        }
+        return value.trim();
+    }
+
+    private static double positiveDouble(Map<String, String> fields, String name) {
+        double value = Double.parseDouble(required(fields, name));
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + value);
+        }
+        return value;
+    }
+
+    private static int positiveInt(Map<String, String> fields, String name) {
+        int value = Integer.parseInt(required(fields, name));
+        if (value <= 0) {
+            throw new IllegalArgumentException("Valor inválido para " + name + ": " + value);
+        }
+        return value;
+    }
+}
@@ -1,12 +1,42 @@
 package main;
 
 import app.Application;
+import metrics.FinancingMetrics;
+import service.BulkQuotation;
+import service.QuoteHttpServer;
+import util.FinancingMigration;
+
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Classe principal que executa o programa de financiamento.
+ * Sem argumentos, executa o modo interativo; com {@code --bulk <entrada> <saída>}, executa a cotação em lote;
+ * com {@code --serve <porta>}, inicia o serviço HTTP de cotação; com {@code --migrate [arquivo]}, converte um arquivo
+ * serializado antigo para o formato binário atual.
+ * Em todos os modos, as métricas ficam disponíveis no JMX ({@value FinancingMetrics#OBJECT_NAME}) e são ligadas
+ * com {@code -Dfinancing.metrics=true} ou pelo próprio MBean.
  */
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        FinancingMetrics.register();
+        if (args.length == 3 && args[0].equals("--bulk")) {
+            BulkQuotation.Result result = new BulkQuotation().run(Path.of(args[1]), Path.of(args[2]));
+            System.out.println("Cotações geradas: " + result.quoted() + ". Linhas rejeitadas: " + result.rejected() + ".");
+            return;
+        }
+        if (args.length == 2 && args[0].equals("--serve")) {
+            QuoteHttpServer.enableTcpNoDelay();
+            QuoteHttpServer server = new QuoteHttpServer(Integer.parseInt(args[1]));
+            server.start();
+            System.out.println("Serviço de cotação disponível em http://localhost:" + server.getPort() + "/quote");
+            return;
+        }
+        if (args.length >= 1 && args.length <= 2 && args[0].equals("--migrate")) {
+            FinancingMigration.main(args.length == 2 ? new String[]{args[1]} : new String[0]);
+            return;
+        }
+
         Application app = new Application();
         System.out.println("Bem-vindo ao programa de financiamento! - running from Main.java");
         app.run();
@@ -0,0 +1,80 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do Java Flight Recorder para as operações de arquivo de {@code FinancingFileHandler}:
+ * leitura e gravação de financings.txt, serialização e desserialização.
+ * <p>
+ * Uso: {@code new FinancingFileEvent().start()} antes da operação e {@link #commit(String, String, long, long)} depois.
+ * Como em {@link MonthlyPaymentEvent}, o relógio só é lido quando o evento está habilitado. Medidas que exigem
+ * trabalho extra (como o tamanho do arquivo) só devem ser calculadas quando {@link #isEnabled()} for verdadeiro.
+ */
+@Name("housingfinance.FinancingFile")
+@Label("Arquivo de financiamentos")
+@Category({"Housing Finance", "Arquivos"})
+@Description("Leitura, gravação, serialização ou desserialização de financiamentos.")
+public class FinancingFileEvent extends Event {
+    public static final String READ = "read";
+    public static final String SAVE = "save";
+    public static final String SERIALIZE = "serialize";
+    public static final String DESERIALIZE = "deserialize";
+
+    @Label("Operação")
+    private String operation;
+
+    @Label("Arquivo")
+    private String file;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    @Label("Financiamentos")
+    private long records;
+
+    /**
+     * Se {@link #begin()} foi chamado. Um evento habilitado só depois do início não tem duração válida e não é gravado.
+     */
+    private transient boolean started;
+
+    /**
+     * Inicia a medição, se o evento estiver habilitado.
+     *
+     * @return O próprio evento.
+     */
+    public FinancingFileEvent start() {
+        if (isEnabled()) {
+            begin();
+            started = true;
+        }
+        return this;
+    }
+
+    /**
+     * Encerra a medição e grava o evento, se ela foi iniciada e a duração passar do limite configurado.
+     *
+     * @param operation A operação ({@link #READ}, {@link #SAVE}, {@link #SERIALIZE} ou {@link #DESERIALIZE}).
+     * @param file      O nome do arquivo.
+     * @param bytes     Os bytes lidos ou gravados.
+     * @param records   A quantidade de financiamentos lidos ou gravados.
+     */
+    public void commit(String operation, String file, long bytes, long records) {
+        if (!started) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.file = file;
+            this.bytes = bytes;
+            this.records = records;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package metrics;
+
+import util.FinancingTypesTranslated;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas dos caminhos críticos de cotação e persistência: pagamento mensal por tipo de financiamento,
+ * formatação de moeda, leitura e gravação de financings.txt, serialização e ajustes do acréscimo das casas.
+ * <p>
+ * As métricas começam desligadas, a menos que a propriedade de sistema {@code financing.metrics} seja {@code true},
+ * e podem ser ligadas ou desligadas a qualquer momento por {@link #setEnabled(boolean)} ou pelo atributo
+ * {@code Enabled} do MBean. Desligadas, custam uma leitura de campo volátil por chamada instrumentada.
+ * Ligadas, cada medição custa duas leituras do relógio e alguns incrementos sem trava ({@link LongAdder}).
+ * <p>
+ * O uso segue sempre o mesmo padrão: {@code long start = FinancingMetrics.start();} antes da operação e o
+ * {@code record...(start, ...)} correspondente depois; se as métricas estavam desligadas no início, nada é registrado.
+ */
+public class FinancingMetrics {
+    public static final String OBJECT_NAME = "housingfinance:type=FinancingMetrics";
+
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private static volatile boolean enabled = Boolean.getBoolean("financing.metrics");
+
+    private static final LatencyHistogram[] MONTHLY_PAYMENT = new LatencyHistogram[FinancingTypesTranslated.values().length];
+    private static final LatencyHistogram FORMAT_TO_BRL = new LatencyHistogram();
+    private static final LatencyHistogram READ_FROM_FILE = new LatencyHistogram();
+    private static final LongAdder READ_BLOCKS = new LongAdder();
+    private static final LongAdder READ_BYTES = new LongAdder();
+    private static final LatencyHistogram SAVE_TO_FILE = new LatencyHistogram();
+    private static final LongAdder SAVE_TO_FILE_BYTES = new LongAdder();
+    private static final LatencyHistogram SERIALIZE_FINANCINGS = new LatencyHistogram();
+    private static final LongAdder SERIALIZE_FINANCINGS_BYTES = new LongAdder();
+    private static final LongAdder HOUSE_INCREASE_ADJUSTMENTS = new LongAdder();
+    private static final MXBean MX_BEAN = new MXBean();
+
+    static {
+        for (int i = 0; i < MONTHLY_PAYMENT.length; i++) {
+            MONTHLY_PAYMENT[i] = new LatencyHistogram();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        FinancingMetrics.enabled = enabled;
+    }
+
+    /**
+     * Marca o início de uma operação medida.
+     *
+     * @return O instante atual em nanossegundos, ou um marcador de "desligado" se as métricas estiverem desligadas.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Indica se a operação iniciada em {@code start} está sendo medida, para evitar trabalho extra
+     * (como consultar o tamanho de um arquivo) quando as métricas estão desligadas.
+     *
+     * @param start O valor retornado por {@link #start()}.
+     * @return true se a operação está sendo medida.
+     */
+    public static boolean isRecording(long start) {
+        return start != DISABLED;
+    }
+
+    /**
+     * Registra o cálculo de um pagamento mensal.
+     *
+     * @param type  O tipo do financiamento.
+     * @param start O valor retornado por {@link #start()}.
+     */
+    public static void recordMonthlyPayment(FinancingTypesTranslated type, long start) {
+        if (start != DISABLED) {
+            MONTHLY_PAYMENT[type.ordinal()].record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Registra uma formatação de moeda.
+     *
+     * @param start O valor retornado por {@link #start()}.
+     */
+    public static void recordFormatToBRL(long start) {
+        if (start != DISABLED) {
+            FORMAT_TO_BRL.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Registra uma leitura de arquivo de texto.
+     *
+     * @param start  O valor retornado por {@link #start()}.
+     * @param blocks A quantidade de blocos lidos.
+     * @param bytes  O tamanho do arquivo lido.
+     */
+    public static void recordRead(long start, long blocks, long bytes) {
+        if (start != DISABLED) {
+            READ_FROM_FILE.record(System.nanoTime() - start);
+            READ_BLOCKS.add(blocks);
+            READ_BYTES.add(bytes);
+        }
+    }
+
+    /**
+     * Registra a gravação de um bloco no arquivo de texto.
+     *
+     * @param start O valor retornado por {@link #start()}.
+     * @param bytes A quantidade de bytes gravados.
+     */
+    public static void recordSave(long start, long bytes) {
+        if (start != DISABLED) {
+            SAVE_TO_FILE.record(System.nanoTime() - start);
+            SAVE_TO_FILE_BYTES.add(bytes);
+        }
+    }
+
+    /**
+     * Registra uma serialização da carteira.
+     *
+     * @param start O valor retornado por {@link #start()}.
+     * @param bytes O tamanho do arquivo gravado.
+     */
+    public static void recordSerialize(long start, long bytes) {
+        if (start != DISABLED) {
+            SERIALIZE_FINANCINGS.record(System.nanoTime() - start);
+            SERIALIZE_FINANCINGS_BYTES.add(bytes);
+        }
+    }
+
+    /**
+     * Registra um cálculo do pagamento mensal de casa em que o acréscimo foi limitado ao valor dos juros.
+     * Chamado pelo getMonthlyPayment da casa, junto da amostra de latência; o cálculo puro
+     * ({@code quote}) não registra nada.
+     */
+    public static void recordHouseIncreaseAdjustment() {
+        if (enabled) {
+            HOUSE_INCREASE_ADJUSTMENTS.increment();
+        }
+    }
+
+    /**
+     * Retorna a interface de gerenciamento, para consulta das métricas dentro do próprio processo.
+     *
+     * @return O MBean das métricas.
+     */
+    public static FinancingMetricsMXBean getMXBean() {
+        return MX_BEAN;
+    }
+
+    /**
+     * Registra o MBean das métricas no servidor de MBeans da plataforma, para consulta pelo jconsole
+     * ou por um exportador JMX. Chamadas repetidas não têm efeito.
+     *
+     * @return true se o MBean foi registrado nesta chamada.
+     */
+    public static synchronized boolean register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(MX_BEAN, new ObjectName(OBJECT_NAME));
+            return true;
+        } catch (InstanceAlreadyExistsException e) {
+            return false;
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar as métricas no JMX.", e);
+        }
+    }
+
+    private static double perSecond(long amount, long nanos) {
+        return nanos == 0 ? 0 : amount * 1e9 / nanos;
+    }
+
+    /**
+     * Implementação do MBean sobre os contadores estáticos.
+     */
+    private static final class MXBean implements FinancingMetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return FinancingMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            FinancingMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public LatencyHistogram.Snapshot getHouseMonthlyPayment() {
+            return MONTHLY_PAYMENT[FinancingTypesTranslated.HOUSE.ordinal()].snapshot();
+        }
+
+        @Override
+        public LatencyHistogram.Snapshot getApartmentMonthlyPayment() {
+            return MONTHLY_PAYMENT[FinancingTypesTranslated.APARTMENT.ordinal()].snapshot();
+        }
+
+        @Override
+        public LatencyHistogram.Snapshot getLandMonthlyPayment() {
+            return MONTHLY_PAYMENT[FinancingTypesTranslated.LAND.ordinal()].snapshot();
+        }
+
+        @Override
+        public LatencyHistogram.Snapshot getFormatToBRL() {
+            return FORMAT_TO_BRL.snapshot();
+        }
+
+        @Override
+        public LatencyHistogram.Snapshot getReadFromFile() {
+            return READ_FROM_FILE.snapshot();
+        }
+
+        @Override
+        public long getReadBlocks() {
+            return READ_BLOCKS.sum();
+        }
+
+        @Override
+        public long getReadBytes() {
+            return READ_BYTES.sum();
+        }
+
+        @Override
+        public double getReadBlocksPerSecond() {
+            return perSecond(READ_BLOCKS.sum(), READ_FROM_FILE.getTotalNanos());
+        }
+
+        @Override
+        public double getReadBytesPerSecond() {
+            return perSecond(READ_BYTES.sum(), READ_FROM_FILE.getTotalNanos());
+        }
+
+        @Override
+        public LatencyHistogram.Snapshot getSaveToFile() {
+            return SAVE_TO_FILE.snapshot();
+        }
+
+        @Override
+        public long getSaveToFileBytes() {
+            return SAVE_TO_FILE_BYTES.sum();
+        }
+
+        @Override
+        public LatencyHistogram.Snapshot getSerializeFinancings() {
+            return SERIALIZE_FINANCINGS.snapshot();
+        }
+
+        @Override
+        public long getSerializeFinancingsBytes() {
+            return SERIALIZE_FINANCINGS_BYTES.sum();
+        }
+
+        @Override
+        public long getHouseIncreaseAdjustments() {
+            return HOUSE_INCREASE_ADJUSTMENTS.sum();
+        }
+
+        @Override
+        public void reset() {
+            for (LatencyHistogram histogram : MONTHLY_PAYMENT) {
+                histogram.reset();
+            }
+            FORMAT_TO_BRL.reset();
+            READ_FROM_FILE.reset();
+            READ_BLOCKS.reset();
+            READ_BYTES.reset();
+            SAVE_TO_FILE.reset();
+            SAVE_TO_FILE_BYTES.reset();
+            SERIALIZE_FINANCINGS.reset();
+            SERIALIZE_FINANCINGS_BYTES.reset();
+            HOUSE_INCREASE_ADJUSTMENTS.reset();
+        }
+    }
+}
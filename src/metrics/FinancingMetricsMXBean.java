@@ -0,0 +1,57 @@
+package metrics;
+
+/**
+ * Interface de gerenciamento das métricas de cotação e persistência, registrada no servidor de MBeans da plataforma
+ * com o nome {@value FinancingMetrics#OBJECT_NAME}. Os histogramas aparecem como atributos compostos
+ * (quantidade, média, p50, p90, p99, p99,9 e máximo, em nanossegundos).
+ */
+public interface FinancingMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    LatencyHistogram.Snapshot getHouseMonthlyPayment();
+
+    LatencyHistogram.Snapshot getApartmentMonthlyPayment();
+
+    LatencyHistogram.Snapshot getLandMonthlyPayment();
+
+    LatencyHistogram.Snapshot getFormatToBRL();
+
+    LatencyHistogram.Snapshot getReadFromFile();
+
+    long getReadBlocks();
+
+    long getReadBytes();
+
+    /**
+     * Blocos lidos por segundo de leitura, considerando apenas o tempo gasto dentro de readFromFile.
+     */
+    double getReadBlocksPerSecond();
+
+    /**
+     * Bytes lidos por segundo de leitura, considerando apenas o tempo gasto dentro de readFromFile.
+     */
+    double getReadBytesPerSecond();
+
+    /**
+     * Gravações de blocos em financings.txt, por saveToFile ou pelo gravador assíncrono (até o bloco estar confirmado).
+     */
+    LatencyHistogram.Snapshot getSaveToFile();
+
+    long getSaveToFileBytes();
+
+    LatencyHistogram.Snapshot getSerializeFinancings();
+
+    long getSerializeFinancingsBytes();
+
+    /**
+     * Quantidade de cálculos do pagamento mensal de casa em que o acréscimo foi limitado ao valor dos juros.
+     */
+    long getHouseIncreaseAdjustments();
+
+    /**
+     * Zera todas as métricas.
+     */
+    void reset();
+}
@@ -0,0 +1,84 @@
+package metrics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resume os eventos do sistema de financiamento contidos em uma gravação do Java Flight Recorder (.jfr):
+ * quantidade, duração total e máxima por evento e por tipo de financiamento ou operação de arquivo.
+ * <p>
+ * Uso: {@code java metrics.FinancingRecordingSummary financing.jfr}
+ */
+public class FinancingRecordingSummary {
+    private static final String EVENT_PREFIX = "housingfinance.";
+
+    /**
+     * Totais de um grupo de eventos.
+     *
+     * @param count         A quantidade de eventos.
+     * @param totalDuration A soma das durações.
+     * @param maxDuration   A maior duração.
+     * @param bytes         A soma dos bytes (apenas eventos de arquivo).
+     */
+    public record Entry(long count, Duration totalDuration, Duration maxDuration, long bytes) {
+        private Entry add(Duration duration, long moreBytes) {
+            return new Entry(count + 1, totalDuration.plus(duration),
+                    duration.compareTo(maxDuration) > 0 ? duration : maxDuration, bytes + moreBytes);
+        }
+    }
+
+    /**
+     * Lê a gravação e agrupa os eventos do sistema por nome do evento e, quando houver,
+     * pelo tipo de financiamento ou pela operação de arquivo (por exemplo, {@code housingfinance.FinancingFile/read}).
+     *
+     * @param recording O arquivo da gravação.
+     * @return Os totais de cada grupo, em ordem alfabética.
+     * @throws IOException Se ocorrer um erro ao ler a gravação.
+     */
+    public static Map<String, Entry> summarize(Path recording) throws IOException {
+        Map<String, Entry> entries = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String name = event.getEventType().getName();
+                if (!name.startsWith(EVENT_PREFIX)) {
+                    continue;
+                }
+                String key = name;
+                if (event.hasField("financingType")) {
+                    key += "/" + event.getString("financingType");
+                } else if (event.hasField("operation")) {
+                    key += "/" + event.getString("operation");
+                }
+                long bytes = event.hasField("bytes") ? event.getLong("bytes") : 0;
+                entries.merge(key, new Entry(0, Duration.ZERO, Duration.ZERO, 0).add(event.getDuration(), bytes),
+                        (previous, single) -> previous.add(single.totalDuration(), single.bytes()));
+            }
+        }
+        return entries;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Uso: FinancingRecordingSummary <gravação.jfr>");
+            return;
+        }
+        Map<String, Entry> entries = summarize(Path.of(args[0]));
+        if (entries.isEmpty()) {
+            System.out.println("Nenhum evento do sistema de financiamento na gravação.");
+            return;
+        }
+        System.out.printf("%-50s %10s %14s %14s %14s%n", "Evento", "Quantidade", "Total (ms)", "Máximo (ms)", "Bytes");
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Entry summary = entry.getValue();
+            System.out.printf("%-50s %10d %14.3f %14.3f %14d%n", entry.getKey(), summary.count(),
+                    summary.totalDuration().toNanos() / 1e6, summary.maxDuration().toNanos() / 1e6, summary.bytes());
+        }
+    }
+}
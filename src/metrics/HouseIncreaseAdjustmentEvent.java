@@ -0,0 +1,56 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento instantâneo do Java Flight Recorder para um cálculo do pagamento mensal de casa em que o acréscimo fixo
+ * foi limitado ao valor dos juros da parcela.
+ */
+@Name("housingfinance.HouseIncreaseAdjustment")
+@Label("Ajuste do acréscimo da casa")
+@Category({"Housing Finance", "Cotação"})
+@Description("O acréscimo fixo da casa era maior que os juros da parcela e foi limitado a eles.")
+@StackTrace(false)
+public class HouseIncreaseAdjustmentEvent extends Event {
+    @Label("Valor do imóvel")
+    private double propertyValue;
+
+    @Label("Prazo (anos)")
+    private int loanTerm;
+
+    @Label("Taxa de juros anual")
+    private double interestRate;
+
+    @Label("Acréscimo configurado")
+    private double configuredIncrease;
+
+    @Label("Acréscimo aplicado")
+    private double appliedIncrease;
+
+    /**
+     * Grava o evento, se estiver habilitado na gravação em andamento.
+     *
+     * @param propertyValue      O valor do imóvel.
+     * @param loanTerm           O prazo em anos.
+     * @param interestRate       A taxa de juros anual.
+     * @param configuredIncrease O acréscimo configurado.
+     * @param appliedIncrease    O acréscimo aplicado (os juros da parcela).
+     */
+    public static void emit(double propertyValue, int loanTerm, double interestRate,
+                            double configuredIncrease, double appliedIncrease) {
+        HouseIncreaseAdjustmentEvent event = new HouseIncreaseAdjustmentEvent();
+        if (event.shouldCommit()) {
+            event.propertyValue = propertyValue;
+            event.loanTerm = loanTerm;
+            event.interestRate = interestRate;
+            event.configuredIncrease = configuredIncrease;
+            event.appliedIncrease = appliedIncrease;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package metrics;
+
+import javax.management.ConstructorParameters;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos com faixas logarítmicas, no estilo do HdrHistogram.
+ * <p>
+ * Cada potência de dois é dividida em 8 faixas iguais, portanto o erro relativo de um percentil é de no máximo 12,5%,
+ * e os valores de 0 a 7 ns são exatos. As 488 faixas cobrem todo o intervalo de {@code long} em memória fixa.
+ * A gravação não usa travas: um incremento atômico na faixa (a quantidade total é a soma das faixas) e um
+ * {@link LongAdder} para a soma. Leituras concorrentes com gravações podem ver uma gravação contada na soma e ainda
+ * não na faixa, o que é aceitável para monitoramento.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra uma duração.
+     *
+     * @param nanos A duração em nanossegundos; valores negativos contam como zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.getAndIncrement(bucketOf(value));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Zera o histograma.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        total.reset();
+        max.reset();
+    }
+
+    public long getCount() {
+        long recorded = 0;
+        for (long bucketCount : buckets()) {
+            recorded += bucketCount;
+        }
+        return recorded;
+    }
+
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    /**
+     * Retorna o valor abaixo do qual está a fração informada das gravações, arredondado para o limite superior da faixa.
+     *
+     * @param percentile O percentil, de 0 a 100.
+     * @return O valor em nanossegundos, ou zero se não houver gravações.
+     */
+    public long getValueAtPercentile(double percentile) {
+        return valueAtPercentile(buckets(), percentile);
+    }
+
+    /**
+     * Retorna um resumo do histograma, com os percentis mais usados.
+     *
+     * @return O resumo.
+     */
+    public Snapshot snapshot() {
+        long[] counts = buckets();
+        long recorded = 0;
+        for (long bucketCount : counts) {
+            recorded += bucketCount;
+        }
+        double mean = recorded == 0 ? 0 : (double) total.sum() / recorded;
+        return new Snapshot(recorded, mean, valueAtPercentile(counts, 50), valueAtPercentile(counts, 90),
+                valueAtPercentile(counts, 99), valueAtPercentile(counts, 99.9), max.get());
+    }
+
+    private long[] buckets() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    private long valueAtPercentile(long[] counts, double percentile) {
+        long recorded = 0;
+        for (long bucketCount : counts) {
+            recorded += bucketCount;
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        long lower = (long) (SUB_BUCKETS + subBucket) * width;
+        return lower + (width - 1);
+    }
+
+    /**
+     * Resumo de um histograma, exposto pelo JMX como um CompositeData.
+     */
+    public static class Snapshot {
+        private final long count;
+        private final double meanNanos;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+        private final long maxNanos;
+
+        @ConstructorParameters({"count", "meanNanos", "p50Nanos", "p90Nanos", "p99Nanos", "p999Nanos", "maxNanos"})
+        public Snapshot(long count, double meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+            this.count = count;
+            this.meanNanos = meanNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanNanos() {
+            return meanNanos;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP90Nanos() {
+            return p90Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getP999Nanos() {
+            return p999Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d média=%.0fns p50=%dns p90=%dns p99=%dns p99,9=%dns máx=%dns",
+                    count, meanNanos, p50Nanos, p90Nanos, p99Nanos, p999Nanos, maxNanos);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import util.FinancingTypesTranslated;
+
+/**
+ * Evento do Java Flight Recorder para o cálculo do pagamento mensal de um financiamento.
+ * <p>
+ * Uso: {@code new MonthlyPaymentEvent().start()} antes do cálculo e {@link #commit(FinancingTypesTranslated, int, double)}
+ * depois. O relógio só é lido quando o evento está habilitado na gravação em andamento: com o evento desligado, mesmo
+ * durante uma gravação, o custo é o de uma leitura de campo, e o JIT elimina o objeto. Com o evento ligado, só os
+ * cálculos acima do limite configurado (threshold) são gravados.
+ */
+@Name("housingfinance.MonthlyPayment")
+@Label("Pagamento mensal")
+@Category({"Housing Finance", "Cotação"})
+@Description("Cálculo do pagamento mensal de um financiamento.")
+@StackTrace(false)
+public class MonthlyPaymentEvent extends Event {
+    @Label("Tipo")
+    private String financingType;
+
+    @Label("Prazo (anos)")
+    private int loanTerm;
+
+    @Label("Valor do imóvel")
+    private double propertyValue;
+
+    /**
+     * Se {@link #begin()} foi chamado. Um evento habilitado só depois do início não tem duração válida e não é gravado.
+     */
+    private transient boolean started;
+
+    /**
+     * Inicia a medição, se o evento estiver habilitado.
+     *
+     * @return O próprio evento.
+     */
+    public MonthlyPaymentEvent start() {
+        if (isEnabled()) {
+            begin();
+            started = true;
+        }
+        return this;
+    }
+
+    /**
+     * Encerra a medição e grava o evento, se ela foi iniciada e a duração passar do limite configurado.
+     *
+     * @param type          O tipo do financiamento.
+     * @param loanTerm      O prazo em anos.
+     * @param propertyValue O valor do imóvel.
+     */
+    public void commit(FinancingTypesTranslated type, int loanTerm, double propertyValue) {
+        if (!started) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.financingType = type.getFinancingType();
+            this.loanTerm = loanTerm;
+            this.propertyValue = propertyValue;
+            commit();
+        }
+    }
+}
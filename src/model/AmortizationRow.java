@@ -0,0 +1,13 @@
+package model;
+
+/**
+ * Linha da tabela de amortização de um financiamento.
+ *
+ * @param month     Número do mês (a partir de 1).
+ * @param payment   Valor da parcela do mês.
+ * @param interest  Parcela de juros.
+ * @param principal Parcela de amortização do saldo devedor.
+ * @param balance   Saldo devedor após o pagamento.
+ */
+public record AmortizationRow(int month, double payment, double interest, double principal, double balance) {
+}
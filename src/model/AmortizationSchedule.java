@@ -0,0 +1,121 @@
+package model;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Tabela de amortização gerada sob demanda, mês a mês, sem materializar todas as linhas.
+ * Cada linha é calculada a partir do saldo devedor da linha anterior.
+ * Ao dividir a tabela para processamento paralelo, o saldo inicial de cada parte é obtido pela fórmula fechada
+ * do sistema de amortização, de modo que as partes podem ser percorridas de forma independente.
+ */
+public class AmortizationSchedule implements Spliterator<AmortizationRow> {
+    private static final int MIN_SPLIT_SIZE = 16;
+
+    private final AmortizationSystem system;
+    private final double principal;
+    private final double monthlyInterestRate;
+    private final int months;
+    private final double pricePayment;
+    private final double sacAmortization;
+    private final int end;
+    private int month;
+    private double balance;
+
+    /**
+     * Construtor da tabela completa de um financiamento.
+     *
+     * @param system              O sistema de amortização.
+     * @param principal           O valor financiado.
+     * @param monthlyInterestRate A taxa de juros mensal (por exemplo, 0.01 para 1% ao mês).
+     * @param months              O prazo em meses.
+     */
+    public AmortizationSchedule(AmortizationSystem system, double principal, double monthlyInterestRate, int months) {
+        this.system = system;
+        this.principal = principal;
+        this.monthlyInterestRate = monthlyInterestRate;
+        this.months = months;
+        this.pricePayment = pricePayment(principal, monthlyInterestRate, months);
+        this.sacAmortization = principal / months;
+        this.month = 1;
+        this.end = months + 1;
+        this.balance = principal;
+    }
+
+    private AmortizationSchedule(AmortizationSchedule parent, int month, int end, double balance) {
+        this.system = parent.system;
+        this.principal = parent.principal;
+        this.monthlyInterestRate = parent.monthlyInterestRate;
+        this.months = parent.months;
+        this.pricePayment = parent.pricePayment;
+        this.sacAmortization = parent.sacAmortization;
+        this.month = month;
+        this.end = end;
+        this.balance = balance;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super AmortizationRow> action) {
+        if (month >= end) {
+            return false;
+        }
+        double interest = balance * monthlyInterestRate;
+        double amortization = system == AmortizationSystem.PRICE ? pricePayment - interest : sacAmortization;
+        if (month == months) {
+            // Última parcela quita o saldo residual de arredondamento
+            amortization = balance;
+        }
+        balance -= amortization;
+        action.accept(new AmortizationRow(month, interest + amortization, interest, amortization, balance));
+        month++;
+        return true;
+    }
+
+    @Override
+    public Spliterator<AmortizationRow> trySplit() {
+        int remaining = end - month;
+        if (remaining < MIN_SPLIT_SIZE * 2) {
+            return null;
+        }
+        int middle = month + remaining / 2;
+        AmortizationSchedule prefix = new AmortizationSchedule(this, month, middle, balance);
+        this.month = middle;
+        this.balance = balanceAfter(middle - 1);
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - month;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Calcula o saldo devedor após o pagamento de uma quantidade de parcelas, pela fórmula fechada.
+     */
+    private double balanceAfter(int paidMonths) {
+        if (system == AmortizationSystem.SAC) {
+            return principal - sacAmortization * paidMonths;
+        }
+        if (monthlyInterestRate == 0) {
+            return principal - pricePayment * paidMonths;
+        }
+        double growth = Math.pow(1 + monthlyInterestRate, paidMonths);
+        return principal * growth - pricePayment * (growth - 1) / monthlyInterestRate;
+    }
+
+    /**
+     * Parcela constante do sistema PRICE, a mesma fórmula usada por {@link Apartment}.
+     */
+    private static double pricePayment(double principal, double monthlyInterestRate, int months) {
+        if (monthlyInterestRate == 0) {
+            return principal / months;
+        }
+        double growth = Math.pow(1 + monthlyInterestRate, months);
+        return principal * growth * monthlyInterestRate / (growth - 1);
+    }
+}
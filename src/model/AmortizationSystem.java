@@ -0,0 +1,16 @@
+package model;
+
+/**
+ * Sistemas de amortização suportados pela tabela de amortização de um financiamento.
+ */
+public enum AmortizationSystem {
+    /**
+     * Sistema PRICE (tabela francesa): parcelas constantes, amortização crescente.
+     */
+    PRICE,
+
+    /**
+     * Sistema de Amortização Constante: amortização constante, parcelas decrescentes.
+     */
+    SAC
+}
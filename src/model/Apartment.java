@@ -1,7 +1,10 @@
 package model;
 
 import constants.FormattingConstants;
+import metrics.FinancingMetrics;
+import metrics.MonthlyPaymentEvent;
 import util.CurrencyFormatter;
+import util.FinancingTypesTranslated;
 
 import java.io.Serializable;
 
@@ -55,17 +58,23 @@ public class Apartment extends Financing implements Serializable {
      */
     @Override
     public double getMonthlyPayment() {
+        long start = FinancingMetrics.start();
+        MonthlyPaymentEvent event = new MonthlyPaymentEvent().start();
+
         // Juros mensal
-        double monthlyInterestRate = super.getInterestRate() / 100 / 12;
+        double monthlyInterestRate = this.getInterestRate() / 100 / 12;
 
         // Total de meses do financiamento
         int months = this.getLoanTerm() * 12;
 
         // Aplica sistema PRICE
-        double numerator = super.getPropertyValue() * Math.pow(1 + monthlyInterestRate, months) * monthlyInterestRate;
+        double numerator = this.getPropertyValue() * Math.pow(1 + monthlyInterestRate, months) * monthlyInterestRate;
         double denominator = Math.pow(1 + monthlyInterestRate, months) - 1;
 
-        return numerator / denominator;
+        double monthlyPayment = numerator / denominator;
+        FinancingMetrics.recordMonthlyPayment(FinancingTypesTranslated.APARTMENT, start);
+        event.commit(FinancingTypesTranslated.APARTMENT, this.getLoanTerm(), this.getPropertyValue());
+        return monthlyPayment;
     }
 
     /**
@@ -90,8 +99,8 @@ public class Apartment extends Financing implements Serializable {
                 CurrencyFormatter.formatToBRL(getPropertyValue()),
                 getLoanTerm(),
                 getInterestRate(),
-                garageSpaces,
-                floorNumber,
+                getGarageSpaces(),
+                getFloorNumber(),
                 CurrencyFormatter.formatToBRL(getMonthlyPayment()),
                 CurrencyFormatter.formatToBRL(getTotalPayment())
         );
@@ -4,6 +4,8 @@ import java.io.*;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import constants.FormattingConstants;
 import util.FinancingTypesTranslated;
@@ -37,6 +39,27 @@ public abstract class Financing implements Serializable {
      */
     public abstract double getMonthlyPayment();
 
+    /**
+     * Calcula o resultado completo do financiamento sem alterar o objeto, enviando eventuais avisos ao destino informado.
+     * Por não ter efeitos colaterais, pode ser chamado concorrentemente, por exemplo em Streams paralelos.
+     *
+     * @param diagnostics O destino dos avisos gerados pelo cálculo.
+     * @return O resultado imutável do cálculo.
+     */
+    public Quote quote(QuoteDiagnostics diagnostics) {
+        double monthlyPayment = this.getMonthlyPayment();
+        return new Quote(monthlyPayment, monthlyPayment * this.getLoanTerm() * 12, 0, false);
+    }
+
+    /**
+     * Calcula o resultado completo do financiamento descartando os avisos.
+     *
+     * @return O resultado imutável do cálculo.
+     */
+    public Quote quote() {
+        return quote(QuoteDiagnostics.NONE);
+    }
+
     /**
      * Getters.
      */
@@ -59,7 +82,20 @@ public abstract class Financing implements Serializable {
      */
     public double getTotalPayment() {
         double monthlyPayment = this.getMonthlyPayment();
-        return monthlyPayment * this.loanTerm * 12;
+        return monthlyPayment * this.getLoanTerm() * 12;
+    }
+
+    /**
+     * Gera a tabela de amortização do financiamento sob demanda, mês a mês, sobre o valor do imóvel,
+     * o prazo e a taxa de juros. As linhas não são armazenadas; o Stream pode ser tornado paralelo
+     * para agregações sobre a tabela.
+     *
+     * @param system O sistema de amortização (PRICE ou SAC).
+     * @return Um Stream sequencial com uma linha por mês.
+     */
+    public Stream<AmortizationRow> getAmortizationSchedule(AmortizationSystem system) {
+        double monthlyInterestRate = this.getInterestRate() / 100 / 12;
+        return StreamSupport.stream(new AmortizationSchedule(system, this.getPropertyValue(), monthlyInterestRate, this.getLoanTerm() * 12), false);
     }
 
     /**
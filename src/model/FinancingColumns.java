@@ -0,0 +1,87 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Representação colunar (estrutura de arrays) de uma carteira de financiamentos,
+ * no formato esperado por {@link PaymentBatch}.
+ */
+public final class FinancingColumns {
+    private final double[] value;
+    private final int[] termYears;
+    private final double[] rate;
+    private final byte[] type;
+
+    /**
+     * Construtor que recebe as colunas já preenchidas. Todos os arrays devem ter o mesmo tamanho.
+     *
+     * @param value     Valor de cada imóvel.
+     * @param termYears Prazo de cada financiamento em anos.
+     * @param rate      Taxa de juros anual de cada financiamento.
+     * @param type      Tipo de cada financiamento.
+     */
+    public FinancingColumns(double[] value, int[] termYears, double[] rate, byte[] type) {
+        if (termYears.length != value.length || rate.length != value.length || type.length != value.length) {
+            throw new IllegalArgumentException("As colunas devem ter o mesmo tamanho.");
+        }
+        this.value = value;
+        this.termYears = termYears;
+        this.rate = rate;
+        this.type = type;
+    }
+
+    /**
+     * Copia os campos de uma lista de financiamentos para colunas primitivas.
+     *
+     * @param financings A lista de financiamentos.
+     * @return As colunas correspondentes.
+     */
+    public static FinancingColumns of(List<? extends Financing> financings) {
+        int size = financings.size();
+        double[] value = new double[size];
+        int[] termYears = new int[size];
+        double[] rate = new double[size];
+        byte[] type = new byte[size];
+        for (int i = 0; i < size; i++) {
+            Financing financing = financings.get(i);
+            value[i] = financing.getPropertyValue();
+            termYears[i] = financing.getLoanTerm();
+            rate[i] = financing.getInterestRate();
+            type[i] = PaymentBatch.typeOf(financing);
+        }
+        return new FinancingColumns(value, termYears, rate, type);
+    }
+
+    /**
+     * Calcula o pagamento mensal e o total de todos os financiamentos das colunas.
+     *
+     * @param monthly Destino dos pagamentos mensais.
+     * @param total   Destino dos pagamentos totais.
+     */
+    public void computePayments(double[] monthly, double[] total) {
+        PaymentBatch.compute(value, termYears, rate, type, monthly, total);
+    }
+
+    public int size() {
+        return value.length;
+    }
+
+    /**
+     * Getters das colunas (os arrays são compartilhados, não copiados).
+     */
+    public double[] getValue() {
+        return value;
+    }
+
+    public int[] getTermYears() {
+        return termYears;
+    }
+
+    public double[] getRate() {
+        return rate;
+    }
+
+    public byte[] getType() {
+        return type;
+    }
+}
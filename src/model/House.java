@@ -2,7 +2,11 @@ package model;
 
 import exceptions.IncreaseGreaterThanInterestException;
 import constants.FormattingConstants;
+import metrics.FinancingMetrics;
+import metrics.HouseIncreaseAdjustmentEvent;
+import metrics.MonthlyPaymentEvent;
 import util.CurrencyFormatter;
+import util.FinancingTypesTranslated;
 
 import java.io.Serializable;
 
@@ -11,8 +15,8 @@ import java.io.Serializable;
  */
 public class House extends Financing implements Serializable {
     private static final long serialVersionUID = 1L;
-    private static final double DEFAULT_INCREASE = 80;
-    private double increase;
+    public static final double DEFAULT_INCREASE = 80;
+    private final double increase;
     private double builtAreaSize;
     private double landSize;
 
@@ -51,8 +55,13 @@ public class House extends Financing implements Serializable {
         this.landSize = landSize;
     }
 
+    /**
+     * Retorna o acréscimo efetivamente aplicado à parcela, já limitado ao valor dos juros.
+     *
+     * @return O acréscimo aplicado.
+     */
     public double getIncrease() {
-        return increase;
+        return quote().increase();
     }
 
     /**
@@ -78,20 +87,48 @@ public class House extends Financing implements Serializable {
      */
     @Override
     public double getMonthlyPayment() {
-        double monthlyInterestRate = super.getInterestRate() / 100 / 12;
-        double baseMonthlyPayment = super.getPropertyValue() / (super.getLoanTerm() * 12);
+        long start = FinancingMetrics.start();
+        MonthlyPaymentEvent event = new MonthlyPaymentEvent().start();
+        Quote quote = quote(QuoteDiagnostics.NONE);
+        double monthlyPayment = quote.monthlyPayment();
+        FinancingMetrics.recordMonthlyPayment(FinancingTypesTranslated.HOUSE, start);
+        if (quote.increaseAdjusted()) {
+            FinancingMetrics.recordHouseIncreaseAdjustment();
+            HouseIncreaseAdjustmentEvent.emit(this.getPropertyValue(), this.getLoanTerm(), this.getInterestRate(),
+                    increase, quote.increase());
+        }
+        event.commit(FinancingTypesTranslated.HOUSE, this.getLoanTerm(), this.getPropertyValue());
+        return monthlyPayment;
+    }
+
+    /**
+     * Calcula o resultado do financiamento sem alterar o acréscimo configurado.
+     * Quando o acréscimo é maior que os juros da parcela, o valor dos juros é aplicado no lugar dele
+     * e os avisos são enviados ao destino informado.
+     *
+     * @param diagnostics O destino dos avisos gerados pelo cálculo.
+     * @return O resultado imutável do cálculo.
+     */
+    @Override
+    public Quote quote(QuoteDiagnostics diagnostics) {
+        double monthlyInterestRate = this.getInterestRate() / 100 / 12;
+        double baseMonthlyPayment = this.getPropertyValue() / (this.getLoanTerm() * 12);
         double monthlyPaymentWithInterest = baseMonthlyPayment * (1 + monthlyInterestRate);
         double monthlyIncrease = monthlyPaymentWithInterest - baseMonthlyPayment;
 
-        try {
-            isValidateIncrease(monthlyIncrease);
-        } catch (IncreaseGreaterThanInterestException e) {
-            System.out.println("ATENÇÃO: " + e.getMessage());
-            increase = monthlyIncrease;
-            System.out.println("O acréscimo foi ajustado para ser igual ao valor dos juros: " + CurrencyFormatter.formatToBRL(monthlyIncrease));
+        boolean increaseAdjusted = increase > monthlyIncrease;
+        double appliedIncrease = increaseAdjusted ? monthlyIncrease : increase;
+        if (increaseAdjusted && diagnostics != QuoteDiagnostics.NONE) {
+            try {
+                isValidateIncrease(monthlyIncrease);
+            } catch (IncreaseGreaterThanInterestException e) {
+                diagnostics.warn("ATENÇÃO: " + e.getMessage());
+                diagnostics.warn("O acréscimo foi ajustado para ser igual ao valor dos juros: " + CurrencyFormatter.formatToBRL(monthlyIncrease));
+            }
         }
 
-        return baseMonthlyPayment + monthlyIncrease + increase;
+        double monthlyPayment = baseMonthlyPayment + monthlyIncrease + appliedIncrease;
+        return new Quote(monthlyPayment, monthlyPayment * this.getLoanTerm() * 12, appliedIncrease, increaseAdjusted);
     }
 
     /**
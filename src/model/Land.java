@@ -1,6 +1,9 @@
 package model;
 import constants.FormattingConstants;
+import metrics.FinancingMetrics;
+import metrics.MonthlyPaymentEvent;
 import util.CurrencyFormatter;
+import util.FinancingTypesTranslated;
 
 import java.io.Serializable;
 
@@ -43,9 +46,14 @@ public class Land extends Financing implements Serializable {
      */
     @Override
     public double getMonthlyPayment() {
+        long start = FinancingMetrics.start();
+        MonthlyPaymentEvent event = new MonthlyPaymentEvent().start();
         double monthlyInterestRate = this.getInterestRate() / 100 / 12;
-        double baseMonthlyPayment = (super.getPropertyValue() / (super.getLoanTerm() * 12)) * (1 + monthlyInterestRate);
-        return baseMonthlyPayment * 1.02;
+        double baseMonthlyPayment = (this.getPropertyValue() / (this.getLoanTerm() * 12)) * (1 + monthlyInterestRate);
+        double monthlyPayment = baseMonthlyPayment * 1.02;
+        FinancingMetrics.recordMonthlyPayment(FinancingTypesTranslated.LAND, start);
+        event.commit(FinancingTypesTranslated.LAND, this.getLoanTerm(), this.getPropertyValue());
+        return monthlyPayment;
     }
 
     /**
@@ -66,12 +74,12 @@ public class Land extends Financing implements Serializable {
                         "Pagamento mensal: %s\n" +
                         "Pagamento total: %s\n" +
                         FormattingConstants.SEPARATOR_LINE + "\n",
-                CurrencyFormatter.formatToBRL(super.getPropertyValue()),
-                super.getLoanTerm(),
-                super.getInterestRate(),
-                this.zoneType,
+                CurrencyFormatter.formatToBRL(this.getPropertyValue()),
+                this.getLoanTerm(),
+                this.getInterestRate(),
+                this.getZoneType(),
                 CurrencyFormatter.formatToBRL(this.getMonthlyPayment()),
-                CurrencyFormatter.formatToBRL(super.getTotalPayment())
+                CurrencyFormatter.formatToBRL(this.getTotalPayment())
         );
     }
 }
\ No newline at end of file
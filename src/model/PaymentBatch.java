@@ -0,0 +1,137 @@
+package model;
+
+import util.FinancingTypesTranslated;
+
+/**
+ * Cálculo em lote dos pagamentos de uma carteira inteira, sobre arrays primitivos (estrutura de arrays).
+ * Reproduz exatamente as fórmulas de {@link House}, {@link Apartment} e {@link Land}, na mesma ordem de operações,
+ * sem chamadas virtuais e sem recalcular o pagamento mensal para obter o total.
+ * <p>
+ * O cálculo de casas e terrenos é feito em um laço sem desvios dependentes de dados (apenas seleções),
+ * que o compilador JIT consegue vetorizar; os apartamentos, que dependem de Math.pow, são calculados em um segundo laço.
+ * Para casas, considera-se o acréscimo fixo padrão de {@link House}.
+ */
+public final class PaymentBatch {
+    public static final byte HOUSE = 0;
+    public static final byte APARTMENT = 1;
+    public static final byte LAND = 2;
+
+    private static final double LAND_INCREASE = 1.02;
+
+    private PaymentBatch() {
+    }
+
+    /**
+     * Calcula o pagamento mensal e o pagamento total de todos os financiamentos informados.
+     *
+     * @param value     Valor de cada imóvel.
+     * @param termYears Prazo de cada financiamento em anos.
+     * @param rate      Taxa de juros anual de cada financiamento.
+     * @param type      Tipo de cada financiamento ({@link #HOUSE}, {@link #APARTMENT} ou {@link #LAND}).
+     * @param monthly   Destino dos pagamentos mensais.
+     * @param total     Destino dos pagamentos totais.
+     */
+    public static void compute(double[] value, int[] termYears, double[] rate, byte[] type, double[] monthly, double[] total) {
+        compute(value, termYears, rate, type, monthly, total, 0, value.length);
+    }
+
+    /**
+     * Calcula o pagamento mensal e o pagamento total dos financiamentos no intervalo [from, to).
+     * Intervalos disjuntos podem ser calculados em paralelo sobre os mesmos arrays.
+     *
+     * @param value     Valor de cada imóvel.
+     * @param termYears Prazo de cada financiamento em anos.
+     * @param rate      Taxa de juros anual de cada financiamento.
+     * @param type      Tipo de cada financiamento.
+     * @param monthly   Destino dos pagamentos mensais.
+     * @param total     Destino dos pagamentos totais.
+     * @param from      Índice inicial (inclusivo).
+     * @param to        Índice final (exclusivo).
+     */
+    public static void compute(double[] value, int[] termYears, double[] rate, byte[] type,
+                               double[] monthly, double[] total, int from, int to) {
+        boolean hasApartments = false;
+        for (int i = from; i < to; i++) {
+            int months = termYears[i] * 12;
+            double monthlyInterestRate = rate[i] / 100 / 12;
+            double baseMonthlyPayment = value[i] / months;
+            double monthlyPaymentWithInterest = baseMonthlyPayment * (1 + monthlyInterestRate);
+            double monthlyIncrease = monthlyPaymentWithInterest - baseMonthlyPayment;
+            double appliedIncrease = House.DEFAULT_INCREASE > monthlyIncrease ? monthlyIncrease : House.DEFAULT_INCREASE;
+
+            double house = baseMonthlyPayment + monthlyIncrease + appliedIncrease;
+            double land = monthlyPaymentWithInterest * LAND_INCREASE;
+            double payment = type[i] == LAND ? land : house;
+
+            monthly[i] = payment;
+            total[i] = payment * termYears[i] * 12;
+            hasApartments |= type[i] == APARTMENT;
+        }
+
+        if (hasApartments) {
+            for (int i = from; i < to; i++) {
+                if (type[i] == APARTMENT) {
+                    double payment = apartmentMonthlyPayment(value[i], termYears[i], rate[i]);
+                    monthly[i] = payment;
+                    total[i] = payment * termYears[i] * 12;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula o pagamento mensal de um financiamento do tipo informado.
+     *
+     * @param type      Tipo do financiamento.
+     * @param value     Valor do imóvel.
+     * @param termYears Prazo em anos.
+     * @param rate      Taxa de juros anual.
+     * @return O pagamento mensal.
+     */
+    public static double monthlyPayment(byte type, double value, int termYears, double rate) {
+        return switch (type) {
+            case HOUSE -> houseMonthlyPayment(value, termYears, rate);
+            case APARTMENT -> apartmentMonthlyPayment(value, termYears, rate);
+            case LAND -> landMonthlyPayment(value, termYears, rate);
+            default -> throw new IllegalArgumentException("Tipo de financiamento desconhecido: " + type);
+        };
+    }
+
+    /**
+     * Fórmula de {@link House#getMonthlyPayment()} com o acréscimo padrão.
+     */
+    public static double houseMonthlyPayment(double value, int termYears, double rate) {
+        double monthlyInterestRate = rate / 100 / 12;
+        double baseMonthlyPayment = value / (termYears * 12);
+        double monthlyIncrease = baseMonthlyPayment * (1 + monthlyInterestRate) - baseMonthlyPayment;
+        double appliedIncrease = House.DEFAULT_INCREASE > monthlyIncrease ? monthlyIncrease : House.DEFAULT_INCREASE;
+        return baseMonthlyPayment + monthlyIncrease + appliedIncrease;
+    }
+
+    /**
+     * Fórmula de {@link Apartment#getMonthlyPayment()} (sistema PRICE), com uma única chamada a Math.pow.
+     */
+    public static double apartmentMonthlyPayment(double value, int termYears, double rate) {
+        double monthlyInterestRate = rate / 100 / 12;
+        double growth = Math.pow(1 + monthlyInterestRate, termYears * 12);
+        return value * growth * monthlyInterestRate / (growth - 1);
+    }
+
+    /**
+     * Fórmula de {@link Land#getMonthlyPayment()}.
+     */
+    public static double landMonthlyPayment(double value, int termYears, double rate) {
+        double monthlyInterestRate = rate / 100 / 12;
+        return (value / (termYears * 12)) * (1 + monthlyInterestRate) * LAND_INCREASE;
+    }
+
+    /**
+     * Retorna o código de tipo usado pelo cálculo em lote para um financiamento.
+     *
+     * @param financing O financiamento.
+     * @return {@link #HOUSE}, {@link #APARTMENT} ou {@link #LAND}.
+     */
+    public static byte typeOf(Financing financing) {
+        return FinancingTypesTranslated.fromFinancing(financing).code();
+    }
+}
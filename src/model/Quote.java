@@ -0,0 +1,12 @@
+package model;
+
+/**
+ * Resultado imutável do cálculo de um financiamento.
+ *
+ * @param monthlyPayment   Pagamento mensal.
+ * @param totalPayment     Pagamento total ao longo do prazo.
+ * @param increase         Acréscimo fixo efetivamente aplicado à parcela (zero para tipos sem acréscimo).
+ * @param increaseAdjusted Indica se o acréscimo precisou ser reduzido ao valor dos juros da parcela.
+ */
+public record Quote(double monthlyPayment, double totalPayment, double increase, boolean increaseAdjusted) {
+}
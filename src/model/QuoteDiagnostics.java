@@ -0,0 +1,28 @@
+package model;
+
+/**
+ * Destino dos avisos gerados durante o cálculo de um financiamento.
+ * Permite que o cálculo permaneça sem efeitos colaterais: quem chama decide se os avisos
+ * são exibidos no console, registrados em log ou descartados.
+ */
+@FunctionalInterface
+public interface QuoteDiagnostics {
+
+    /**
+     * Descarta todos os avisos.
+     */
+    QuoteDiagnostics NONE = message -> {
+    };
+
+    /**
+     * Exibe os avisos no console.
+     */
+    QuoteDiagnostics CONSOLE = System.out::println;
+
+    /**
+     * Recebe um aviso gerado pelo cálculo.
+     *
+     * @param message A mensagem do aviso.
+     */
+    void warn(String message);
+}
@@ -0,0 +1,45 @@
+package portfolio;
+
+/**
+ * Soma compensada (algoritmo de Kahan), que mantém o erro de arredondamento acumulado
+ * em uma parcela de compensação. Aceita subtrações, para totais que também diminuem.
+ */
+public class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    /**
+     * Soma um valor ao total.
+     *
+     * @param value O valor a ser somado.
+     */
+    public void add(double value) {
+        double corrected = value - compensation;
+        double next = sum + corrected;
+        compensation = (next - sum) - corrected;
+        sum = next;
+    }
+
+    /**
+     * Subtrai um valor do total.
+     *
+     * @param value O valor a ser subtraído.
+     */
+    public void subtract(double value) {
+        add(-value);
+    }
+
+    /**
+     * Soma ao total outro acumulador, incluindo sua compensação.
+     *
+     * @param other O outro acumulador.
+     */
+    public void add(CompensatedSum other) {
+        add(other.sum);
+        add(-other.compensation);
+    }
+
+    public double getSum() {
+        return sum;
+    }
+}
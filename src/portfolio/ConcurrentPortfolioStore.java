@@ -0,0 +1,222 @@
+package portfolio;
+
+import model.Financing;
+import util.FinancingCodec;
+import util.FinancingFileHandler;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Carteira de financiamentos que aceita inclusões simultâneas de várias threads sem bloqueio.
+ * <p>
+ * Os financiamentos ficam em blocos de tamanho crescente (32, 64, 128, ...), alocados sob demanda e nunca copiados.
+ * Cada inclusão reserva uma posição com um incremento atômico e grava o financiamento nela, sem esperar as outras
+ * threads. A carteira só é publicada como um prefixo contínuo: uma posição reservada cuja gravação ainda não terminou
+ * interrompe o prefixo visível até ser preenchida.
+ * <p>
+ * Leituras trabalham sobre retratos ({@link #snapshot()}): listas imutáveis com o prefixo publicado no momento da
+ * chamada, que não bloqueiam nem são afetadas pelas inclusões seguintes. Os totais ({@link #aggregate()}) e a
+ * serialização ({@link #serialize(String)}) usam sempre um único retrato, portanto refletem um estado consistente.
+ * A carteira só cresce: não há remoção.
+ */
+public class ConcurrentPortfolioStore implements Iterable<Financing> {
+    private static final int FIRST_BUCKET_BITS = 5;
+    private static final int FIRST_BUCKET_SIZE = 1 << FIRST_BUCKET_BITS;
+    private static final int BUCKETS = Integer.SIZE - FIRST_BUCKET_BITS;
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_BUCKET_SIZE;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Financing[].class);
+
+    private final AtomicReferenceArray<Financing[]> buckets = new AtomicReferenceArray<>(BUCKETS);
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * Construtor de uma carteira vazia.
+     */
+    public ConcurrentPortfolioStore() {
+    }
+
+    /**
+     * Construtor de uma carteira com os financiamentos informados.
+     *
+     * @param financings Os financiamentos iniciais.
+     */
+    public ConcurrentPortfolioStore(Collection<? extends Financing> financings) {
+        addAll(financings);
+    }
+
+    /**
+     * Inclui um financiamento no final da carteira.
+     *
+     * @param financing O financiamento incluído.
+     * @return A posição do financiamento na carteira.
+     */
+    public int add(Financing financing) {
+        if (financing == null) {
+            throw new NullPointerException("O financiamento não pode ser nulo.");
+        }
+        int index = reserved.getAndIncrement();
+        if (index < 0 || index >= MAX_SIZE) {
+            reserved.getAndDecrement();
+            throw new IllegalStateException("A carteira atingiu o tamanho máximo.");
+        }
+        int position = index + FIRST_BUCKET_SIZE;
+        int highBit = 31 - Integer.numberOfLeadingZeros(position);
+        Financing[] bucket = bucket(highBit - FIRST_BUCKET_BITS, 1 << highBit);
+        SLOT.setRelease(bucket, position ^ (1 << highBit), financing);
+        return index;
+    }
+
+    /**
+     * Inclui vários financiamentos no final da carteira.
+     *
+     * @param financings Os financiamentos incluídos.
+     */
+    public void addAll(Collection<? extends Financing> financings) {
+        for (Financing financing : financings) {
+            add(financing);
+        }
+    }
+
+    /**
+     * Retorna a quantidade de financiamentos publicados, isto é, o tamanho do próximo retrato.
+     *
+     * @return A quantidade de financiamentos visíveis.
+     */
+    public int size() {
+        return publish();
+    }
+
+    /**
+     * Retorna um retrato imutável da carteira: todos os financiamentos publicados até o momento, na ordem das reservas.
+     *
+     * @return O retrato da carteira.
+     */
+    public List<Financing> snapshot() {
+        return new Snapshot(buckets, publish());
+    }
+
+    /**
+     * Percorre um retrato da carteira tirado no início da iteração.
+     */
+    @Override
+    public Iterator<Financing> iterator() {
+        return snapshot().iterator();
+    }
+
+    /**
+     * Calcula os totais da carteira sobre um único retrato.
+     *
+     * @return Um agregador com os totais do retrato.
+     */
+    public PortfolioAggregator aggregate() {
+        return PortfolioAggregator.recompute(snapshot());
+    }
+
+    /**
+     * Serializa um retrato da carteira, no mesmo formato de {@link FinancingFileHandler#serializeFinancings}.
+     *
+     * @param fileName O nome do arquivo de destino.
+     * @return A quantidade de financiamentos serializados.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public int serialize(String fileName) throws IOException {
+        return serialize(fileName, FinancingCodec.NO_GENERATION);
+    }
+
+    /**
+     * Serializa um retrato da carteira como snapshot do diário, no formato de
+     * {@link FinancingFileHandler#serializeFinancings(List, String, long)}.
+     *
+     * @param fileName          O nome do arquivo de destino.
+     * @param journalGeneration A geração do diário cujos registros já estão na carteira.
+     * @return A quantidade de financiamentos serializados.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public int serialize(String fileName, long journalGeneration) throws IOException {
+        List<Financing> snapshot = snapshot();
+        FinancingFileHandler.serializeFinancings(snapshot, fileName, journalGeneration);
+        return snapshot.size();
+    }
+
+    /**
+     * Retorna o bloco indicado, alocando-o se ainda não existir. Se duas threads alocarem ao mesmo tempo,
+     * prevalece o primeiro bloco publicado.
+     */
+    private Financing[] bucket(int index, int length) {
+        Financing[] bucket = buckets.get(index);
+        if (bucket == null) {
+            Financing[] allocated = new Financing[length];
+            bucket = buckets.compareAndExchange(index, null, allocated);
+            if (bucket == null) {
+                bucket = allocated;
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Avança o prefixo publicado sobre as posições já preenchidas. Qualquer thread pode avançar o prefixo;
+     * as inclusões nunca esperam por ele.
+     *
+     * @return O tamanho do prefixo publicado.
+     */
+    private int publish() {
+        int current = published.get();
+        int limit = Math.min(reserved.get(), MAX_SIZE);
+        int end = current;
+        while (end < limit && slot(buckets, end) != null) {
+            end++;
+        }
+        while (end > current) {
+            int witness = published.compareAndExchange(current, end);
+            if (witness == current || witness >= end) {
+                return Math.max(witness, end);
+            }
+            current = witness;
+        }
+        return current;
+    }
+
+    private static Financing slot(AtomicReferenceArray<Financing[]> buckets, int index) {
+        int position = index + FIRST_BUCKET_SIZE;
+        int highBit = 31 - Integer.numberOfLeadingZeros(position);
+        Financing[] bucket = buckets.get(highBit - FIRST_BUCKET_BITS);
+        return bucket == null ? null : (Financing) SLOT.getAcquire(bucket, position ^ (1 << highBit));
+    }
+
+    /**
+     * Lista imutável sobre as primeiras posições da carteira, todas já preenchidas.
+     */
+    private static final class Snapshot extends AbstractList<Financing> implements RandomAccess {
+        private final AtomicReferenceArray<Financing[]> buckets;
+        private final int size;
+
+        Snapshot(AtomicReferenceArray<Financing[]> buckets, int size) {
+            this.buckets = buckets;
+            this.size = size;
+        }
+
+        @Override
+        public Financing get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fora do intervalo de 0 a " + (size - 1));
+            }
+            return slot(buckets, index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
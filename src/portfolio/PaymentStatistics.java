@@ -0,0 +1,85 @@
+package portfolio;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estatísticas dos pagamentos mensais de um grupo de financiamentos, mantidas incrementalmente.
+ * Os pagamentos são guardados em um multiconjunto ordenado para que mínimo e máximo continuem corretos após remoções;
+ * os valores de leitura ficam em cache e são obtidos em tempo constante.
+ */
+public class PaymentStatistics {
+    private final TreeMap<Double, Integer> payments = new TreeMap<>();
+    private final CompensatedSum sum = new CompensatedSum();
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Resumo imutável das estatísticas de um grupo.
+     *
+     * @param count Quantidade de financiamentos.
+     * @param min   Menor pagamento mensal (NaN se o grupo estiver vazio).
+     * @param max   Maior pagamento mensal (NaN se o grupo estiver vazio).
+     * @param mean  Pagamento mensal médio (NaN se o grupo estiver vazio).
+     */
+    public record Summary(long count, double min, double max, double mean) {
+    }
+
+    /**
+     * Registra um pagamento mensal no grupo.
+     *
+     * @param monthlyPayment O pagamento mensal.
+     */
+    public void add(double monthlyPayment) {
+        payments.merge(monthlyPayment, 1, Integer::sum);
+        sum.add(monthlyPayment);
+        count++;
+        refreshBounds();
+    }
+
+    /**
+     * Remove um pagamento mensal registrado anteriormente.
+     *
+     * @param monthlyPayment O pagamento mensal.
+     * @return true se o pagamento estava registrado.
+     */
+    public boolean remove(double monthlyPayment) {
+        Integer occurrences = payments.get(monthlyPayment);
+        if (occurrences == null) {
+            return false;
+        }
+        if (occurrences == 1) {
+            payments.remove(monthlyPayment);
+        } else {
+            payments.put(monthlyPayment, occurrences - 1);
+        }
+        sum.subtract(monthlyPayment);
+        count--;
+        refreshBounds();
+        return true;
+    }
+
+    /**
+     * Acrescenta a este grupo todos os pagamentos de outro grupo.
+     *
+     * @param other O outro grupo.
+     */
+    public void merge(PaymentStatistics other) {
+        for (Map.Entry<Double, Integer> entry : other.payments.entrySet()) {
+            payments.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+        sum.add(other.sum);
+        count += other.count;
+        refreshBounds();
+    }
+
+    public Summary getSummary() {
+        return new Summary(count, min, max, count == 0 ? Double.NaN : sum.getSum() / count);
+    }
+
+    private void refreshBounds() {
+        min = payments.isEmpty() ? Double.NaN : payments.firstKey();
+        max = payments.isEmpty() ? Double.NaN : payments.lastKey();
+    }
+}
@@ -0,0 +1,134 @@
+package portfolio;
+
+import model.Financing;
+import model.Land;
+import model.Quote;
+import util.FinancingTypesTranslated;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Totais da carteira de financiamentos mantidos incrementalmente a cada inclusão ou remoção,
+ * em vez de percorrer a lista inteira a cada consulta.
+ * Mantém valor total dos imóveis, valor total financiado, quantidade e estatísticas dos pagamentos mensais
+ * por tipo de financiamento e por tipo de zona dos terrenos. As somas usam compensação de Kahan.
+ * Os métodos são sincronizados, e as leituras custam tempo constante.
+ */
+public class PortfolioAggregator {
+    private final CompensatedSum totalPropertyValue = new CompensatedSum();
+    private final CompensatedSum totalFinancingValue = new CompensatedSum();
+    private final EnumMap<FinancingTypesTranslated, PaymentStatistics> byType = new EnumMap<>(FinancingTypesTranslated.class);
+    private final Map<String, PaymentStatistics> byZoneType = new HashMap<>();
+    private long count;
+
+    /**
+     * Construtor de um agregador vazio.
+     */
+    public PortfolioAggregator() {
+        for (FinancingTypesTranslated type : FinancingTypesTranslated.values()) {
+            byType.put(type, new PaymentStatistics());
+        }
+    }
+
+    /**
+     * Recalcula todos os totais do zero, em paralelo, a partir de uma coleção de financiamentos.
+     * Serve para conferir os totais mantidos incrementalmente.
+     *
+     * @param financings Os financiamentos da carteira.
+     * @return Um novo agregador com os totais da coleção.
+     */
+    public static PortfolioAggregator recompute(Collection<? extends Financing> financings) {
+        return financings.parallelStream().collect(PortfolioAggregator::new, PortfolioAggregator::add, PortfolioAggregator::merge);
+    }
+
+    /**
+     * Inclui um financiamento nos totais.
+     *
+     * @param financing O financiamento incluído.
+     */
+    public synchronized void add(Financing financing) {
+        Quote quote = financing.quote();
+        totalPropertyValue.add(financing.getPropertyValue());
+        totalFinancingValue.add(quote.totalPayment());
+        count++;
+        byType.get(FinancingTypesTranslated.fromFinancing(financing)).add(quote.monthlyPayment());
+        if (financing instanceof Land land) {
+            byZoneType.computeIfAbsent(land.getZoneType(), zone -> new PaymentStatistics()).add(quote.monthlyPayment());
+        }
+    }
+
+    /**
+     * Remove dos totais um financiamento incluído anteriormente.
+     *
+     * @param financing O financiamento removido.
+     * @return true se o financiamento fazia parte dos totais.
+     */
+    public synchronized boolean remove(Financing financing) {
+        Quote quote = financing.quote();
+        if (!byType.get(FinancingTypesTranslated.fromFinancing(financing)).remove(quote.monthlyPayment())) {
+            return false;
+        }
+        totalPropertyValue.subtract(financing.getPropertyValue());
+        totalFinancingValue.subtract(quote.totalPayment());
+        count--;
+        if (financing instanceof Land land) {
+            PaymentStatistics zone = byZoneType.get(land.getZoneType());
+            if (zone != null) {
+                zone.remove(quote.monthlyPayment());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Acrescenta a este agregador os totais de outro agregador.
+     *
+     * @param other O outro agregador.
+     */
+    public synchronized void merge(PortfolioAggregator other) {
+        synchronized (other) {
+            totalPropertyValue.add(other.totalPropertyValue);
+            totalFinancingValue.add(other.totalFinancingValue);
+            count += other.count;
+            other.byType.forEach((type, statistics) -> byType.get(type).merge(statistics));
+            other.byZoneType.forEach((zone, statistics) ->
+                    byZoneType.computeIfAbsent(zone, key -> new PaymentStatistics()).merge(statistics));
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getTotalPropertyValue() {
+        return totalPropertyValue.getSum();
+    }
+
+    public synchronized double getTotalFinancingValue() {
+        return totalFinancingValue.getSum();
+    }
+
+    /**
+     * Retorna as estatísticas dos pagamentos mensais de um tipo de financiamento.
+     *
+     * @param type O tipo de financiamento.
+     * @return O resumo das estatísticas do tipo.
+     */
+    public synchronized PaymentStatistics.Summary getPaymentSummary(FinancingTypesTranslated type) {
+        return byType.get(type).getSummary();
+    }
+
+    /**
+     * Retorna as estatísticas dos pagamentos mensais dos terrenos de um tipo de zona.
+     *
+     * @param zoneType O tipo de zona (por exemplo, residencial ou comercial).
+     * @return O resumo das estatísticas da zona.
+     */
+    public synchronized PaymentStatistics.Summary getZonePaymentSummary(String zoneType) {
+        PaymentStatistics statistics = byZoneType.get(zoneType);
+        return statistics == null ? new PaymentStatistics().getSummary() : statistics.getSummary();
+    }
+}
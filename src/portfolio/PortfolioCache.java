@@ -0,0 +1,247 @@
+package portfolio;
+
+import model.Financing;
+import util.FinancingJournal;
+import util.FinancingReportWriter;
+import util.IncrementalFinancingReader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache da carteira salva em disco, para que listagens repetidas de uma carteira inalterada não releiam os arquivos.
+ * <p>
+ * Cada arquivo é acompanhado por tamanho, data de modificação e hash do conteúdo. A cada consulta, apenas os
+ * metadados são verificados; se só a data mudou, o hash é recalculado e o arquivo só é carregado de novo quando o
+ * conteúdo realmente mudou. O arquivo de texto e os arquivos serializados (snapshot e diário) são verificados separadamente,
+ * portanto só o que mudou é recarregado. Quando só o diário mudou, apenas os registros acrescentados depois da última
+ * leitura são lidos; o snapshot só é desserializado de novo se ele mudar ou se o diário for compactado.
+ * <p>
+ * As listagens são geradas por página, somente quando a página é solicitada, e ficam guardadas até a próxima mudança.
+ */
+public class PortfolioCache {
+    private static final int HASH_BUFFER_SIZE = 1 << 20;
+
+    private final Path textFile;
+    private final IncrementalFinancingReader textReader;
+    private final FinancingJournal journal;
+    private final FileFingerprint textFingerprint;
+    private final FileFingerprint snapshotFingerprint;
+    private final FileFingerprint journalFingerprint;
+    private final FinancingReportWriter reportWriter = new FinancingReportWriter();
+
+    private List<Financing> savedFinancings;
+    private ConcurrentPortfolioStore serializedFinancings;
+    private FinancingJournal.Position journalPosition;
+    private Listing listing;
+
+    /**
+     * Construtor do cache.
+     *
+     * @param textFileName     O nome do arquivo de texto (financings.txt).
+     * @param journal          O diário de financiamentos serializados.
+     * @param journalFileName  O nome do arquivo do diário.
+     * @param snapshotFileName O nome do arquivo de snapshot.
+     */
+    public PortfolioCache(String textFileName, FinancingJournal journal, String journalFileName, String snapshotFileName) {
+        this.textFile = Paths.get(textFileName);
+        this.textReader = new IncrementalFinancingReader(textFileName);
+        this.journal = journal;
+        this.textFingerprint = new FileFingerprint(textFile);
+        this.snapshotFingerprint = new FileFingerprint(Paths.get(snapshotFileName));
+        this.journalFingerprint = new FileFingerprint(Paths.get(journalFileName));
+    }
+
+    /**
+     * Retorna os financiamentos do arquivo de texto, recarregando-o apenas se tiver mudado.
+     *
+     * @return Os financiamentos salvos no arquivo de texto (lista somente leitura).
+     * @throws IOException Se ocorrer um erro de entrada/saída, inclusive se o arquivo não existir.
+     */
+    public synchronized List<Financing> getSavedFinancings() throws IOException {
+        if (!textFingerprint.exists()) {
+            savedFinancings = null;
+            listing = null;
+            throw new NoSuchFileException(textFile.toString());
+        }
+        long previousSize = textFingerprint.size;
+        boolean changed = textFingerprint.refresh();
+        if (savedFinancings == null || changed) {
+            // Se o arquivo cresceu, o leitor confere o CRC de todo o prefixo já lido e interpreta só o final (ou tudo, se
+            // o prefixo mudou); se encolheu ou mudou com o mesmo tamanho, lê tudo de novo.
+            boolean grew = savedFinancings != null && textFingerprint.size > previousSize;
+            savedFinancings = grew ? textReader.reload() : textReader.reloadFully();
+            listing = null;
+        }
+        return savedFinancings;
+    }
+
+    /**
+     * Retorna os financiamentos serializados (snapshot mais diário), recarregando-os apenas se algum dos arquivos mudou.
+     *
+     * @return Os financiamentos serializados (retrato somente leitura, que não muda com as próximas consultas).
+     * @throws IOException            Se ocorrer um erro de entrada/saída.
+     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
+     */
+    public synchronized List<Financing> getSerializedFinancings() throws IOException, ClassNotFoundException {
+        boolean snapshotChanged = snapshotFingerprint.refresh();
+        boolean journalChanged = journalFingerprint.refresh();
+        if (journalChanged && !snapshotChanged && serializedFinancings != null) {
+            try {
+                journalPosition = journal.replaySince(journalPosition, serializedFinancings::add);
+            } catch (IOException | ClassNotFoundException e) {
+                // Parte dos registros novos pode já ter sido acrescentada: a próxima consulta carrega tudo de novo
+                serializedFinancings = null;
+                throw e;
+            }
+        }
+        if (snapshotChanged || serializedFinancings == null || journalPosition == null) {
+            serializedFinancings = null;
+            ConcurrentPortfolioStore financings = new ConcurrentPortfolioStore();
+            journalPosition = journal.load(financings::add);
+            serializedFinancings = financings;
+        }
+        return serializedFinancings.snapshot();
+    }
+
+    /**
+     * Retorna a listagem paginada dos financiamentos do arquivo de texto.
+     * A mesma listagem é reaproveitada enquanto o arquivo e o tamanho da página não mudarem.
+     *
+     * @param pageSize A quantidade de financiamentos por página.
+     * @return A listagem paginada.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public synchronized Listing getListing(int pageSize) throws IOException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("O tamanho da página deve ser positivo.");
+        }
+        List<Financing> financings = getSavedFinancings();
+        if (listing == null || listing.pageSize != pageSize) {
+            listing = new Listing(financings, pageSize);
+        }
+        return listing;
+    }
+
+    /**
+     * Listagem paginada. Cada página é gerada na primeira vez em que é solicitada.
+     */
+    public class Listing {
+        private final List<Financing> financings;
+        private final int pageSize;
+        private final String[] pages;
+
+        private Listing(List<Financing> financings, int pageSize) {
+            this.financings = financings;
+            this.pageSize = pageSize;
+            this.pages = new String[(financings.size() + pageSize - 1) / pageSize];
+        }
+
+        public int getPageCount() {
+            return pages.length;
+        }
+
+        public int getSize() {
+            return financings.size();
+        }
+
+        /**
+         * Retorna o texto de uma página: o bloco de cada financiamento seguido de uma quebra de linha.
+         *
+         * @param page O índice da página, a partir de zero.
+         * @return O texto da página.
+         */
+        public String getPage(int page) {
+            synchronized (PortfolioCache.this) {
+                if (pages[page] == null) {
+                    int from = page * pageSize;
+                    int to = Math.min(from + pageSize, financings.size());
+                    StringBuilder rendered = new StringBuilder((to - from) * 512);
+                    String lineSeparator = System.lineSeparator();
+                    for (int i = from; i < to; i++) {
+                        reportWriter.write(financings.get(i), rendered).append(lineSeparator);
+                    }
+                    pages[page] = rendered.toString();
+                }
+                return pages[page];
+            }
+        }
+    }
+
+    /**
+     * Identificação do estado de um arquivo: tamanho, data de modificação e hash CRC-32C do conteúdo.
+     */
+    private static final class FileFingerprint {
+        private final Path path;
+        private long size = -1;
+        private long lastModified = -1;
+        private long hash;
+        private boolean hashKnown;
+
+        FileFingerprint(Path path) {
+            this.path = path;
+        }
+
+        boolean exists() {
+            return Files.exists(path);
+        }
+
+        /**
+         * Atualiza a identificação do arquivo.
+         * Se o tamanho mudou, o conteúdo certamente mudou e o hash não é calculado; ele só é calculado quando
+         * o tamanho é o mesmo e a data de modificação mudou, para descobrir se o conteúdo de fato mudou.
+         *
+         * @return Se o conteúdo do arquivo mudou desde a última verificação.
+         */
+        boolean refresh() throws IOException {
+            if (!Files.exists(path)) {
+                boolean changed = size != -1;
+                size = -1;
+                lastModified = -1;
+                hashKnown = false;
+                return changed;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long currentSize = attributes.size();
+            long currentLastModified = attributes.lastModifiedTime().toMillis();
+            if (currentSize == size && currentLastModified == lastModified) {
+                return false;
+            }
+            boolean changed;
+            if (currentSize != size) {
+                changed = true;
+                hashKnown = false;
+            } else {
+                long currentHash = hash(path);
+                changed = !hashKnown || currentHash != hash;
+                hash = currentHash;
+                hashKnown = true;
+            }
+            size = currentSize;
+            lastModified = currentLastModified;
+            return changed;
+        }
+
+        private static long hash(Path path) throws IOException {
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    crc.update(buffer);
+                    buffer.clear();
+                }
+            }
+            return crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package portfolio;
+
+import model.Apartment;
+import model.Financing;
+import model.FinancingColumns;
+import model.Land;
+import util.FinancingTypesTranslated;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índices secundários em memória sobre uma lista de financiamentos, para consultas filtradas como
+ * "apartamentos acima do 10º andar com valor entre R$ 400.000,00 e R$ 800.000,00".
+ * <p>
+ * Valor do imóvel, prazo, taxa de juros e pagamento mensal têm índices ordenados em arrays primitivos,
+ * e cada intervalo é localizado por busca binária. Valores não finitos (como o pagamento de um apartamento com taxa zero)
+ * ficam fora dos índices ordenados e nunca correspondem a um filtro de intervalo. Tipo de financiamento, tipo de zona dos terrenos,
+ * vagas de garagem e andar dos apartamentos têm índices de bitmap ({@link BitSet}) por valor.
+ * Os filtros de uma consulta são combinados pela interseção dos bitmaps; quando os candidatos restantes são
+ * menos numerosos que o intervalo de um índice ordenado, o filtro é aplicado diretamente sobre os candidatos.
+ * <p>
+ * O índice é um retrato imutável da lista no momento da construção e pode ser consultado por várias threads.
+ */
+public class PortfolioIndex {
+    private final List<Financing> financings;
+    private final SortedColumn propertyValue;
+    private final SortedColumn loanTerm;
+    private final SortedColumn interestRate;
+    private final SortedColumn monthlyPayment;
+    private final EnumMap<FinancingTypesTranslated, BitSet> byType = new EnumMap<>(FinancingTypesTranslated.class);
+    private final Map<String, BitSet> byZoneType = new HashMap<>();
+    private final NavigableMap<Integer, BitSet> byGarageSpaces = new TreeMap<>();
+    private final NavigableMap<Integer, BitSet> byFloorNumber = new TreeMap<>();
+
+    /**
+     * Construtor que indexa todos os financiamentos da lista.
+     *
+     * @param financings A lista de financiamentos.
+     */
+    public PortfolioIndex(List<? extends Financing> financings) {
+        this.financings = List.copyOf(financings);
+        int size = this.financings.size();
+
+        FinancingColumns columns = FinancingColumns.of(this.financings);
+        double[] monthly = new double[size];
+        columns.computePayments(monthly, new double[size]);
+        double[] terms = new double[size];
+        int[] termYears = columns.getTermYears();
+        for (int i = 0; i < size; i++) {
+            terms[i] = termYears[i];
+        }
+        this.propertyValue = new SortedColumn(columns.getValue().clone());
+        this.loanTerm = new SortedColumn(terms);
+        this.interestRate = new SortedColumn(columns.getRate().clone());
+        this.monthlyPayment = new SortedColumn(monthly);
+
+        for (FinancingTypesTranslated type : FinancingTypesTranslated.values()) {
+            byType.put(type, new BitSet(size));
+        }
+        for (int row = 0; row < size; row++) {
+            Financing financing = this.financings.get(row);
+            byType.get(FinancingTypesTranslated.fromFinancing(financing)).set(row);
+            if (financing instanceof Land land) {
+                byZoneType.computeIfAbsent(normalizeZoneType(land.getZoneType()), zone -> new BitSet()).set(row);
+            } else if (financing instanceof Apartment apartment) {
+                byGarageSpaces.computeIfAbsent(apartment.getGarageSpaces(), spaces -> new BitSet()).set(row);
+                byFloorNumber.computeIfAbsent(apartment.getFloorNumber(), floor -> new BitSet()).set(row);
+            }
+        }
+    }
+
+    /**
+     * Inicia uma consulta sem filtros, que corresponde a todos os financiamentos.
+     *
+     * @return A consulta.
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    public int size() {
+        return financings.size();
+    }
+
+    /**
+     * Normaliza o tipo de zona para a chave do índice. Terrenos sem tipo de zona ficam na chave nula.
+     */
+    private static String normalizeZoneType(String zoneType) {
+        return zoneType == null ? null : zoneType.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Consulta com filtros combinados por "e". Os intervalos são fechados nos dois extremos.
+     */
+    public class Query {
+        private final List<BitSet> bitmaps = new ArrayList<>();
+        private final List<RangeFilter> ranges = new ArrayList<>();
+        private boolean empty;
+
+        private Query() {
+        }
+
+        /**
+         * Filtra pelo tipo de financiamento.
+         *
+         * @param type O tipo de financiamento.
+         * @return Esta consulta.
+         */
+        public Query type(FinancingTypesTranslated type) {
+            bitmaps.add(byType.get(type));
+            return this;
+        }
+
+        /**
+         * Filtra terrenos pelo tipo de zona, sem diferenciar maiúsculas e minúsculas.
+         * Com {@code null}, seleciona os terrenos sem tipo de zona.
+         *
+         * @param zoneType O tipo de zona, ou {@code null}.
+         * @return Esta consulta.
+         */
+        public Query zoneType(String zoneType) {
+            return bitmap(byZoneType.get(normalizeZoneType(zoneType)));
+        }
+
+        /**
+         * Filtra apartamentos pela quantidade de vagas de garagem.
+         *
+         * @param min Quantidade mínima.
+         * @param max Quantidade máxima.
+         * @return Esta consulta.
+         */
+        public Query garageSpacesBetween(int min, int max) {
+            return bitmap(union(byGarageSpaces, min, max));
+        }
+
+        /**
+         * Filtra apartamentos pelo andar.
+         *
+         * @param min Andar mínimo.
+         * @param max Andar máximo.
+         * @return Esta consulta.
+         */
+        public Query floorNumberBetween(int min, int max) {
+            return bitmap(union(byFloorNumber, min, max));
+        }
+
+        /**
+         * Filtra pelo valor do imóvel.
+         *
+         * @param min Valor mínimo.
+         * @param max Valor máximo.
+         * @return Esta consulta.
+         */
+        public Query propertyValueBetween(double min, double max) {
+            return range(propertyValue, min, max);
+        }
+
+        /**
+         * Filtra pelo prazo do financiamento em anos.
+         *
+         * @param min Prazo mínimo.
+         * @param max Prazo máximo.
+         * @return Esta consulta.
+         */
+        public Query loanTermBetween(int min, int max) {
+            return range(loanTerm, min, max);
+        }
+
+        /**
+         * Filtra pela taxa de juros anual.
+         *
+         * @param min Taxa mínima.
+         * @param max Taxa máxima.
+         * @return Esta consulta.
+         */
+        public Query interestRateBetween(double min, double max) {
+            return range(interestRate, min, max);
+        }
+
+        /**
+         * Filtra pelo pagamento mensal.
+         *
+         * @param min Pagamento mínimo.
+         * @param max Pagamento máximo.
+         * @return Esta consulta.
+         */
+        public Query monthlyPaymentBetween(double min, double max) {
+            return range(monthlyPayment, min, max);
+        }
+
+        /**
+         * Executa a consulta e retorna as posições dos financiamentos encontrados na lista original.
+         *
+         * @return As posições encontradas.
+         */
+        public BitSet rows() {
+            if (empty) {
+                return new BitSet();
+            }
+            BitSet result = null;
+            for (BitSet bitmap : bitmaps) {
+                if (result == null) {
+                    result = (BitSet) bitmap.clone();
+                } else {
+                    result.and(bitmap);
+                }
+            }
+            // Os intervalos menores são aplicados primeiro, para reduzir os candidatos o quanto antes.
+            ranges.sort((a, b) -> Integer.compare(a.to - a.from, b.to - b.from));
+            for (RangeFilter range : ranges) {
+                if (result == null) {
+                    result = range.column.rows(range.from, range.to);
+                } else if (result.cardinality() < range.to - range.from) {
+                    range.column.retain(result, range.min, range.max);
+                } else {
+                    result.and(range.column.rows(range.from, range.to));
+                }
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+            if (result == null) {
+                result = new BitSet(financings.size());
+                result.set(0, financings.size());
+            }
+            return result;
+        }
+
+        /**
+         * Executa a consulta e retorna os financiamentos encontrados, na ordem da lista original.
+         *
+         * @return Os financiamentos encontrados.
+         */
+        public List<Financing> list() {
+            BitSet rows = rows();
+            List<Financing> result = new ArrayList<>(rows.cardinality());
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                result.add(financings.get(row));
+            }
+            return result;
+        }
+
+        /**
+         * Executa a consulta e retorna a quantidade de financiamentos encontrados.
+         *
+         * @return A quantidade encontrada.
+         */
+        public int count() {
+            return rows().cardinality();
+        }
+
+        private Query bitmap(BitSet bitmap) {
+            if (bitmap == null || bitmap.isEmpty()) {
+                empty = true;
+            } else {
+                bitmaps.add(bitmap);
+            }
+            return this;
+        }
+
+        private Query range(SortedColumn column, double min, double max) {
+            int from = column.lowerBound(min);
+            int to = column.upperBound(max);
+            if (from >= to) {
+                empty = true;
+            } else {
+                ranges.add(new RangeFilter(column, min, max, from, to));
+            }
+            return this;
+        }
+
+        private BitSet union(NavigableMap<Integer, BitSet> index, int min, int max) {
+            if (min > max) {
+                return null;
+            }
+            BitSet result = new BitSet();
+            for (BitSet bitmap : index.subMap(min, true, max, true).values()) {
+                result.or(bitmap);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Intervalo já localizado em um índice ordenado.
+     */
+    private record RangeFilter(SortedColumn column, double min, double max, int from, int to) {
+    }
+
+    /**
+     * Índice ordenado de um atributo numérico: os valores finitos em ordem crescente, a posição de origem de cada um
+     * e os valores na ordem original, para filtrar candidatos sem percorrer o índice.
+     */
+    private static final class SortedColumn {
+        private static final int INSERTION_SORT_THRESHOLD = 24;
+
+        private final double[] byRow;
+        private final double[] keys;
+        private final int[] rows;
+
+        SortedColumn(double[] byRow) {
+            this.byRow = byRow;
+            int finite = 0;
+            for (double value : byRow) {
+                if (Double.isFinite(value)) {
+                    finite++;
+                }
+            }
+            // NaN quebra as comparações do quicksort e da busca binária, por isso só os valores finitos são ordenados.
+            this.keys = new double[finite];
+            this.rows = new int[finite];
+            for (int row = 0, i = 0; row < byRow.length; row++) {
+                if (Double.isFinite(byRow[row])) {
+                    keys[i] = byRow[row];
+                    rows[i++] = row;
+                }
+            }
+            sort(0, keys.length - 1);
+        }
+
+        /**
+         * Primeira posição com valor maior ou igual a {@code min}.
+         */
+        int lowerBound(double min) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle] < min) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Primeira posição com valor maior que {@code max}.
+         */
+        int upperBound(double max) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle] <= max) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        BitSet rows(int from, int to) {
+            BitSet result = new BitSet(byRow.length);
+            for (int i = from; i < to; i++) {
+                result.set(rows[i]);
+            }
+            return result;
+        }
+
+        void retain(BitSet candidates, double min, double max) {
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                double value = byRow[row];
+                if (!Double.isFinite(value) || value < min || value > max) {
+                    candidates.clear(row);
+                }
+            }
+        }
+
+        /**
+         * Quicksort das chaves, movendo as posições de origem junto com elas.
+         */
+        private void sort(int low, int high) {
+            while (high - low > INSERTION_SORT_THRESHOLD) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle] < keys[low]) {
+                    swap(middle, low);
+                }
+                if (keys[high] < keys[low]) {
+                    swap(high, low);
+                }
+                if (keys[high] < keys[middle]) {
+                    swap(high, middle);
+                }
+                double pivot = keys[middle];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (keys[i] < pivot) {
+                        i++;
+                    }
+                    while (keys[j] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(i++, j--);
+                    }
+                }
+                // Ordena recursivamente a parte menor, limitando a profundidade da pilha.
+                if (j - low < high - i) {
+                    sort(low, j);
+                    low = i;
+                } else {
+                    sort(i, high);
+                    high = j;
+                }
+            }
+            for (int i = low + 1; i <= high; i++) {
+                double key = keys[i];
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= low && keys[j] > key) {
+                    keys[j + 1] = keys[j];
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+                rows[j + 1] = row;
+            }
+        }
+
+        private void swap(int i, int j) {
+            double key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            int row = rows[i];
+            rows[i] = rows[j];
+            rows[j] = row;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package service;
+
+import factory.FinancingFactory;
+import factory.QuoteRequest;
+import util.FinancingReportWriter;
+import util.QuoteRequestParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cotação em lote, sem interação com o usuário, a partir de um arquivo CSV ou JSONL de pedidos.
+ * <p>
+ * O processamento é um pipeline limitado em três etapas: uma thread lê as linhas em lotes,
+ * várias threads convertem e calculam cada lote, e uma única thread grava os blocos de relatório na ordem da entrada.
+ * O número de lotes em andamento é limitado, portanto o uso de memória não depende do tamanho do arquivo.
+ * <p>
+ * No CSV, a primeira linha é o cabeçalho com os nomes dos campos de {@link QuoteRequest}
+ * (type, propertyValue, loanTerm, interestRate, builtAreaSize, landSize, garageSpaces, floorNumber, zoneType);
+ * no JSONL, cada linha é um objeto com esses mesmos campos.
+ * O arquivo de saída usa o formato de financings.txt.
+ */
+public class BulkQuotation {
+    private static final int BATCH_SIZE = 512;
+    private static final int BATCHES_PER_WORKER = 4;
+
+    private final int workers;
+    private final FinancingReportWriter reportWriter = new FinancingReportWriter();
+
+    /**
+     * Resultado do processamento em lote.
+     *
+     * @param quoted   Quantidade de pedidos cotados.
+     * @param rejected Quantidade de linhas rejeitadas por erro de conversão ou validação.
+     */
+    public record Result(long quoted, long rejected) {
+    }
+
+    /**
+     * Construtor que usa uma thread de cálculo por processador disponível.
+     */
+    public BulkQuotation() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construtor com a quantidade de threads de cálculo.
+     *
+     * @param workers A quantidade de threads de cálculo.
+     */
+    public BulkQuotation(int workers) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("A quantidade de threads deve ser positiva.");
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * Cota todos os pedidos do arquivo de entrada e grava os blocos de relatório no arquivo de saída.
+     * O formato da entrada é definido pela extensão: .csv para CSV, qualquer outra para JSONL.
+     *
+     * @param input  O arquivo de pedidos.
+     * @param output O arquivo de saída.
+     * @return A quantidade de pedidos cotados e de linhas rejeitadas.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public Result run(Path input, Path output) throws IOException {
+        boolean csv = input.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+        Charset charset = Charset.defaultCharset();
+        BlockingQueue<Batch> pending = new ArrayBlockingQueue<>(workers * BATCHES_PER_WORKER);
+        Semaphore inFlight = new Semaphore(workers * BATCHES_PER_WORKER * 2);
+        OrderedWriter writer = new OrderedWriter(inFlight);
+        AtomicLong quoted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers + 1);
+        try (BufferedReader reader = Files.newBufferedReader(input, charset);
+             BufferedWriter out = Files.newBufferedWriter(output, charset)) {
+            Future<?> writing = executor.submit(() -> writer.drain(out));
+            List<Future<?>> stages = new ArrayList<>();
+            stages.add(writing);
+            for (int i = 0; i < workers; i++) {
+                stages.add(executor.submit(() -> compute(pending, writer, quoted, rejected)));
+            }
+
+            readBatches(reader, csv, pending, inFlight, stages);
+            for (int i = 0; i < workers; i++) {
+                enqueue(pending, Batch.END, stages);
+            }
+            for (Future<?> stage : stages.subList(1, stages.size())) {
+                stage.get();
+            }
+            writer.finish();
+            writing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Cotação em lote interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            throw new IOException("Erro na cotação em lote.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Result(quoted.get(), rejected.get());
+    }
+
+    /**
+     * Etapa de leitura: agrupa as linhas em lotes numerados e os entrega às threads de cálculo.
+     */
+    private void readBatches(BufferedReader reader, boolean csv, BlockingQueue<Batch> pending, Semaphore inFlight,
+                             List<Future<?>> stages) throws IOException, InterruptedException, ExecutionException {
+        String[] header = null;
+        if (csv) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                return;
+            }
+            header = QuoteRequestParser.splitCsv(headerLine);
+        }
+
+        long sequence = 0;
+        long lineNumber = csv ? 1 : 0;
+        List<String> lines = new ArrayList<>(BATCH_SIZE);
+        long firstLine = lineNumber + 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            lines.add(line);
+            if (lines.size() == BATCH_SIZE) {
+                acquire(inFlight, stages);
+                enqueue(pending, new Batch(sequence++, firstLine, header, lines), stages);
+                lines = new ArrayList<>(BATCH_SIZE);
+                firstLine = lineNumber + 1;
+            }
+        }
+        if (!lines.isEmpty()) {
+            acquire(inFlight, stages);
+            enqueue(pending, new Batch(sequence, firstLine, header, lines), stages);
+        }
+    }
+
+    /**
+     * Aguarda uma vaga de lote em andamento, interrompendo a leitura se alguma etapa tiver falhado.
+     */
+    private static void acquire(Semaphore inFlight, List<Future<?>> stages) throws InterruptedException, ExecutionException {
+        while (!inFlight.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+            checkStages(stages);
+        }
+    }
+
+    /**
+     * Entrega um lote às threads de cálculo, interrompendo a leitura se alguma etapa tiver falhado.
+     */
+    private static void enqueue(BlockingQueue<Batch> pending, Batch batch, List<Future<?>> stages)
+            throws InterruptedException, ExecutionException {
+        while (!pending.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            checkStages(stages);
+        }
+    }
+
+    private static void checkStages(List<Future<?>> stages) throws InterruptedException, ExecutionException {
+        for (Future<?> stage : stages) {
+            if (stage.isDone()) {
+                stage.get();
+                throw new ExecutionException(new IllegalStateException("Etapa da cotação em lote encerrada antes do fim da leitura."));
+            }
+        }
+    }
+
+    /**
+     * Etapa de cálculo: converte cada linha em financiamento e gera o bloco de relatório.
+     */
+    private void compute(BlockingQueue<Batch> pending, OrderedWriter writer, AtomicLong quoted, AtomicLong rejected) {
+        try {
+            while (true) {
+                Batch batch = pending.take();
+                if (batch == Batch.END) {
+                    return;
+                }
+                StringBuilder rendered = new StringBuilder(batch.lines.size() * 512);
+                String lineSeparator = System.lineSeparator();
+                for (int i = 0; i < batch.lines.size(); i++) {
+                    String line = batch.lines.get(i);
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        Map<String, String> fields = batch.header != null
+                                ? QuoteRequestParser.parseCsv(batch.header, line)
+                                : QuoteRequestParser.parseJsonObject(line);
+                        reportWriter.write(FinancingFactory.createFinancing(QuoteRequest.fromFields(fields)), rendered)
+                                .append(lineSeparator);
+                        quoted.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                        System.err.println("Linha " + (batch.firstLine + i) + " ignorada: " + e.getMessage());
+                    }
+                }
+                writer.submit(batch.sequence, rendered);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lote de linhas da entrada.
+     */
+    private record Batch(long sequence, long firstLine, String[] header, List<String> lines) {
+        static final Batch END = new Batch(-1, -1, null, List.of());
+    }
+
+    /**
+     * Etapa de gravação: recebe os lotes calculados fora de ordem e os grava na ordem da entrada.
+     */
+    private static class OrderedWriter {
+        private final Map<Long, CharSequence> ready = new HashMap<>();
+        private final Semaphore inFlight;
+        private long nextSequence;
+        private boolean finished;
+
+        OrderedWriter(Semaphore inFlight) {
+            this.inFlight = inFlight;
+        }
+
+        synchronized void submit(long sequence, CharSequence rendered) {
+            ready.put(sequence, rendered);
+            notifyAll();
+        }
+
+        synchronized void finish() {
+            finished = true;
+            notifyAll();
+        }
+
+        void drain(BufferedWriter out) {
+            try {
+                while (true) {
+                    CharSequence rendered;
+                    synchronized (this) {
+                        while (!ready.containsKey(nextSequence) && !(finished && ready.isEmpty())) {
+                            wait();
+                        }
+                        rendered = ready.remove(nextSequence);
+                        if (rendered == null) {
+                            break;
+                        }
+                        nextSequence++;
+                    }
+                    out.append(rendered);
+                    inFlight.release();
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
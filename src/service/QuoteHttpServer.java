@@ -0,0 +1,209 @@
+package service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import factory.QuoteCache;
+import factory.QuoteRequest;
+import model.Quote;
+import util.QuoteRequestParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço HTTP local de cotação de financiamentos, baseado no servidor embutido do JDK.
+ * <ul>
+ *     <li>{@code POST /quote}: corpo com um objeto JSON com os campos de {@link QuoteRequest};</li>
+ *     <li>{@code POST /quote/batch}: corpo JSONL, com um objeto por linha.</li>
+ * </ul>
+ * Cada cotação responde com o pagamento mensal, o pagamento total e o bloco de relatório.
+ * Pedidos repetidos são atendidos por um {@link QuoteCache}.
+ * Cada requisição é atendida em uma thread virtual quando a JVM oferece esse recurso (Java 21 ou superior);
+ * nas versões anteriores, usa um pool de threads sob demanda.
+ */
+public class QuoteHttpServer {
+    private static final int MAX_BODY_SIZE = 64 * 1024 * 1024;
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    private static final Duration DEFAULT_CACHE_TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final QuoteCache quoteCache;
+
+    /**
+     * Liga o TCP_NODELAY do servidor HTTP embutido, se ainda não tiver sido configurado na linha de comando
+     * ({@code -Dsun.net.httpserver.nodelay=true}). Sem ele, o algoritmo de Nagle somado ao ACK atrasado do cliente
+     * segura cada resposta por dezenas de ms.
+     * <p>
+     * A propriedade vale para a JVM inteira e só é lida quando o primeiro servidor é criado, portanto este método
+     * deve ser chamado pelo ponto de entrada do processo, antes de qualquer servidor.
+     */
+    public static void enableTcpNoDelay() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * Construtor que associa o serviço a uma porta local, com um cache de até 10.000 cotações por 10 minutos.
+     *
+     * @param port A porta TCP (0 para escolher uma porta livre).
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public QuoteHttpServer(int port) throws IOException {
+        this(port, new QuoteCache(DEFAULT_CACHE_SIZE, DEFAULT_CACHE_TIME_TO_LIVE));
+    }
+
+    /**
+     * Construtor que associa o serviço a uma porta local, usando o cache de cotações informado.
+     *
+     * @param port       A porta TCP (0 para escolher uma porta livre).
+     * @param quoteCache O cache de cotações.
+     * @throws IOException Se não for possível abrir a porta.
+     */
+    public QuoteHttpServer(int port, QuoteCache quoteCache) throws IOException {
+        this.quoteCache = quoteCache;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/quote", this::handle);
+    }
+
+    /**
+     * Inicia o atendimento das requisições.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Encerra o serviço, aguardando no máximo o tempo informado pelas requisições em andamento.
+     *
+     * @param delaySeconds Tempo máximo de espera em segundos.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * Retorna a porta em que o serviço está atendendo.
+     *
+     * @return A porta TCP.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Retorna o cache de cotações, para consulta das estatísticas.
+     *
+     * @return O cache de cotações.
+     */
+    public QuoteCache getQuoteCache() {
+        return quoteCache;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                send(exchange, 405, error("Use o método POST."));
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String response;
+            try {
+                String body = readBody(exchange);
+                response = switch (path) {
+                    case "/quote" -> quote(body);
+                    case "/quote/batch" -> quoteBatch(body);
+                    default -> null;
+                };
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error(e.getMessage()));
+                return;
+            }
+            if (response == null) {
+                send(exchange, 404, error("Caminho desconhecido: " + path));
+            } else {
+                send(exchange, 200, response);
+            }
+        }
+    }
+
+    /**
+     * Cota um único pedido e gera o objeto JSON de resposta.
+     * Valores que estouram o intervalo de double (Infinity) ou indefinidos (NaN) não são JSON válido: o
+     * {@link QuoteCache} os rejeita antes de guardá-los, e a requisição recebe o status 400.
+     */
+    private String quote(String json) {
+        QuoteCache.CachedQuote cached = quoteCache.get(QuoteRequest.fromFields(QuoteRequestParser.parseJsonObject(json)));
+        Quote quote = cached.quote();
+        return "{\"monthlyPayment\":" + quote.monthlyPayment()
+                + ",\"totalPayment\":" + quote.totalPayment()
+                + ",\"report\":\"" + QuoteRequestParser.escapeJson(cached.report()) + "\"}";
+    }
+
+    /**
+     * Cota cada linha do corpo JSONL; linhas inválidas geram um objeto de erro na posição correspondente.
+     */
+    private String quoteBatch(String jsonLines) {
+        StringBuilder response = new StringBuilder(jsonLines.length() * 4).append('[');
+        boolean first = true;
+        for (String line : jsonLines.split("\n")) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!first) {
+                response.append(',');
+            }
+            first = false;
+            try {
+                response.append(quote(line));
+            } catch (IllegalArgumentException e) {
+                response.append(error(e.getMessage()));
+            }
+        }
+        return response.append(']').toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":\"" + QuoteRequestParser.escapeJson(String.valueOf(message)) + "\"}";
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readNBytes(MAX_BODY_SIZE + 1);
+            if (bytes.length > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException("Corpo da requisição muito grande.");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Cria o executor de requisições: uma thread virtual por requisição, quando disponível.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gerador de carga local para o {@link QuoteHttpServer}.
+ * Sobe o serviço em uma porta livre (ou usa um endereço informado), dispara cotações a partir de várias threads
+ * durante o tempo configurado e informa requisições por segundo e as latências p50 e p99.
+ * <p>
+ * Uso: {@code QuoteLoadGenerator [threads] [segundos] [url]}.
+ */
+public class QuoteLoadGenerator {
+    private static final int WARMUP_SECONDS = 2;
+
+    /**
+     * Resultado de uma execução do gerador de carga.
+     *
+     * @param requests          Quantidade de requisições concluídas.
+     * @param errors            Quantidade de respostas com status diferente de 200.
+     * @param requestsPerSecond Vazão medida.
+     * @param p50Micros         Latência mediana em microssegundos.
+     * @param p99Micros         Percentil 99 da latência em microssegundos.
+     */
+    public record Report(long requests, long errors, double requestsPerSecond, long p50Micros, long p99Micros) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 4;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        QuoteHttpServer server = null;
+        URI uri;
+        if (args.length > 2) {
+            uri = URI.create(args[2]);
+        } else {
+            QuoteHttpServer.enableTcpNoDelay();
+            server = new QuoteHttpServer(0);
+            server.start();
+            uri = URI.create("http://localhost:" + server.getPort() + "/quote");
+        }
+
+        try {
+            run(uri, threads, WARMUP_SECONDS);
+            Report report = run(uri, threads, seconds);
+            System.out.printf("Requisições: %d (erros: %d)%n", report.requests(), report.errors());
+            System.out.printf("Vazão: %.1f requisições/s%n", report.requestsPerSecond());
+            System.out.printf("Latência p50: %d µs, p99: %d µs%n", report.p50Micros(), report.p99Micros());
+            if (server != null) {
+                System.out.printf("Acertos do cache de cotações: %.1f%%%n", server.getQuoteCache().stats().hitRate() * 100);
+            }
+        } finally {
+            if (server != null) {
+                server.stop(0);
+            }
+        }
+    }
+
+    /**
+     * Dispara cotações contra o endereço informado durante o tempo configurado.
+     *
+     * @param uri     O endereço do serviço de cotação.
+     * @param threads A quantidade de clientes simultâneos.
+     * @param seconds A duração da medição em segundos.
+     * @return As métricas de vazão e latência.
+     * @throws Exception Se uma das threads de carga falhar.
+     */
+    public static Report run(URI uri, int threads, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            Worker[] workers = new Worker[threads];
+            for (int i = 0; i < threads; i++) {
+                workers[i] = new Worker(client, uri, deadline, i);
+                futures[i] = executor.submit(workers[i]::call);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            long requests = 0;
+            long errors = 0;
+            for (Worker worker : workers) {
+                requests += worker.count;
+                errors += worker.errors;
+            }
+            long[] latencies = new long[(int) requests];
+            int offset = 0;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                offset += worker.count;
+            }
+            Arrays.sort(latencies);
+            return new Report(requests, errors, requests / elapsedSeconds,
+                    percentile(latencies, 0.50) / 1000, percentile(latencies, 0.99) / 1000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    /**
+     * Cliente de carga que registra a latência de cada requisição.
+     */
+    private static class Worker {
+        private final HttpClient client;
+        private final URI uri;
+        private final long deadline;
+        private final SplittableRandom random;
+        private long[] latencies = new long[4096];
+        private int count;
+        private long errors;
+
+        Worker(HttpClient client, URI uri, long deadline, long seed) {
+            this.client = client;
+            this.uri = uri;
+            this.deadline = deadline;
+            this.random = new SplittableRandom(seed);
+        }
+
+        Void call() throws IOException, InterruptedException {
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .POST(HttpRequest.BodyPublishers.ofString(nextRequestBody()))
+                        .build();
+                long begin = System.nanoTime();
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                long latency = System.nanoTime() - begin;
+                if (response.statusCode() != 200) {
+                    errors++;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = latency;
+            }
+            return null;
+        }
+
+        private String nextRequestBody() {
+            double value = 100_000 + random.nextInt(1_900_000);
+            int term = 1 + random.nextInt(35);
+            double rate = 1 + random.nextInt(1900) / 100.0;
+            return switch (random.nextInt(3)) {
+                case 0 -> "{\"type\":\"casa\",\"propertyValue\":" + value + ",\"loanTerm\":" + term
+                        + ",\"interestRate\":" + rate + ",\"builtAreaSize\":200,\"landSize\":400}";
+                case 1 -> "{\"type\":\"apartamento\",\"propertyValue\":" + value + ",\"loanTerm\":" + term
+                        + ",\"interestRate\":" + rate + ",\"garageSpaces\":2,\"floorNumber\":10}";
+                default -> "{\"type\":\"terreno\",\"propertyValue\":" + value + ",\"loanTerm\":" + term
+                        + ",\"interestRate\":" + rate + ",\"zoneType\":\"comercial\"}";
+            };
+        }
+    }
+}
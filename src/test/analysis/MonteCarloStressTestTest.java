@@ -0,0 +1,78 @@
+package analysis;
+
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+import org.junit.jupiter.api.Test;
+import util.FinancingTypesTranslated;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Testes de {@link MonteCarloStressTest} com contratos que vencem antes do fim do horizonte.
+ */
+class MonteCarloStressTestTest {
+    private static final int HORIZON = 15;
+
+    private final List<Financing> financings = portfolio();
+
+    @Test
+    void baselineStopsAtEachContractMaturity() {
+        StressResult result = MonteCarloStressTest.of(financings)
+                .run(new MonteCarloStressTest.Parameters(1, HORIZON, 0, 0, 1));
+
+        double expected = 0;
+        for (Financing financing : financings) {
+            expected += financing.getMonthlyPayment() * 12 * Math.min(HORIZON, financing.getLoanTerm());
+        }
+        assertEquals(expected, result.getBaselinePayment(), Math.abs(expected) * 1e-12);
+        assertEquals(0, result.getMeanChange());
+    }
+
+    @Test
+    void maturedContractsDropOutOfTheRepricing() {
+        // Sem volatilidade, a trajetória é determinística: o deslocamento do ano y é a deriva vezes y + 1
+        double drift = 0.5;
+        StressResult result = MonteCarloStressTest.of(financings)
+                .run(new MonteCarloStressTest.Parameters(1, HORIZON, drift, 0, 1));
+
+        double expected = 0;
+        for (Financing financing : financings) {
+            RateScenarioEngine engine = RateScenarioEngine.of(List.of(financing));
+            for (int year = 0; year < Math.min(HORIZON, financing.getLoanTerm()); year++) {
+                ScenarioMatrix matrix = engine.run(new double[]{drift * (year + 1), 0});
+                for (FinancingTypesTranslated type : FinancingTypesTranslated.values()) {
+                    expected += 12 * (matrix.getMonthlyPayment(0, type) - matrix.getMonthlyPayment(1, type));
+                }
+            }
+        }
+        assertEquals(expected, result.getMeanChange(), Math.abs(expected) * 1e-9);
+        // A grade só cobre os anos em que ainda há contratos em curso
+        assertEquals(drift * Math.min(HORIZON, maxTerm()), result.getHighestShift(), 1e-9);
+    }
+
+    private int maxTerm() {
+        return financings.stream().mapToInt(Financing::getLoanTerm).max().orElseThrow();
+    }
+
+    private static List<Financing> portfolio() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Financing> financings = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int term = 1 + random.nextInt(12);
+            double value = 100_000 + random.nextInt(900_000);
+            double rate = 2 + random.nextInt(10);
+            financings.add(switch (i % 3) {
+                case 0 -> new House(value, term, rate, 100, 300);
+                case 1 -> new Apartment(value, term, rate, 1, 3);
+                default -> new Land(value, term, rate, "Residencial");
+            });
+        }
+        return financings;
+    }
+}
@@ -0,0 +1,162 @@
+package metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.FinancingFileHandler;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Grava os eventos do sistema com o perfil {@code housing-finance-profile.jfc} e confere, lendo a gravação com
+ * {@code jdk.jfr.consumer}, que cada operação instrumentada emite os eventos esperados.
+ */
+class FinancingRecordingSummaryTest {
+    private static final String PROFILE = "/housing-finance-profile.jfc";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsMonthlyPaymentsAndHouseIncreaseAdjustments() throws Exception {
+        // Casa de valor baixo: os juros da parcela ficam abaixo do acréscimo fixo, que é limitado a eles
+        House adjusted = new House(50_000, 30, 1, 60, 120);
+        House regular = new House(2_000_000, 10, 12, 120, 300);
+        Apartment apartment = new Apartment(400_000, 25, 9, 1, 7);
+        Land land = new Land(150_000, 10, 8, "Residencial");
+        assertTrue(adjusted.quote().increaseAdjusted());
+        assertFalse(regular.quote().increaseAdjusted());
+
+        Path file = record(() -> {
+            for (Financing financing : List.of(adjusted, regular, apartment, land)) {
+                financing.getMonthlyPayment();
+            }
+        });
+
+        Map<String, FinancingRecordingSummary.Entry> summary = FinancingRecordingSummary.summarize(file);
+        assertEquals(2, summary.get("housingfinance.MonthlyPayment/Casa").count());
+        assertEquals(1, summary.get("housingfinance.MonthlyPayment/Apartamento").count());
+        assertEquals(1, summary.get("housingfinance.MonthlyPayment/Terreno").count());
+        assertEquals(1, summary.get("housingfinance.HouseIncreaseAdjustment").count());
+        assertEquals(4, summary.size(), () -> "Eventos inesperados: " + summary.keySet());
+
+        RecordedEvent adjustment = single(file, "housingfinance.HouseIncreaseAdjustment");
+        assertEquals(50_000, adjustment.getDouble("propertyValue"));
+        assertEquals(30, adjustment.getInt("loanTerm"));
+        assertEquals(1, adjustment.getDouble("interestRate"));
+        assertEquals(House.DEFAULT_INCREASE, adjustment.getDouble("configuredIncrease"));
+        assertEquals(adjusted.quote().increase(), adjustment.getDouble("appliedIncrease"));
+
+        for (RecordedEvent event : events(file, "housingfinance.MonthlyPayment")) {
+            if (event.getString("financingType").equals("Apartamento")) {
+                assertEquals(25, event.getInt("loanTerm"));
+                assertEquals(400_000, event.getDouble("propertyValue"));
+            }
+        }
+    }
+
+    @Test
+    void recordsFileOperations() throws Exception {
+        List<Financing> financings = List.of(
+                new House(300_000, 20, 9, 100, 250),
+                new Apartment(400_000, 25, 9, 2, 12),
+                new Land(150_000, 10, 8, "Comercial"));
+        String text = directory.resolve("financings.txt").toString();
+        String serialized = directory.resolve("financings.ser").toString();
+
+        Path file = record(() -> {
+            for (Financing financing : financings) {
+                FinancingFileHandler.saveToFile(financing, text);
+            }
+            assertEquals(3, FinancingFileHandler.readFromFile(text).size());
+            FinancingFileHandler.serializeFinancings(financings, serialized);
+            assertEquals(3, FinancingFileHandler.deserializeFinancings(serialized).size());
+        });
+
+        Map<String, FinancingRecordingSummary.Entry> summary = FinancingRecordingSummary.summarize(file);
+        FinancingRecordingSummary.Entry saves = summary.get("housingfinance.FinancingFile/save");
+        FinancingRecordingSummary.Entry reads = summary.get("housingfinance.FinancingFile/read");
+        FinancingRecordingSummary.Entry serializations = summary.get("housingfinance.FinancingFile/serialize");
+        FinancingRecordingSummary.Entry deserializations = summary.get("housingfinance.FinancingFile/deserialize");
+        assertNotNull(saves);
+        assertNotNull(reads);
+        assertNotNull(serializations);
+        assertNotNull(deserializations);
+        assertEquals(3, saves.count());
+        assertEquals(1, reads.count());
+        assertEquals(1, serializations.count());
+        assertEquals(1, deserializations.count());
+
+        long textSize = Files.size(Path.of(text));
+        long serializedSize = Files.size(Path.of(serialized));
+        assertEquals(textSize, saves.bytes());
+        assertEquals(textSize, reads.bytes());
+        assertEquals(serializedSize, serializations.bytes());
+        assertEquals(serializedSize, deserializations.bytes());
+
+        for (RecordedEvent event : events(file, "housingfinance.FinancingFile")) {
+            String operation = event.getString("operation");
+            assertEquals(operation.equals(FinancingFileEvent.SAVE) ? 1 : 3, event.getLong("records"), operation);
+            assertEquals(operation.equals(FinancingFileEvent.SAVE) || operation.equals(FinancingFileEvent.READ)
+                    ? text : serialized, event.getString("file"), operation);
+        }
+    }
+
+    /**
+     * Executa a ação durante uma gravação com o perfil do sistema e retorna o arquivo da gravação.
+     * O limite de duração dos pagamentos mensais é zerado, para que todos os cálculos sejam gravados.
+     */
+    private Path record(Action action) throws Exception {
+        Configuration configuration;
+        try (Reader profile = new InputStreamReader(
+                FinancingRecordingSummaryTest.class.getResourceAsStream(PROFILE), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(profile);
+        }
+        Path file = directory.resolve("financing.jfr");
+        try (Recording recording = new Recording(configuration)) {
+            recording.enable(MonthlyPaymentEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return file;
+    }
+
+    private static List<RecordedEvent> events(Path file, String name) throws IOException {
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+    }
+
+    private static RecordedEvent single(Path file, String name) throws IOException {
+        List<RecordedEvent> events = events(file, name);
+        assertEquals(1, events.size(), name);
+        return events.get(0);
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws Exception;
+    }
+}
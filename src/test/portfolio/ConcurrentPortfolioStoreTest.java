@@ -0,0 +1,126 @@
+package portfolio;
+
+import model.Financing;
+import model.Land;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de estresse de {@link ConcurrentPortfolioStore} com várias threads incluindo ao mesmo tempo e leitores tirando
+ * retratos durante as inclusões.
+ */
+class ConcurrentPortfolioStoreTest {
+    private static final int WRITERS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int READERS = 2;
+    private static final int PER_WRITER = 100_000;
+
+    @Test
+    void concurrentWritersLoseAndDuplicateNothingAndSnapshotsAreGapFreePrefixes() throws Exception {
+        ConcurrentPortfolioStore store = new ConcurrentPortfolioStore();
+        Financing[][] added = new Financing[WRITERS][PER_WRITER];
+        int[][] positions = new int[WRITERS][PER_WRITER];
+        for (int writer = 0; writer < WRITERS; writer++) {
+            for (int i = 0; i < PER_WRITER; i++) {
+                added[writer][i] = new Land(writer * (double) PER_WRITER + i, 10, 8, null);
+            }
+        }
+
+        CyclicBarrier start = new CyclicBarrier(WRITERS + READERS);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> writers = new ArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(new Thread(() -> {
+                await(start);
+                for (int i = 0; i < PER_WRITER; i++) {
+                    positions[writer][i] = store.add(added[writer][i]);
+                }
+            }, "writer-" + writer));
+        }
+        for (int r = 0; r < READERS; r++) {
+            readers.add(new Thread(() -> {
+                await(start);
+                // Cada retrato tem de estender o anterior: mesmos elementos nas mesmas posições, sem lacunas
+                List<Financing> previous = List.of();
+                int snapshots = 0;
+                while (writing.get() || snapshots == 0) {
+                    List<Financing> snapshot = store.snapshot();
+                    String problem = checkPrefix(previous, snapshot);
+                    if (problem != null) {
+                        failures.add(problem);
+                        return;
+                    }
+                    previous = snapshot;
+                    snapshots++;
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+        writers.forEach(Thread::start);
+        for (Thread thread : writers) {
+            thread.join();
+        }
+        writing.set(false);
+        for (Thread thread : readers) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), () -> String.join(System.lineSeparator(), failures));
+
+        List<Financing> snapshot = store.snapshot();
+        assertEquals(WRITERS * PER_WRITER, snapshot.size());
+        assertEquals(WRITERS * PER_WRITER, store.size());
+
+        Map<Financing, Integer> seen = new IdentityHashMap<>();
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertNull(seen.put(snapshot.get(i), i), "Financiamento duplicado na posição " + i);
+        }
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int last = -1;
+            for (int i = 0; i < PER_WRITER; i++) {
+                Financing financing = added[writer][i];
+                assertSame(financing, snapshot.get(positions[writer][i]), "Posição devolvida por add incorreta");
+                // As inclusões de uma mesma thread aparecem na ordem em que foram feitas
+                assertTrue(positions[writer][i] > last);
+                last = positions[writer][i];
+            }
+        }
+    }
+
+    private static String checkPrefix(List<Financing> previous, List<Financing> snapshot) {
+        if (snapshot.size() < previous.size()) {
+            return "Retrato encolheu de " + previous.size() + " para " + snapshot.size();
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            Financing financing = snapshot.get(i);
+            if (financing == null) {
+                return "Lacuna na posição " + i + " de um retrato com " + snapshot.size() + " financiamentos";
+            }
+            if (i < previous.size() && financing != previous.get(i)) {
+                return "Posição " + i + " mudou entre dois retratos";
+            }
+        }
+        return null;
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
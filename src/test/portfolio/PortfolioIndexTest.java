@@ -0,0 +1,37 @@
+package portfolio;
+
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Testes do filtro de tipo de zona de {@link PortfolioIndex}, incluindo terrenos sem tipo de zona.
+ */
+class PortfolioIndexTest {
+    private final Land residential = new Land(150_000, 10, 8, "Residencial");
+    private final Land commercial = new Land(250_000, 15, 9, " COMERCIAL ");
+    private final Land unzoned = new Land(100_000, 5, 7, null);
+    private final PortfolioIndex index = new PortfolioIndex(List.<Financing>of(
+            new House(300_000, 20, 9, 100, 250), residential, unzoned, new Apartment(400_000, 25, 9, 2, 12),
+            commercial));
+
+    @Test
+    void matchesZoneTypeIgnoringCaseAndSurroundingSpaces() {
+        assertEquals(List.of(residential), index.query().zoneType("residencial").list());
+        assertEquals(List.of(commercial), index.query().zoneType("Comercial").list());
+        assertEquals(0, index.query().zoneType("Rural").count());
+    }
+
+    @Test
+    void nullZoneTypeSelectsUnzonedLands() {
+        assertEquals(List.of(unzoned), index.query().zoneType(null).list());
+        assertEquals(List.of(unzoned), index.query().zoneType(null).loanTermBetween(1, 5).list());
+        assertEquals(0, index.query().zoneType(null).loanTermBetween(6, 30).count());
+    }
+}
@@ -0,0 +1,72 @@
+package service;
+
+import factory.QuoteCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes do {@link QuoteHttpServer} em uma porta livre, com carga gerada pelo {@link QuoteLoadGenerator}.
+ */
+class QuoteHttpServerTest {
+    private QuoteHttpServer server;
+    private URI uri;
+
+    @BeforeAll
+    static void enableTcpNoDelay() {
+        QuoteHttpServer.enableTcpNoDelay();
+    }
+
+    @BeforeEach
+    void startServer() throws Exception {
+        server = new QuoteHttpServer(0);
+        server.start();
+        uri = URI.create("http://localhost:" + server.getPort() + "/quote");
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void servesLoadWithoutErrors() throws Exception {
+        QuoteLoadGenerator.Report report = QuoteLoadGenerator.run(uri, 4, 2);
+
+        assertEquals(0, report.errors());
+        assertTrue(report.requests() > 0, "Nenhuma requisição concluída");
+        assertTrue(report.requestsPerSecond() > 0);
+        assertTrue(report.p50Micros() > 0, "Latência p50 vazia");
+        assertTrue(report.p99Micros() >= report.p50Micros());
+        assertTrue(server.getQuoteCache().stats().misses() > 0);
+    }
+
+    @Test
+    void rejectsNonFiniteQuotesWithoutCachingThem() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        // O valor do imóvel multiplicado pelo crescimento dos juros estoura o intervalo de double
+        String body = "{\"type\":\"apartamento\",\"propertyValue\":1e308,\"loanTerm\":30,\"interestRate\":10,"
+                + "\"garageSpaces\":2,\"floorNumber\":10}";
+        for (int attempt = 0; attempt < 2; attempt++) {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, response.statusCode(), response.body());
+            assertTrue(response.body().contains("\"error\""), response.body());
+        }
+
+        QuoteCache.Stats stats = server.getQuoteCache().stats();
+        assertEquals(0, server.getQuoteCache().size());
+        assertEquals(0, stats.hits());
+        assertEquals(2, stats.misses());
+    }
+}
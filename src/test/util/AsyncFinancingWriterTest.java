@@ -0,0 +1,80 @@
+package util;
+
+import model.Land;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes do {@link AsyncFinancingWriter} quando a thread de gravação é interrompida.
+ */
+class AsyncFinancingWriterTest {
+    private static final int PRODUCERS = 4;
+    private static final int APPENDS = 2000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void interruptedWriterFailsPendingAndLaterAppends() throws Exception {
+        String file = directory.resolve("financings.txt").toString();
+        AsyncFinancingWriter writer = new AsyncFinancingWriter(file, AsyncFinancingWriter.Durability.NONE, 8);
+        writer.append(new Land(150_000, 10, 8, "Residencial")).get(10, TimeUnit.SECONDS);
+        Thread writerThread = findWriterThread();
+
+        // Produtores enchem a fila pequena enquanto a thread de gravação é interrompida
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        List<Future<CompletableFuture<Void>>> appends = new ArrayList<>();
+        try {
+            for (int i = 0; i < APPENDS; i++) {
+                appends.add(producers.submit(() -> writer.append(new Land(150_000, 10, 8, "Residencial"))));
+                if (i == APPENDS / 2) {
+                    writerThread.interrupt();
+                }
+            }
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(writerThread.isAlive(), "A thread de gravação não terminou após a interrupção");
+
+            // Nenhum futuro pode ficar pendente: ou foi gravado antes da interrupção, ou falhou
+            for (Future<CompletableFuture<Void>> append : appends) {
+                CompletableFuture<Void> future = append.get(10, TimeUnit.SECONDS);
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    // A interrupção pode chegar durante uma escrita, que falha com ClosedByInterruptException
+                    assertInstanceOf(IOException.class, e.getCause());
+                }
+            }
+        } finally {
+            producers.shutdown();
+        }
+
+        CompletableFuture<Void> later = writer.append(new Land(150_000, 10, 8, "Residencial"));
+        assertTrue(later.isCompletedExceptionally(), "Inclusão após a interrupção deveria falhar imediatamente");
+        ExecutionException failure = assertThrows(ExecutionException.class, later::get);
+        assertInstanceOf(IOException.class, failure.getCause());
+        writer.close();
+    }
+
+    private static Thread findWriterThread() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("financing-writer"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,115 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Teste diferencial de {@link CurrencyFormatter} contra o {@link NumberFormat} do JDK, que ele afirma reproduzir
+ * caractere por caractere.
+ */
+class CurrencyFormatterTest {
+    private static final long SEED = 0x5EEDL;
+    private static final double FAST_PATH_LIMIT = Math.scalb(1.0, 42);
+
+    private final NumberFormat reference = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
+
+    @Test
+    void matchesNumberFormatForRandomBitPatterns() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < 1_000_000; i++) {
+            assertSameText(Double.longBitsToDouble(random.nextLong()));
+        }
+    }
+
+    @Test
+    void matchesNumberFormatForRandomAmounts() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < 1_000_000; i++) {
+            // Magnitudes de 10^-4 a 10^13, cobrindo centavos, valores de imóveis e a faixa acima de 2^42
+            double value = Math.pow(10, random.nextDouble(-4, 13)) * (random.nextBoolean() ? 1 : -1);
+            assertSameText(value);
+        }
+    }
+
+    @Test
+    void roundsHalfEvenTiesLikeNumberFormat() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long thousandths = 5; thousandths < 2_000_000; thousandths += 10) {
+            assertSameText(thousandths / 1000.0);
+            assertSameText(-thousandths / 1000.0);
+        }
+        for (int i = 0; i < 200_000; i++) {
+            long thousandths = random.nextLong(1L << 40) / 10 * 10 + 5;
+            assertSameText(thousandths / 1000.0);
+        }
+        // Empates exatos em binário: a terceira casa decimal é exatamente 5
+        for (double tie : new double[]{0.005, 0.015, 0.125, 0.375, 2.625, 1024.875, 4096.125}) {
+            assertSameText(tie);
+            assertSameText(-tie);
+        }
+    }
+
+    @Test
+    void keepsTheSignOfZero() {
+        assertSameText(0.0);
+        assertSameText(-0.0);
+        assertSameText(Double.MIN_VALUE);
+        assertSameText(-Double.MIN_VALUE);
+        assertSameText(-0.004);
+    }
+
+    @Test
+    void matchesNumberFormatAroundTheFastPathLimit() {
+        for (double sign : new double[]{1, -1}) {
+            double below = sign * FAST_PATH_LIMIT;
+            double above = below;
+            for (int i = 0; i < 10_000; i++) {
+                assertSameText(below);
+                assertSameText(above);
+                below = sign > 0 ? Math.nextDown(below) : Math.nextUp(below);
+                above = sign > 0 ? Math.nextUp(above) : Math.nextDown(above);
+            }
+            assertSameText(sign * (FAST_PATH_LIMIT - 0.005));
+            assertSameText(sign * (FAST_PATH_LIMIT + 0.005));
+        }
+    }
+
+    @Test
+    void fallsBackToNumberFormatForNonFiniteValues() {
+        assertSameText(Double.NaN);
+        assertSameText(Double.POSITIVE_INFINITY);
+        assertSameText(Double.NEGATIVE_INFINITY);
+        assertSameText(Double.MAX_VALUE);
+        assertSameText(-Double.MAX_VALUE);
+    }
+
+    @Test
+    void appendVariantsWriteTheSameText() throws IOException {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < 10_000; i++) {
+            double value = random.nextDouble(-1e7, 1e7);
+            String expected = CurrencyFormatter.formatToBRL(value);
+
+            assertEquals(expected, CurrencyFormatter.appendBRL(value, new StringBuilder("x")).substring(1));
+
+            CharBuffer buffer = CurrencyFormatter.appendBRL(value, CharBuffer.allocate(64));
+            assertEquals(expected, buffer.flip().toString());
+
+            StringWriter writer = CurrencyFormatter.appendBRL(value, new StringWriter());
+            assertEquals(expected, writer.toString());
+        }
+    }
+
+    private void assertSameText(double value) {
+        assertEquals(reference.format(value), CurrencyFormatter.formatToBRL(value),
+                () -> "Texto diferente do NumberFormat para " + value + " (bits " + Long.toHexString(Double.doubleToRawLongBits(value)) + ")");
+    }
+}
@@ -0,0 +1,274 @@
+package util;
+
+import metrics.FinancingMetrics;
+import model.Financing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Gravação assíncrona em financings.txt com confirmação em grupo (group commit).
+ * <p>
+ * O arquivo fica aberto durante toda a vida do gravador. Cada thread produtora gera o bloco de relatório do seu
+ * financiamento e o coloca em uma fila limitada; uma única thread de gravação retira da fila tudo o que estiver
+ * disponível e grava os blocos em poucas escritas grandes. Quando a fila está cheia, os produtores aguardam.
+ * <p>
+ * O futuro retornado por {@link #append(Financing)} é concluído quando o bloco atinge a durabilidade configurada:
+ * <ul>
+ *     <li>{@link Durability#NONE}: gravado no sistema operacional, sem fsync;</li>
+ *     <li>{@link Durability#BATCH}: um fsync por lote gravado;</li>
+ *     <li>{@link Durability#RECORD}: um fsync por bloco.</li>
+ * </ul>
+ * O formato do arquivo é o mesmo de {@link FinancingFileHandler#saveToFile}.
+ */
+public class AsyncFinancingWriter implements Closeable {
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final Entry CLOSE = new Entry(null, null, 0);
+
+    /**
+     * Garantia de durabilidade exigida antes de concluir o futuro de cada bloco.
+     */
+    public enum Durability {
+        NONE,
+        BATCH,
+        RECORD
+    }
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private final Charset charset = Charset.defaultCharset();
+    private final FinancingReportWriter reportWriter = new FinancingReportWriter();
+    private final BlockingQueue<Entry> queue;
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final Thread writerThread;
+    private final int maxBatch;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Construtor com a capacidade padrão da fila.
+     *
+     * @param fileName   O nome do arquivo de texto.
+     * @param durability A durabilidade exigida.
+     * @throws IOException Se não for possível abrir o arquivo.
+     */
+    public AsyncFinancingWriter(String fileName, Durability durability) throws IOException {
+        this(fileName, durability, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construtor com a capacidade da fila, que também limita o tamanho de cada lote.
+     *
+     * @param fileName   O nome do arquivo de texto.
+     * @param durability A durabilidade exigida.
+     * @param capacity   A quantidade máxima de blocos aguardando gravação.
+     * @throws IOException Se não for possível abrir o arquivo.
+     */
+    public AsyncFinancingWriter(String fileName, Durability durability, int capacity) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("A capacidade da fila deve ser positiva.");
+        }
+        this.channel = FileChannel.open(Paths.get(fileName),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.durability = durability;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = capacity;
+        this.writerThread = new Thread(this::run, "financing-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Enfileira um financiamento para gravação. Aguarda enquanto a fila estiver cheia.
+     *
+     * @param financing O financiamento.
+     * @return Um futuro concluído quando o bloco atingir a durabilidade configurada,
+     * ou concluído com erro se a gravação falhar ou o gravador já estiver fechado.
+     */
+    public CompletableFuture<Void> append(Financing financing) {
+        long start = FinancingMetrics.start();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        StringBuilder block = reportWriter.write(financing, new StringBuilder(512)).append(System.lineSeparator());
+        Entry entry = new Entry(block.toString().getBytes(charset), future, start);
+
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("O gravador de financiamentos está fechado."));
+            } else if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                queue.put(entry);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return future;
+    }
+
+    /**
+     * Grava todos os blocos pendentes, encerra a thread de gravação e fecha o arquivo.
+     *
+     * @throws IOException Se ocorrer um erro ao fechar o arquivo.
+     */
+    @Override
+    public void close() throws IOException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.put(CLOSE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Fechamento do gravador de financiamentos interrompido.", e);
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Fechamento do gravador de financiamentos interrompido.", e);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Laço da thread de gravação: aguarda o primeiro bloco e leva junto todos os que já estiverem na fila.
+     */
+    private void run() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        List<Entry> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                abandon();
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            if (batch.get(batch.size() - 1) == CLOSE) {
+                batch.remove(batch.size() - 1);
+                running = false;
+            }
+            if (failure != null) {
+                fail(batch, failure);
+            } else {
+                try {
+                    write(batch, buffer);
+                } catch (IOException e) {
+                    failure = e;
+                    fail(batch, e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Encerra a thread de gravação interrompida. A falha é registrada, se uma gravação ainda não tiver falhado pela
+     * mesma interrupção, para que as próximas inclusões falhem imediatamente, e os futuros de todos os blocos
+     * enfileirados são concluídos com erro. A fila é esvaziada até que a trava de fechamento seja obtida, o que libera
+     * os produtores bloqueados na fila cheia e garante que nenhum produtor que já passou pela verificação da falha
+     * enfileire um bloco depois do último esvaziamento.
+     */
+    private void abandon() {
+        IOException cause = failure;
+        if (cause == null) {
+            cause = new InterruptedIOException("A thread de gravação de financiamentos foi interrompida.");
+            failure = cause;
+        }
+        List<Entry> pending = new ArrayList<>();
+        while (!closeLock.writeLock().tryLock()) {
+            queue.drainTo(pending);
+            fail(pending, cause);
+            pending.clear();
+            Thread.yield();
+        }
+        try {
+            queue.drainTo(pending);
+            fail(pending, cause);
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+    }
+
+    private void write(List<Entry> batch, ByteBuffer buffer) throws IOException {
+        if (durability == Durability.RECORD) {
+            for (Entry entry : batch) {
+                writeFully(ByteBuffer.wrap(entry.bytes));
+                channel.force(false);
+                complete(entry);
+            }
+            return;
+        }
+
+        buffer.clear();
+        for (Entry entry : batch) {
+            if (entry.bytes.length > buffer.remaining()) {
+                buffer.flip();
+                writeFully(buffer);
+                buffer.clear();
+            }
+            if (entry.bytes.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(entry.bytes));
+            } else {
+                buffer.put(entry.bytes);
+            }
+        }
+        buffer.flip();
+        writeFully(buffer);
+        if (durability == Durability.BATCH) {
+            channel.force(false);
+        }
+        for (Entry entry : batch) {
+            complete(entry);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void complete(Entry entry) {
+        FinancingMetrics.recordSave(entry.start, entry.bytes.length);
+        entry.future.complete(null);
+    }
+
+    private static void fail(List<Entry> batch, IOException cause) {
+        for (Entry entry : batch) {
+            if (entry != CLOSE && !entry.future.isDone()) {
+                entry.future.completeExceptionally(cause);
+            }
+        }
+    }
+
+    /**
+     * Bloco já codificado, o futuro a ser concluído após a gravação e o início da medição.
+     */
+    private record Entry(byte[] bytes, CompletableFuture<Void> future, long start) {
+    }
+}
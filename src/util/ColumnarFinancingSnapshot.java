@@ -0,0 +1,519 @@
+package util;
+
+import model.Apartment;
+import model.Financing;
+import model.FinancingColumns;
+import model.House;
+import model.Land;
+import model.PaymentBatch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Snapshot colunar da carteira, lido diretamente de um arquivo mapeado em memória.
+ * <p>
+ * O arquivo guarda uma coluna de largura fixa para cada campo, na ordem das linhas:
+ * <pre>
+ *   cabeçalho (32 bytes): "HFCL", versão, quantidade de linhas, quantidade de zonas, deslocamento do dicionário
+ *   valor do imóvel    double × n
+ *   taxa de juros      double × n
+ *   atributo 1         long × n   (casa: área construída; apartamento: vagas; terreno: índice da zona, -1 se nula)
+ *   atributo 2         long × n   (casa: tamanho do terreno; apartamento: andar; terreno: 0)
+ *   prazo              int × n
+ *   tipo               byte × n   (códigos de {@link PaymentBatch})
+ *   dicionário de zonas: comprimento (short) e bytes UTF-8 de cada zona
+ * </pre>
+ * Os números são little-endian, e os atributos double da casa são guardados pelos seus bits.
+ * <p>
+ * Abrir o snapshot só lê o cabeçalho e o dicionário de zonas, portanto o tempo de abertura não depende do tamanho
+ * da carteira. Nenhum objeto é criado por linha: {@link #get(int)} devolve uma visão somente leitura
+ * (uma subclasse de {@link House}, {@link Apartment} ou {@link Land}) que lê os campos do arquivo mapeado a cada
+ * chamada e calcula os pagamentos com as mesmas fórmulas das classes originais. As visões são descartáveis;
+ * {@link View#materialize()} cria uma cópia comum, desvinculada do arquivo. Um índice de zona fora do dicionário
+ * só é detectado ao ler a linha e lança {@link UncheckedIOException}. Cada mapeamento é limitado a 2 GB,
+ * cerca de 58 milhões de financiamentos.
+ */
+public final class ColumnarFinancingSnapshot {
+    private static final int MAGIC = 0x4846434C;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int BYTES_PER_ROW = Double.BYTES * 2 + Long.BYTES * 2 + Integer.BYTES + Byte.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final String[] zoneTypes;
+    private final int rateOffset;
+    private final int firstAttributeOffset;
+    private final int secondAttributeOffset;
+    private final int termOffset;
+    private final int typeOffset;
+
+    private ColumnarFinancingSnapshot(ByteBuffer buffer, int size, String[] zoneTypes) {
+        this.buffer = buffer;
+        this.size = size;
+        this.zoneTypes = zoneTypes;
+        this.rateOffset = HEADER_SIZE + size * Double.BYTES;
+        this.firstAttributeOffset = rateOffset + size * Double.BYTES;
+        this.secondAttributeOffset = firstAttributeOffset + size * Long.BYTES;
+        this.termOffset = secondAttributeOffset + size * Long.BYTES;
+        this.typeOffset = termOffset + size * Integer.BYTES;
+    }
+
+    /**
+     * Grava o snapshot colunar de uma lista de financiamentos, substituindo o arquivo se existir.
+     *
+     * @param financings Os financiamentos.
+     * @param fileName   O nome do arquivo do snapshot.
+     * @return O tamanho do arquivo gravado, em bytes.
+     * @throws IOException Se ocorrer um erro de entrada/saída ou se a carteira não couber em um mapeamento.
+     */
+    public static long write(List<? extends Financing> financings, String fileName) throws IOException {
+        int size = financings.size();
+        Map<String, Integer> zoneIndexes = new HashMap<>();
+        List<byte[]> zones = new ArrayList<>();
+        long dictionaryBytes = 0;
+        for (Financing financing : financings) {
+            if (financing instanceof Land land && land.getZoneType() != null
+                    && !zoneIndexes.containsKey(land.getZoneType())) {
+                byte[] zone = land.getZoneType().getBytes(StandardCharsets.UTF_8);
+                if (zone.length > Short.MAX_VALUE) {
+                    throw new IOException("Tipo de zona longo demais para o snapshot colunar.");
+                }
+                zoneIndexes.put(land.getZoneType(), zones.size());
+                zones.add(zone);
+                dictionaryBytes += Short.BYTES + zone.length;
+            }
+        }
+        long dictionaryOffset = HEADER_SIZE + (long) size * BYTES_PER_ROW;
+        long fileSize = dictionaryOffset + dictionaryBytes;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("A carteira é grande demais para um único snapshot colunar.");
+        }
+
+        Path path = Paths.get(fileName);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, VERSION);
+            mapped.putInt(8, size);
+            mapped.putInt(12, zones.size());
+            mapped.putLong(16, dictionaryOffset);
+
+            ColumnarFinancingSnapshot layout = new ColumnarFinancingSnapshot(mapped, size, new String[0]);
+            for (int row = 0; row < size; row++) {
+                Financing financing = financings.get(row);
+                byte type = PaymentBatch.typeOf(financing);
+                long first;
+                long second;
+                if (financing instanceof House house) {
+                    first = Double.doubleToRawLongBits(house.getBuiltAreaSize());
+                    second = Double.doubleToRawLongBits(house.getLandSize());
+                } else if (financing instanceof Apartment apartment) {
+                    first = apartment.getGarageSpaces();
+                    second = apartment.getFloorNumber();
+                } else {
+                    String zoneType = ((Land) financing).getZoneType();
+                    first = zoneType == null ? -1 : zoneIndexes.get(zoneType);
+                    second = 0;
+                }
+                mapped.putDouble(HEADER_SIZE + row * Double.BYTES, financing.getPropertyValue());
+                mapped.putDouble(layout.rateOffset + row * Double.BYTES, financing.getInterestRate());
+                mapped.putLong(layout.firstAttributeOffset + row * Long.BYTES, first);
+                mapped.putLong(layout.secondAttributeOffset + row * Long.BYTES, second);
+                mapped.putInt(layout.termOffset + row * Integer.BYTES, financing.getLoanTerm());
+                mapped.put(layout.typeOffset + row, type);
+            }
+
+            mapped.position((int) dictionaryOffset);
+            for (byte[] zone : zones) {
+                mapped.putShort((short) zone.length);
+                mapped.put(zone);
+            }
+            mapped.force();
+        }
+        return fileSize;
+    }
+
+    /**
+     * Abre um snapshot colunar. Apenas o cabeçalho e o dicionário de zonas são lidos;
+     * as colunas são lidas sob demanda do arquivo mapeado.
+     *
+     * @param fileName O nome do arquivo do snapshot.
+     * @return O snapshot aberto.
+     * @throws IOException Se ocorrer um erro de entrada/saída ou se o arquivo não for um snapshot colunar válido.
+     */
+    public static ColumnarFinancingSnapshot open(String fileName) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Arquivo de snapshot colunar inválido: " + fileName);
+            }
+            // O mapeamento continua válido depois que o canal é fechado.
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        }
+        ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Arquivo de snapshot colunar inválido: " + fileName);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Versão de snapshot colunar não suportada: " + buffer.getInt(4));
+        }
+        int size = buffer.getInt(8);
+        int zoneCount = buffer.getInt(12);
+        long dictionaryOffset = buffer.getLong(16);
+        if (size < 0 || zoneCount < 0 || dictionaryOffset != HEADER_SIZE + (long) size * BYTES_PER_ROW
+                || dictionaryOffset > buffer.capacity()) {
+            throw new IOException("Arquivo de snapshot colunar inválido: " + fileName);
+        }
+
+        String[] zoneTypes = new String[zoneCount];
+        ByteBuffer dictionary = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        dictionary.position((int) dictionaryOffset);
+        for (int i = 0; i < zoneCount; i++) {
+            if (dictionary.remaining() < Short.BYTES) {
+                throw new IOException("Arquivo de snapshot colunar inválido: " + fileName);
+            }
+            short length = dictionary.getShort();
+            if (length < 0 || length > dictionary.remaining()) {
+                throw new IOException("Arquivo de snapshot colunar inválido: " + fileName);
+            }
+            byte[] zone = new byte[length];
+            dictionary.get(zone);
+            zoneTypes[i] = new String(zone, StandardCharsets.UTF_8);
+        }
+        return new ColumnarFinancingSnapshot(buffer, size, zoneTypes);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retorna uma visão somente leitura do financiamento da linha informada.
+     * Cada chamada cria uma nova visão, de poucos bytes; os campos são lidos do arquivo mapeado.
+     *
+     * @param row A linha, a partir de zero.
+     * @return A visão do financiamento.
+     */
+    public Financing get(int row) {
+        return switch (getType(row)) {
+            case PaymentBatch.HOUSE -> new HouseView(this, row);
+            case PaymentBatch.APARTMENT -> new ApartmentView(this, row);
+            case PaymentBatch.LAND -> new LandView(this, row);
+            default -> throw new IllegalStateException("Tipo de financiamento desconhecido na linha " + row);
+        };
+    }
+
+    /**
+     * Retorna a carteira como uma lista somente leitura de visões, criadas sob demanda.
+     *
+     * @return A lista de financiamentos.
+     */
+    public List<Financing> asList() {
+        return new Rows();
+    }
+
+    /**
+     * Leitores de colunas, sem criar visões.
+     */
+    public double getPropertyValue(int row) {
+        return buffer.getDouble(HEADER_SIZE + checkRow(row) * Double.BYTES);
+    }
+
+    public double getInterestRate(int row) {
+        return buffer.getDouble(rateOffset + checkRow(row) * Double.BYTES);
+    }
+
+    public int getLoanTerm(int row) {
+        return buffer.getInt(termOffset + checkRow(row) * Integer.BYTES);
+    }
+
+    public byte getType(int row) {
+        return buffer.get(typeOffset + checkRow(row));
+    }
+
+    /**
+     * Copia as colunas usadas pelo cálculo em lote para arrays primitivos.
+     *
+     * @return As colunas da carteira.
+     */
+    public FinancingColumns toColumns() {
+        double[] value = new double[size];
+        int[] termYears = new int[size];
+        double[] rate = new double[size];
+        byte[] type = new byte[size];
+        for (int row = 0; row < size; row++) {
+            value[row] = buffer.getDouble(HEADER_SIZE + row * Double.BYTES);
+            termYears[row] = buffer.getInt(termOffset + row * Integer.BYTES);
+            rate[row] = buffer.getDouble(rateOffset + row * Double.BYTES);
+            type[row] = buffer.get(typeOffset + row);
+        }
+        return new FinancingColumns(value, termYears, rate, type);
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Linha " + row + " fora do intervalo de 0 a " + (size - 1));
+        }
+        return row;
+    }
+
+    private long firstAttribute(int row) {
+        return buffer.getLong(firstAttributeOffset + row * Long.BYTES);
+    }
+
+    private long secondAttribute(int row) {
+        return buffer.getLong(secondAttributeOffset + row * Long.BYTES);
+    }
+
+    private String zoneType(int row) {
+        long index = firstAttribute(row);
+        if (index == -1) {
+            return null;
+        }
+        if (index < 0 || index >= zoneTypes.length) {
+            // As colunas não são validadas na abertura, para que ela não dependa do tamanho da carteira.
+            throw new UncheckedIOException(new IOException(
+                    "Snapshot colunar inválido: índice de zona " + index + " na linha " + row
+                            + ", mas o dicionário tem " + zoneTypes.length + " zonas"));
+        }
+        return zoneTypes[(int) index];
+    }
+
+    /**
+     * Visão de um financiamento do snapshot.
+     */
+    public interface View {
+        /**
+         * A linha do financiamento no snapshot.
+         */
+        int getRow();
+
+        /**
+         * Cria uma cópia comum do financiamento, desvinculada do arquivo mapeado.
+         */
+        Financing materialize();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Os financiamentos do snapshot colunar são somente leitura.");
+    }
+
+    /**
+     * Visão de uma casa. O acréscimo é o padrão de {@link House}, o único que a casa aceita.
+     */
+    private static final class HouseView extends House implements View {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ColumnarFinancingSnapshot snapshot;
+        private final int row;
+
+        HouseView(ColumnarFinancingSnapshot snapshot, int row) {
+            super(0, 0, 0, 0, 0);
+            this.snapshot = snapshot;
+            this.row = row;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public double getPropertyValue() {
+            return snapshot.getPropertyValue(row);
+        }
+
+        @Override
+        public int getLoanTerm() {
+            return snapshot.getLoanTerm(row);
+        }
+
+        @Override
+        public double getInterestRate() {
+            return snapshot.getInterestRate(row);
+        }
+
+        @Override
+        public double getBuiltAreaSize() {
+            return Double.longBitsToDouble(snapshot.firstAttribute(row));
+        }
+
+        @Override
+        public double getLandSize() {
+            return Double.longBitsToDouble(snapshot.secondAttribute(row));
+        }
+
+        @Override
+        public void setBuiltAreaSize(double builtAreaSize) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setLandSize(double landSize) {
+            throw readOnly();
+        }
+
+        @Override
+        public House materialize() {
+            return new House(getPropertyValue(), getLoanTerm(), getInterestRate(), getBuiltAreaSize(), getLandSize());
+        }
+
+        private Object writeReplace() {
+            return materialize();
+        }
+    }
+
+    /**
+     * Visão de um apartamento.
+     */
+    private static final class ApartmentView extends Apartment implements View {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ColumnarFinancingSnapshot snapshot;
+        private final int row;
+
+        ApartmentView(ColumnarFinancingSnapshot snapshot, int row) {
+            super(0, 0, 0, 0, 0);
+            this.snapshot = snapshot;
+            this.row = row;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public double getPropertyValue() {
+            return snapshot.getPropertyValue(row);
+        }
+
+        @Override
+        public int getLoanTerm() {
+            return snapshot.getLoanTerm(row);
+        }
+
+        @Override
+        public double getInterestRate() {
+            return snapshot.getInterestRate(row);
+        }
+
+        @Override
+        public int getGarageSpaces() {
+            return (int) snapshot.firstAttribute(row);
+        }
+
+        @Override
+        public int getFloorNumber() {
+            return (int) snapshot.secondAttribute(row);
+        }
+
+        @Override
+        public void setGarageSpaces(int garageSpaces) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setFloorNumber(int floorNumber) {
+            throw readOnly();
+        }
+
+        @Override
+        public Apartment materialize() {
+            return new Apartment(getPropertyValue(), getLoanTerm(), getInterestRate(), getGarageSpaces(), getFloorNumber());
+        }
+
+        private Object writeReplace() {
+            return materialize();
+        }
+    }
+
+    /**
+     * Visão de um terreno.
+     */
+    private static final class LandView extends Land implements View {
+        private static final long serialVersionUID = 1L;
+
+        private final transient ColumnarFinancingSnapshot snapshot;
+        private final int row;
+
+        LandView(ColumnarFinancingSnapshot snapshot, int row) {
+            super(0, 0, 0, null);
+            this.snapshot = snapshot;
+            this.row = row;
+        }
+
+        @Override
+        public int getRow() {
+            return row;
+        }
+
+        @Override
+        public double getPropertyValue() {
+            return snapshot.getPropertyValue(row);
+        }
+
+        @Override
+        public int getLoanTerm() {
+            return snapshot.getLoanTerm(row);
+        }
+
+        @Override
+        public double getInterestRate() {
+            return snapshot.getInterestRate(row);
+        }
+
+        @Override
+        public String getZoneType() {
+            return snapshot.zoneType(row);
+        }
+
+        @Override
+        public void setZoneType(String zoneType) {
+            throw readOnly();
+        }
+
+        @Override
+        public Land materialize() {
+            return new Land(getPropertyValue(), getLoanTerm(), getInterestRate(), getZoneType());
+        }
+
+        private Object writeReplace() {
+            return materialize();
+        }
+    }
+
+    /**
+     * Lista de visões sobre todas as linhas do snapshot.
+     */
+    private final class Rows extends AbstractList<Financing> implements RandomAccess {
+        @Override
+        public Financing get(int index) {
+            return ColumnarFinancingSnapshot.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
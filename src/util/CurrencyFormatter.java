@@ -1,10 +1,38 @@
 // src/util/CurrencyFormatter.java
 package util;
 
+import metrics.FinancingMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
 import java.text.NumberFormat;
 import java.util.Locale;
 
+/**
+ * Formatação de valores monetários no padrão brasileiro (R$ 1.234,56).
+ * A formatação é feita diretamente nos caracteres, sem criar um NumberFormat a cada chamada,
+ * e produz exatamente o mesmo texto que {@code NumberFormat.getCurrencyInstance(new Locale("pt", "BR"))}:
+ * arredondamento HALF_EVEN sobre o valor binário exato do double, espaço não separável após o símbolo
+ * e sinal antes do símbolo. Não há estado compartilhado, portanto os métodos são thread-safe.
+ */
 public class CurrencyFormatter {
+    private static final char NO_BREAK_SPACE = '\u00A0';
+    private static final int SIGNIFICAND_BITS = 52;
+    private static final long SIGNIFICAND_MASK = (1L << SIGNIFICAND_BITS) - 1;
+    private static final int EXPONENT_BIAS = 1075;
+    private static final int MAX_BIASED_EXPONENT = 1023 + 42;
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    /**
+     * Formatador do JDK usado apenas para valores fora da faixa exata (infinitos, NaN e módulos a partir de 2^42).
+     */
+    private static final ThreadLocal<NumberFormat> FALLBACK =
+            ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(new Locale("pt", "BR")));
 
     /**
      * Formata um valor double para o formato de moeda brasileira (Real - BRL).
@@ -13,7 +41,135 @@ public class CurrencyFormatter {
      * @return O valor formatado como moeda brasileira.
      */
     public static String formatToBRL(double value) {
-        NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
-        return currencyFormatter.format(value);
+        return appendBRL(value, new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Acrescenta um valor formatado em reais ao final de um StringBuilder, sem alocações intermediárias.
+     *
+     * @param value O valor a ser formatado.
+     * @param out   O destino da formatação.
+     * @return O próprio StringBuilder informado.
+     */
+    public static StringBuilder appendBRL(double value, StringBuilder out) {
+        try {
+            write(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * Acrescenta um valor formatado em reais a um CharBuffer, sem alocações intermediárias.
+     *
+     * @param value O valor a ser formatado.
+     * @param out   O destino da formatação.
+     * @return O próprio CharBuffer informado.
+     */
+    public static CharBuffer appendBRL(double value, CharBuffer out) {
+        try {
+            write(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * Acrescenta um valor formatado em reais a qualquer Appendable (por exemplo, um Writer).
+     *
+     * @param value O valor a ser formatado.
+     * @param out   O destino da formatação.
+     * @return O próprio Appendable informado.
+     * @throws IOException Se o destino lançar um erro de entrada/saída.
+     */
+    public static <A extends Appendable> A appendBRL(double value, A out) throws IOException {
+        write(value, out);
+        return out;
+    }
+
+    /**
+     * Núcleo comum de todas as variantes de formatação, medido pelas métricas de formatação de moeda.
+     */
+    private static void write(double value, Appendable out) throws IOException {
+        long start = FinancingMetrics.start();
+        writeValue(value, out);
+        FinancingMetrics.recordFormatToBRL(start);
+    }
+
+    private static void writeValue(double value, Appendable out) throws IOException {
+        long cents = toCents(value);
+        if (cents < 0) {
+            out.append(FALLBACK.get().format(value));
+            return;
+        }
+
+        if (Double.doubleToRawLongBits(value) < 0) {
+            out.append('-');
+        }
+        out.append('R').append('$').append(NO_BREAK_SPACE);
+
+        long integerPart = cents / 100;
+        int fraction = (int) (cents % 100);
+        appendGrouped(integerPart, out);
+        out.append(',')
+                .append((char) ('0' + fraction / 10))
+                .append((char) ('0' + fraction % 10));
+    }
+
+    /**
+     * Converte o módulo do valor em centavos, arredondando em HALF_EVEN a partir da representação binária exata.
+     * Abaixo de 2^42 o espaçamento entre doubles é menor que 0,001, e o resultado coincide com o do NumberFormat,
+     * que arredonda a menor representação decimal do valor.
+     *
+     * @param value O valor a ser formatado.
+     * @return A quantidade de centavos, ou -1 se o valor estiver fora da faixa exata.
+     */
+    private static long toCents(double value) {
+        long bits = Double.doubleToRawLongBits(value) & Long.MAX_VALUE;
+        int biasedExponent = (int) (bits >>> SIGNIFICAND_BITS);
+        if (biasedExponent >= MAX_BIASED_EXPONENT) {
+            return -1;
+        }
+        long significand = bits & SIGNIFICAND_MASK;
+        if (biasedExponent == 0) {
+            biasedExponent = 1;
+        } else {
+            significand |= 1L << SIGNIFICAND_BITS;
+        }
+
+        // valor * 100 = significand * 100 / 2^shift, com significand * 100 < 2^60
+        long scaled = significand * 100;
+        int shift = EXPONENT_BIAS - biasedExponent;
+        if (shift >= 62) {
+            return 0;
+        }
+        long quotient = scaled >>> shift;
+        long remainder = scaled & ((1L << shift) - 1);
+        long half = 1L << (shift - 1);
+        if (remainder > half || (remainder == half && (quotient & 1) == 1)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
+    /**
+     * Escreve a parte inteira com pontos como separadores de milhar.
+     */
+    private static void appendGrouped(long value, Appendable out) throws IOException {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        for (int position = digits - 1; position >= 0; position--) {
+            long power = POWERS_OF_TEN[position];
+            int digit = (int) (value / power);
+            value -= digit * power;
+            out.append((char) ('0' + digit));
+            if (position > 0 && position % 3 == 0) {
+                out.append('.');
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,412 @@
+package util;
+
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codificação binária compacta e versionada de financiamentos, usada no lugar da serialização padrão do Java.
+ * <p>
+ * Formato (big-endian):
+ * <ul>
+ *     <li>cabeçalho: {@link #MAGIC} (int) e {@link #VERSION} (byte); os snapshots do diário usam
+ *     {@link #SNAPSHOT_VERSION}, e o cabeçalho traz em seguida a geração do diário já incluída no snapshot (long);</li>
+ *     <li>cada registro: tipo (byte), valor do imóvel (double), prazo (int), taxa de juros (double)
+ *     e os atributos do tipo:
+ *         <ul>
+ *             <li>casa: área construída (double) e tamanho do terreno (double);</li>
+ *             <li>apartamento: vagas de garagem (int) e andar (int);</li>
+ *             <li>terreno: índice do tipo de zona no dicionário (int, -1 para nulo); quando o índice é o
+ *             próximo livre, o texto vem em seguida, como tamanho (short) e bytes UTF-8.</li>
+ *         </ul>
+ *     </li>
+ * </ul>
+ * O dicionário de tipos de zona é construído durante a própria codificação, portanto cada tipo de zona é gravado
+ * uma única vez por fluxo. O acréscimo das casas não é gravado: é sempre o acréscimo padrão de {@link House}.
+ */
+public final class FinancingCodec {
+    /**
+     * Identificador do formato: "HFSC".
+     */
+    public static final int MAGIC = 0x48465343;
+    public static final byte VERSION = 1;
+    public static final byte SNAPSHOT_VERSION = 2;
+    public static final int HEADER_SIZE = 5;
+
+    /**
+     * Geração retornada para fluxos sem geração do diário (versão 1).
+     */
+    public static final long NO_GENERATION = -1;
+
+    static final byte TAG_HOUSE = 1;
+    static final byte TAG_APARTMENT = 2;
+    static final byte TAG_LAND = 3;
+
+    private static final int COMMON_SIZE = 1 + 8 + 4 + 8;
+    private static final int MAX_ZONE_TYPE_BYTES = 0xFFFF;
+
+    private FinancingCodec() {
+    }
+
+    /**
+     * Grava o cabeçalho do formato.
+     *
+     * @param out O destino.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public static void writeHeader(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * Grava o cabeçalho do formato.
+     *
+     * @param out O destino.
+     */
+    public static void writeHeader(ByteBuffer out) {
+        out.putInt(MAGIC).put(VERSION);
+    }
+
+    /**
+     * Grava o cabeçalho de um snapshot do diário, com a geração do diário cujos registros já estão no snapshot.
+     *
+     * @param out        O destino.
+     * @param generation A geração do diário.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public static void writeHeader(DataOutput out, long generation) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(SNAPSHOT_VERSION);
+        out.writeLong(generation);
+    }
+
+    /**
+     * Lê e valida o cabeçalho do formato.
+     *
+     * @param in A origem.
+     * @return A geração do diário incluída no snapshot, ou {@link #NO_GENERATION}.
+     * @throws IOException Se o cabeçalho for inválido ou a versão não for suportada.
+     */
+    public static long readHeader(DataInput in) throws IOException {
+        return checkHeader(in.readInt(), in.readByte()) ? in.readLong() : NO_GENERATION;
+    }
+
+    /**
+     * Lê e valida o cabeçalho do formato.
+     *
+     * @param in A origem.
+     * @return A geração do diário incluída no snapshot, ou {@link #NO_GENERATION}.
+     * @throws IOException Se o cabeçalho for inválido ou a versão não for suportada.
+     */
+    public static long readHeader(ByteBuffer in) throws IOException {
+        if (in.remaining() < HEADER_SIZE) {
+            throw new StreamCorruptedException("Cabeçalho de financiamentos incompleto.");
+        }
+        if (!checkHeader(in.getInt(), in.get())) {
+            return NO_GENERATION;
+        }
+        if (in.remaining() < Long.BYTES) {
+            throw new StreamCorruptedException("Cabeçalho de financiamentos incompleto.");
+        }
+        return in.getLong();
+    }
+
+    /**
+     * Verifica se os primeiros bytes informados correspondem ao identificador do formato.
+     *
+     * @param firstBytes Os quatro primeiros bytes de um arquivo ou registro, como um int big-endian.
+     * @return Se os bytes identificam o formato.
+     */
+    public static boolean isEncoded(int firstBytes) {
+        return firstBytes == MAGIC;
+    }
+
+    /**
+     * Valida o identificador e a versão.
+     *
+     * @return Se a versão traz a geração do diário em seguida.
+     */
+    private static boolean checkHeader(int magic, byte version) throws IOException {
+        if (magic != MAGIC) {
+            throw new StreamCorruptedException("Arquivo de financiamentos em formato desconhecido.");
+        }
+        if (version != VERSION && version != SNAPSHOT_VERSION) {
+            throw new StreamCorruptedException("Versão não suportada do formato de financiamentos: " + version);
+        }
+        return version == SNAPSHOT_VERSION;
+    }
+
+    /**
+     * Codifica uma lista completa (cabeçalho e registros) em um array de bytes.
+     *
+     * @param financings Os financiamentos.
+     * @return Os bytes codificados.
+     */
+    public static byte[] encode(List<? extends Financing> financings) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + financings.size() * 40 + 64);
+        writeHeader(buffer);
+        Encoder encoder = new Encoder();
+        for (Financing financing : financings) {
+            while (!encoder.write(financing, buffer)) {
+                ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                buffer = larger.put(buffer);
+            }
+        }
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Decodifica uma lista completa (cabeçalho e registros).
+     *
+     * @param in Os bytes codificados, da posição atual até o limite.
+     * @return Os financiamentos decodificados.
+     * @throws IOException Se os dados forem inválidos ou estiverem incompletos.
+     */
+    public static ArrayList<Financing> decode(ByteBuffer in) throws IOException {
+        readHeader(in);
+        Decoder decoder = new Decoder();
+        ArrayList<Financing> financings = new ArrayList<>(in.remaining() / 32);
+        while (in.hasRemaining()) {
+            Financing financing = decoder.read(in);
+            if (financing == null) {
+                throw new StreamCorruptedException("Registro de financiamento incompleto.");
+            }
+            financings.add(financing);
+        }
+        return financings;
+    }
+
+    /**
+     * Codificador de registros. Mantém o dicionário de tipos de zona já gravados no fluxo,
+     * portanto cada fluxo deve usar o seu próprio codificador. Não é seguro para uso concorrente.
+     */
+    public static final class Encoder {
+        private final Map<String, Integer> zoneTypes = new HashMap<>();
+
+        /**
+         * Grava um financiamento.
+         *
+         * @param financing O financiamento.
+         * @param out       O destino.
+         * @throws IOException Se ocorrer um erro de entrada/saída.
+         */
+        public void write(Financing financing, DataOutput out) throws IOException {
+            byte tag = tagOf(financing);
+            out.writeByte(tag);
+            out.writeDouble(financing.getPropertyValue());
+            out.writeInt(financing.getLoanTerm());
+            out.writeDouble(financing.getInterestRate());
+            switch (tag) {
+                case TAG_HOUSE -> {
+                    House house = (House) financing;
+                    out.writeDouble(house.getBuiltAreaSize());
+                    out.writeDouble(house.getLandSize());
+                }
+                case TAG_APARTMENT -> {
+                    Apartment apartment = (Apartment) financing;
+                    out.writeInt(apartment.getGarageSpaces());
+                    out.writeInt(apartment.getFloorNumber());
+                }
+                default -> {
+                    String zoneType = ((Land) financing).getZoneType();
+                    int index = zoneIndex(zoneType);
+                    out.writeInt(index);
+                    if (index == zoneTypes.size()) {
+                        byte[] bytes = zoneTypeBytes(zoneType);
+                        out.writeShort(bytes.length);
+                        out.write(bytes);
+                        zoneTypes.put(zoneType, index);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Grava um financiamento, se houver espaço suficiente no buffer.
+         * Quando não há espaço, nada é gravado e o buffer não é alterado.
+         *
+         * @param financing O financiamento.
+         * @param out       O destino.
+         * @return Se o financiamento foi gravado.
+         */
+        public boolean write(Financing financing, ByteBuffer out) {
+            byte tag = tagOf(financing);
+            switch (tag) {
+                case TAG_HOUSE -> {
+                    if (out.remaining() < COMMON_SIZE + 16) {
+                        return false;
+                    }
+                    House house = (House) financing;
+                    putCommon(tag, financing, out);
+                    out.putDouble(house.getBuiltAreaSize()).putDouble(house.getLandSize());
+                }
+                case TAG_APARTMENT -> {
+                    if (out.remaining() < COMMON_SIZE + 8) {
+                        return false;
+                    }
+                    Apartment apartment = (Apartment) financing;
+                    putCommon(tag, financing, out);
+                    out.putInt(apartment.getGarageSpaces()).putInt(apartment.getFloorNumber());
+                }
+                default -> {
+                    String zoneType = ((Land) financing).getZoneType();
+                    int index = zoneIndex(zoneType);
+                    boolean newZoneType = index == zoneTypes.size();
+                    byte[] bytes = newZoneType ? zoneTypeBytes(zoneType) : null;
+                    if (out.remaining() < COMMON_SIZE + 4 + (newZoneType ? 2 + bytes.length : 0)) {
+                        return false;
+                    }
+                    putCommon(tag, financing, out);
+                    out.putInt(index);
+                    if (newZoneType) {
+                        out.putShort((short) bytes.length).put(bytes);
+                        zoneTypes.put(zoneType, index);
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Índice do tipo de zona no dicionário: o índice existente, o próximo livre para um texto novo ou -1 para nulo.
+         */
+        private int zoneIndex(String zoneType) {
+            if (zoneType == null) {
+                return -1;
+            }
+            Integer index = zoneTypes.get(zoneType);
+            return index != null ? index : zoneTypes.size();
+        }
+
+        private static void putCommon(byte tag, Financing financing, ByteBuffer out) {
+            out.put(tag)
+                    .putDouble(financing.getPropertyValue())
+                    .putInt(financing.getLoanTerm())
+                    .putDouble(financing.getInterestRate());
+        }
+
+        private static byte[] zoneTypeBytes(String zoneType) {
+            byte[] bytes = zoneType.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_ZONE_TYPE_BYTES) {
+                throw new IllegalArgumentException("Tipo de zona muito longo para ser gravado.");
+            }
+            return bytes;
+        }
+
+        private static byte tagOf(Financing financing) {
+            return switch (FinancingTypesTranslated.fromFinancing(financing)) {
+                case HOUSE -> TAG_HOUSE;
+                case APARTMENT -> TAG_APARTMENT;
+                case LAND -> TAG_LAND;
+            };
+        }
+    }
+
+    /**
+     * Decodificador de registros. Mantém o dicionário de tipos de zona lidos do fluxo,
+     * portanto cada fluxo deve usar o seu próprio decodificador. Não é seguro para uso concorrente.
+     */
+    public static final class Decoder {
+        private final List<String> zoneTypes = new ArrayList<>();
+
+        /**
+         * Lê um financiamento.
+         *
+         * @param in A origem.
+         * @return O financiamento lido.
+         * @throws java.io.EOFException Se a origem terminar, inclusive antes do início de um registro.
+         * @throws IOException          Se o registro for inválido.
+         */
+        public Financing read(DataInput in) throws IOException {
+            byte tag = in.readByte();
+            double propertyValue = in.readDouble();
+            int loanTerm = in.readInt();
+            double interestRate = in.readDouble();
+            return switch (tag) {
+                case TAG_HOUSE -> new House(propertyValue, loanTerm, interestRate, in.readDouble(), in.readDouble());
+                case TAG_APARTMENT -> new Apartment(propertyValue, loanTerm, interestRate, in.readInt(), in.readInt());
+                case TAG_LAND -> {
+                    int index = in.readInt();
+                    String zoneType;
+                    if (index == zoneTypes.size()) {
+                        byte[] bytes = new byte[in.readUnsignedShort()];
+                        in.readFully(bytes);
+                        zoneType = new String(bytes, StandardCharsets.UTF_8);
+                        zoneTypes.add(zoneType);
+                    } else {
+                        zoneType = zoneType(index);
+                    }
+                    yield new Land(propertyValue, loanTerm, interestRate, zoneType);
+                }
+                default -> throw new StreamCorruptedException("Tipo de registro de financiamento desconhecido: " + tag);
+            };
+        }
+
+        /**
+         * Lê um financiamento, se o buffer contiver o registro completo.
+         * Quando o registro está incompleto, retorna null e o buffer volta à posição original,
+         * para que a leitura seja repetida depois que mais bytes forem recebidos.
+         *
+         * @param in A origem.
+         * @return O financiamento lido, ou null se o registro estiver incompleto.
+         * @throws IOException Se o registro for inválido.
+         */
+        public Financing read(ByteBuffer in) throws IOException {
+            int start = in.position();
+            try {
+                byte tag = in.get();
+                double propertyValue = in.getDouble();
+                int loanTerm = in.getInt();
+                double interestRate = in.getDouble();
+                return switch (tag) {
+                    case TAG_HOUSE -> new House(propertyValue, loanTerm, interestRate, in.getDouble(), in.getDouble());
+                    case TAG_APARTMENT -> new Apartment(propertyValue, loanTerm, interestRate, in.getInt(), in.getInt());
+                    case TAG_LAND -> {
+                        int index = in.getInt();
+                        String zoneType;
+                        if (index == zoneTypes.size()) {
+                            byte[] bytes = new byte[Short.toUnsignedInt(in.getShort())];
+                            in.get(bytes);
+                            zoneType = new String(bytes, StandardCharsets.UTF_8);
+                            zoneTypes.add(zoneType);
+                        } else {
+                            zoneType = zoneType(index);
+                        }
+                        yield new Land(propertyValue, loanTerm, interestRate, zoneType);
+                    }
+                    default -> throw new StreamCorruptedException("Tipo de registro de financiamento desconhecido: " + tag);
+                };
+            } catch (BufferUnderflowException e) {
+                in.position(start);
+                return null;
+            }
+        }
+
+        private String zoneType(int index) throws StreamCorruptedException {
+            if (index == -1) {
+                return null;
+            }
+            if (index < 0 || index >= zoneTypes.size()) {
+                throw new StreamCorruptedException("Índice de tipo de zona inválido: " + index);
+            }
+            return zoneTypes.get(index);
+        }
+    }
+}
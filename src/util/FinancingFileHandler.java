@@ -1,13 +1,20 @@
 package util;
 
-import constants.FormattingConstants;
+import metrics.FinancingFileEvent;
+import metrics.FinancingMetrics;
 import model.Financing;
-import model.House;
-import model.Apartment;
-import model.Land;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 /**
  * Classe utilitária para manipulação de arquivos relacionados a objetos de financiamento.
@@ -15,6 +22,8 @@ import java.util.ArrayList;
  */
 public class FinancingFileHandler {
 
+    private static final FinancingReportWriter REPORT_WRITER = new FinancingReportWriter();
+
     /**
      * Salva um objeto de financiamento em um arquivo de texto.
      *
@@ -23,12 +32,36 @@ public class FinancingFileHandler {
      * @throws IOException Se ocorrer um erro de entrada/saída.
      */
     public static void saveToFile(Financing financing, String fileName) throws IOException {
+        long start = FinancingMetrics.start();
+        FinancingFileEvent event = new FinancingFileEvent().start();
+        boolean measured = FinancingMetrics.isRecording(start) || event.isEnabled();
+        long sizeBefore = measured ? new File(fileName).length() : 0;
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true))) {
-            writer.write(financing.toString());
+            REPORT_WRITER.write(financing, writer);
             writer.newLine();
 
             writer.flush();
         }
+        if (measured) {
+            long bytes = new File(fileName).length() - sizeBefore;
+            FinancingMetrics.recordSave(start, bytes);
+            event.commit(FinancingFileEvent.SAVE, fileName, bytes, 1);
+        }
+    }
+
+    /**
+     * Salva vários objetos de financiamento em um arquivo de texto, acrescentando-os ao final do arquivo.
+     * Os blocos são gerados diretamente no canal do arquivo, no mesmo formato de {@link #saveToFile}.
+     *
+     * @param financings Os objetos de financiamento a serem salvos.
+     * @param fileName   O nome do arquivo onde os objetos serão salvos.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public static void saveAllToFile(Iterable<? extends Financing> financings, String fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            REPORT_WRITER.writeAll(financings, channel, Charset.defaultCharset());
+        }
     }
 
     /**
@@ -39,159 +72,192 @@ public class FinancingFileHandler {
      * @throws IOException Se ocorrer um erro de entrada/saída.
      */
     public static ArrayList<Financing> readFromFile(String fileName) throws IOException {
+        long start = FinancingMetrics.start();
+        FinancingFileEvent event = new FinancingFileEvent().start();
         ArrayList<Financing> financings = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            StringBuilder block = new StringBuilder();
-            boolean isInsideBlock = false;
-
-            while ((line = reader.readLine()) != null) {
-                if (line.startsWith(FormattingConstants.SEPARATOR_LINE)) {
-                    if (isInsideBlock) {
-                        financings.add(parseFinancingBlock(block.toString()));
-                        block.setLength(0);
-                    }
-                    isInsideBlock = !isInsideBlock;
-                } else if (isInsideBlock) {
-                    block.append(line).append("\n");
-                }
-            }
-
-            if (block.length() > 0) {
-                financings.add(parseFinancingBlock(block.toString()));
-            }
+        try (FinancingReportParser parser = new FinancingReportParser(new FileReader(fileName))) {
+            parser.forEachRemaining(financings::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (FinancingMetrics.isRecording(start) || event.isEnabled()) {
+            long bytes = new File(fileName).length();
+            FinancingMetrics.recordRead(start, financings.size(), bytes);
+            event.commit(FinancingFileEvent.READ, fileName, bytes, financings.size());
         }
         return financings;
     }
 
     /**
-     * Converte um bloco de texto em um objeto de financiamento.
+     * Lê objetos de financiamento de um arquivo de texto em paralelo, usando todos os núcleos disponíveis.
+     * O arquivo é mapeado em memória e dividido em faixas alinhadas aos blocos de financiamento.
      *
-     * @param block O bloco de texto a ser convertido.
-     * @return Um objeto de financiamento criado a partir do bloco de texto.
-     * @throws IllegalArgumentException Se o bloco contiver um tipo desconhecido.
+     * @param fileName O nome do arquivo para leitura.
+     * @return A mesma lista de objetos de financiamento retornada por {@link #readFromFile(String)}.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
      */
-    private static Financing parseFinancingBlock(String block) {
-        String[] lines = block.split("\n");
-        String type = null;
-        double propertyValue = 0;
-        int loanTerm = 0;
-        double interestRate = 0;
-
-        for (String line : lines) {
-            if (line.contains("Tipo: Casa")) {
-                type = "House";
-            } else if (line.contains("Tipo: Apartamento")) {
-                type = "Apartment";
-            } else if (line.contains("Tipo de imóvel: Terreno")) {
-                type = "Land";
-            } else if (line.contains("Valor do imóvel:")) {
-                propertyValue = extractDouble(lines, "Valor do imóvel:");
-            } else if (line.contains("Prazo:")) {
-                loanTerm = extractInt(lines, "Prazo:");
-            } else if (line.contains("Taxa de juros")) {
-                interestRate = extractDouble(lines, "Taxa de juros");
-            }
-        }
-
-        switch (type) {
-            case "House":
-                double houseArea = extractDouble(lines, "Tamanho da área construída:");
-                double garageSize = extractDouble(lines, "Tamanho do terreno:");
-                return new House(propertyValue, loanTerm, interestRate, houseArea, garageSize);
-
-            case "Apartment":
-                int garageSpaces = extractInt(lines, "Número de vagas na garagem:");
-                int floor = extractInt(lines, "Número do andar:");
-                return new Apartment(propertyValue, loanTerm, interestRate, garageSpaces, floor);
+    public static ArrayList<Financing> readFromFileParallel(String fileName) throws IOException {
+        return ParallelFinancingReader.readFromFile(fileName, ForkJoinPool.commonPool());
+    }
 
-            case "Land":
-                String zoning = extractString(lines, "Tipo de zona:");
-                return new Land(propertyValue, loanTerm, interestRate, zoning);
+    /**
+     * Lê objetos de financiamento de um arquivo de texto sob demanda, sem carregar o arquivo inteiro.
+     * O Stream retornado deve ser fechado após o uso para liberar o arquivo.
+     *
+     * @param fileName O nome do arquivo para leitura.
+     * @return Um Stream com os financiamentos lidos do arquivo.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public static Stream<Financing> streamFromFile(String fileName) throws IOException {
+        return new FinancingReportParser(new FileReader(fileName)).stream();
+    }
 
-            default:
-                throw new IllegalArgumentException("Tipo desconhecido no bloco: " + block);
-        }
+    /**
+     * Serializa uma lista de objetos de financiamento para um arquivo binário, no formato de {@link FinancingCodec}.
+     * O arquivo é confirmado em disco (fsync) antes de ser fechado.
+     *
+     * @param financings A lista de objetos de financiamento a ser serializada.
+     * @param fileName   O nome do arquivo onde os dados serão salvos.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public static void serializeFinancings(List<? extends Financing> financings, String fileName) throws IOException {
+        serializeFinancings(financings, fileName, FinancingCodec.NO_GENERATION);
     }
 
     /**
-     * Extrai o double de um array de linhas com base nos identificadores de items dos blocos de financiamento.
+     * Serializa uma lista de objetos de financiamento como snapshot do diário, registrando no cabeçalho
+     * a geração do diário cujos registros já estão incluídos na lista.
      *
-     * @param lines O array de linhas.
-     * @param prefix O prefixo do texto a ser buscado.
-     * @return O valor double extraído ou 0 se não encontrado.
+     * @param financings        A lista de objetos de financiamento a ser serializada.
+     * @param fileName          O nome do arquivo onde os dados serão salvos.
+     * @param journalGeneration A geração do diário, ou {@link FinancingCodec#NO_GENERATION} para um arquivo comum.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
      */
-    private static double extractDouble(String[] lines, String prefix) {
-        for (String line : lines) {
-            if (line.contains(prefix)) {
-                String value = line.replace(prefix, "")
-                        .replaceAll("[^0-9,.-]", "")
-                        .replace(".", "")
-                        .replace(",", ".");
-                return Double.parseDouble(value);
+    public static void serializeFinancings(List<? extends Financing> financings, String fileName, long journalGeneration)
+            throws IOException {
+        long start = FinancingMetrics.start();
+        FinancingFileEvent event = new FinancingFileEvent().start();
+        try (FileOutputStream file = new FileOutputStream(fileName);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            if (journalGeneration == FinancingCodec.NO_GENERATION) {
+                FinancingCodec.writeHeader(out);
+            } else {
+                FinancingCodec.writeHeader(out, journalGeneration);
             }
+            FinancingCodec.Encoder encoder = new FinancingCodec.Encoder();
+            for (Financing financing : financings) {
+                encoder.write(financing, out);
+            }
+            // Confirma em disco antes de fechar: quem chama costuma renomear o arquivo sobre o original em seguida
+            out.flush();
+            file.getFD().sync();
+        }
+        if (FinancingMetrics.isRecording(start) || event.isEnabled()) {
+            long bytes = new File(fileName).length();
+            FinancingMetrics.recordSerialize(start, bytes);
+            event.commit(FinancingFileEvent.SERIALIZE, fileName, bytes, financings.size());
         }
-        return 0;
     }
 
-
     /**
-     * Extrai o inteiro de um array de linhas com base nos identificadores de items dos blocos de financiamento.
+     * Desserializa uma lista de objetos de financiamento de um arquivo binário.
+     * Aceita o formato de {@link FinancingCodec} e também arquivos antigos gravados com a serialização padrão do Java.
      *
-     * @param lines O array de linhas.
-     * @param prefix O prefixo do texto a ser buscado.
-     * @return O valor inteiro extraído ou 0 se não encontrado.
+     * @param fileName O nome do arquivo de onde os dados serão lidos.
+     * @return Uma lista de objetos de financiamento desserializados.
+     * @throws IOException            Se ocorrer um erro de entrada/saída.
+     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
      */
-    private static int extractInt(String[] lines, String prefix) {
-        for (String line : lines) {
-            if (line.contains(prefix)) {
-                String value = line.replace(prefix, "").replaceAll("[^0-9]", "");
-                return Integer.parseInt(value);
-            }
+    public static ArrayList<Financing> deserializeFinancings(String fileName) throws IOException, ClassNotFoundException {
+        FinancingFileEvent event = new FinancingFileEvent().start();
+        ArrayList<Financing> financings;
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(fileName), 1 << 16)) {
+            financings = readSerialized(in);
+        }
+        if (event.isEnabled()) {
+            event.commit(FinancingFileEvent.DESERIALIZE, fileName, new File(fileName).length(), financings.size());
         }
-        return 0;
+        return financings;
     }
 
     /**
-     * Extrai a string de um array de linhas com base nos identificadores de items dos blocos de financiamento.
+     * Lê apenas o cabeçalho de um arquivo serializado e retorna a geração do diário incluída nele.
      *
-     * @param lines O array de linhas.
-     * @param prefix O prefixo do texto a ser buscado.
-     * @return O valor string extraído ou vazio se não encontrado.
+     * @param fileName O nome do arquivo serializado.
+     * @return A geração do diário, ou {@link FinancingCodec#NO_GENERATION} se o arquivo não a registrar
+     * (versão 1 ou serialização padrão do Java).
+     * @throws IOException Se ocorrer um erro de entrada/saída ou o cabeçalho for inválido.
      */
-    private static String extractString(String[] lines, String prefix) {
-        for (String line : lines) {
-            if (line.contains(prefix)) {
-                return line.replace(prefix, "").trim();
+    public static long readJournalGeneration(String fileName) throws IOException {
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(fileName), 64)) {
+            if (!isEncoded(in)) {
+                return FinancingCodec.NO_GENERATION;
             }
+            return FinancingCodec.readHeader(new DataInputStream(in));
         }
-        return "";
     }
 
     /**
-     * Serializa uma lista de objetos de financiamento para um arquivo binário.
+     * Confirma em disco (fsync) o conteúdo de um arquivo.
      *
-     * @param financings A lista de objetos de financiamento a ser serializada.
-     * @param fileName   O nome do arquivo onde os dados serão salvos.
+     * @param path O arquivo.
      * @throws IOException Se ocorrer um erro de entrada/saída.
      */
-    public static void serializeFinancings(ArrayList<Financing> financings, String fileName) throws IOException {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(fileName))) {
-            oos.writeObject(financings);
+    public static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.force(true);
         }
     }
 
     /**
-     * Desserializa uma lista de objetos de financiamento de um arquivo binário.
+     * Confirma em disco a entrada de diretório de um arquivo, para que uma renomeação sobreviva a uma queda de energia.
+     * Em sistemas que não permitem abrir diretórios (como o Windows), a renomeação já é durável e nada é feito.
      *
-     * @param fileName O nome do arquivo de onde os dados serão lidos.
-     * @return Uma lista de objetos de financiamento desserializados.
-     * @throws IOException            Se ocorrer um erro de entrada/saída.
-     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
+     * @param path O arquivo cujo diretório será confirmado.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
      */
-    public static ArrayList<Financing> deserializeFinancings(String fileName) throws IOException, ClassNotFoundException {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(fileName))) {
-            return (ArrayList<Financing>) ois.readObject();
+    public static void forceDirectory(Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Lê os financiamentos de um fluxo no formato de {@link FinancingCodec} ou da serialização padrão do Java.
+     */
+    private static ArrayList<Financing> readSerialized(BufferedInputStream in) throws IOException, ClassNotFoundException {
+        if (!isEncoded(in)) {
+            return (ArrayList<Financing>) new ObjectInputStream(in).readObject();
+        }
+        DataInputStream data = new DataInputStream(in);
+        FinancingCodec.readHeader(data);
+        FinancingCodec.Decoder decoder = new FinancingCodec.Decoder();
+        ArrayList<Financing> financings = new ArrayList<>();
+        while (true) {
+            in.mark(1);
+            if (in.read() < 0) {
+                return financings;
+            }
+            in.reset();
+            financings.add(decoder.read(data));
+        }
+    }
+
+    /**
+     * Verifica, sem consumir os bytes, se o fluxo começa com o cabeçalho de {@link FinancingCodec}.
+     */
+    private static boolean isEncoded(BufferedInputStream in) throws IOException {
+        in.mark(Integer.BYTES);
+        byte[] first = in.readNBytes(Integer.BYTES);
+        in.reset();
+        return first.length == Integer.BYTES
+                && FinancingCodec.isEncoded(ByteBuffer.wrap(first).getInt());
+    }
+}
@@ -0,0 +1,368 @@
+package util;
+
+import model.Financing;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Diário (journal) binário de financiamentos, somente de acréscimo.
+ * Cada inclusão grava um único registro no final do arquivo, evitando reescrever todo o snapshot a cada financiamento.
+ * <p>
+ * O arquivo começa com {@link #MAGIC} (int) e a geração do diário (long), seguidos dos registros.
+ * Formato de cada registro: tamanho do payload (int), CRC32 do payload (int) e o payload,
+ * que é o financiamento codificado individualmente com {@link FinancingCodec}.
+ * Registros antigos, gravados com a serialização padrão do Java, continuam sendo lidos, assim como diários antigos
+ * sem cabeçalho, que são tratados como a geração 0.
+ * <p>
+ * O snapshot é o arquivo gerado por {@link FinancingFileHandler#serializeFinancings(List, String, long)}, que registra
+ * no cabeçalho a geração do diário já incluída nele. Os registros do diário só são reaplicados quando a geração do
+ * diário é maior que a do snapshot; assim, uma queda entre a troca do snapshot e o esvaziamento do diário não faz
+ * com que os registros sejam lidos duas vezes.
+ */
+public class FinancingJournal implements Closeable {
+    /**
+     * Identificador do cabeçalho do diário: "HFJN".
+     */
+    public static final int MAGIC = 0x48464A4E;
+
+    private static final int FILE_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    private final Path snapshotPath;
+    private final FileChannel channel;
+    private long generation;
+    private long recordsStart;
+
+    /**
+     * Abre (ou cria) o diário e recupera um eventual registro incompleto no final do arquivo.
+     *
+     * @param journalFileName  O nome do arquivo do diário.
+     * @param snapshotFileName O nome do arquivo de snapshot.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public FinancingJournal(String journalFileName, String snapshotFileName) throws IOException {
+        this.snapshotPath = Paths.get(snapshotFileName);
+        this.channel = FileChannel.open(Paths.get(journalFileName), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        readFileHeader();
+        recover();
+        long snapshotGeneration = snapshotGeneration();
+        if (channel.size() == 0) {
+            // Diário novo, ou esvaziado por uma compactação interrompida antes de gravar o cabeçalho
+            reset(Math.max(0, snapshotGeneration + 1));
+        } else if (generation <= snapshotGeneration) {
+            // Compactação interrompida depois da troca do snapshot: os registros já estão no snapshot
+            reset(snapshotGeneration + 1);
+        }
+    }
+
+    /**
+     * Acrescenta um financiamento ao final do diário.
+     *
+     * @param financing O financiamento a ser gravado.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public synchronized void append(Financing financing) throws IOException {
+        byte[] payload = toBytes(financing);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+
+        long start = channel.size();
+        long position = start;
+        try {
+            while (record.hasRemaining()) {
+                position += channel.write(record, position);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // Descarta o registro parcial, para que os próximos não fiquem depois de um registro inválido
+            try {
+                channel.truncate(start);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Carrega todos os financiamentos: o conteúdo do snapshot seguido dos registros do diário.
+     *
+     * @return A lista completa de financiamentos.
+     * @throws IOException            Se ocorrer um erro de entrada/saída.
+     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
+     */
+    public synchronized ArrayList<Financing> load() throws IOException, ClassNotFoundException {
+        ArrayList<Financing> financings = Files.exists(snapshotPath)
+                ? FinancingFileHandler.deserializeFinancings(snapshotPath.toString())
+                : new ArrayList<>();
+        replaySince(new Position(generation, recordsStart), financings::add);
+        return financings;
+    }
+
+    /**
+     * Carrega todos os financiamentos, como {@link #load()}, e retorna a posição do diário até onde foram lidos,
+     * para que as próximas leituras tragam apenas os registros novos com {@link #replaySince}.
+     *
+     * @param sink Quem recebe os financiamentos, na ordem.
+     * @return A posição logo após o último registro lido.
+     * @throws IOException            Se ocorrer um erro de entrada/saída.
+     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
+     */
+    public synchronized Position load(Consumer<? super Financing> sink) throws IOException, ClassNotFoundException {
+        if (Files.exists(snapshotPath)) {
+            FinancingFileHandler.deserializeFinancings(snapshotPath.toString()).forEach(sink);
+        }
+        return replaySince(new Position(generation, recordsStart), sink);
+    }
+
+    /**
+     * Lê apenas os registros gravados depois de uma posição retornada anteriormente.
+     *
+     * @param from A posição da leitura anterior.
+     * @param sink Quem recebe os financiamentos, na ordem.
+     * @return A nova posição, ou null se a posição não vale mais (o diário foi compactado desde então)
+     * e é preciso carregar tudo de novo com {@link #load(Consumer)}.
+     * @throws IOException            Se ocorrer um erro de entrada/saída.
+     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
+     */
+    public synchronized Position replaySince(Position from, Consumer<? super Financing> sink)
+            throws IOException, ClassNotFoundException {
+        if (from.generation() != generation || from.offset() < recordsStart || from.offset() > channel.size()) {
+            return null;
+        }
+        // Registros que o snapshot já inclui (compactação interrompida) são percorridos, mas não reaplicados
+        ArrayList<byte[]> payloads = generation > snapshotGeneration() ? new ArrayList<>() : null;
+        long end = scan(from.offset(), payloads);
+        if (payloads != null) {
+            for (byte[] payload : payloads) {
+                sink.accept(fromBytes(payload));
+            }
+        }
+        return new Position(generation, end);
+    }
+
+    /**
+     * Grava um novo snapshot com todos os financiamentos e esvazia o diário (compactação).
+     * O snapshot é escrito em um arquivo temporário, confirmado em disco e renomeado, para nunca deixar um snapshot
+     * parcial; ele registra a geração atual do diário, que só então é esvaziado e passa para a geração seguinte.
+     *
+     * @throws IOException            Se ocorrer um erro de entrada/saída.
+     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
+     */
+    public synchronized void compact() throws IOException, ClassNotFoundException {
+        ArrayList<Financing> financings = load();
+        compact((fileName, journalGeneration) -> FinancingFileHandler.serializeFinancings(financings, fileName, journalGeneration));
+    }
+
+    /**
+     * Compacta o diário com um snapshot gravado por quem já mantém a carteira em memória, sem recarregá-la dos arquivos.
+     * O conteúdo gravado deve ser o snapshot atual seguido de todos os registros do diário.
+     *
+     * @param writer Quem grava o snapshot no arquivo temporário.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public synchronized void compact(SnapshotWriter writer) throws IOException {
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        writer.write(temporary.toString(), generation);
+        FinancingFileHandler.force(temporary);
+        Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FinancingFileHandler.forceDirectory(snapshotPath);
+        reset(generation + 1);
+    }
+
+    /**
+     * Posição de leitura do diário.
+     *
+     * @param generation A geração do diário.
+     * @param offset     O deslocamento logo após o último registro lido.
+     */
+    public record Position(long generation, long offset) {
+    }
+
+    /**
+     * Gravação de um snapshot do diário.
+     */
+    @FunctionalInterface
+    public interface SnapshotWriter {
+        /**
+         * Grava o snapshot.
+         *
+         * @param fileName          O arquivo de destino.
+         * @param journalGeneration A geração do diário a ser registrada no cabeçalho do snapshot.
+         * @throws IOException Se ocorrer um erro de entrada/saída.
+         */
+        void write(String fileName, long journalGeneration) throws IOException;
+    }
+
+    /**
+     * Retorna a geração atual do diário.
+     *
+     * @return A geração do diário.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Retorna o tamanho atual do diário em bytes.
+     *
+     * @return O tamanho do diário.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Lê o cabeçalho do diário. Um arquivo sem o cabeçalho é um diário antigo (geração 0, registros desde o início)
+     * ou um cabeçalho incompleto, que é descartado.
+     */
+    private void readFileHeader() throws IOException {
+        generation = 0;
+        recordsStart = 0;
+        long size = channel.size();
+        if (size < Integer.BYTES) {
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.limit((int) Math.min(FILE_HEADER_SIZE, size));
+        readFully(header, 0);
+        if (header.getInt(0) != MAGIC) {
+            return;
+        }
+        if (size < FILE_HEADER_SIZE) {
+            channel.truncate(0);
+            return;
+        }
+        generation = header.getLong(Integer.BYTES);
+        recordsStart = FILE_HEADER_SIZE;
+    }
+
+    /**
+     * Esvazia o diário e passa para a geração informada. O diário é truncado antes de o cabeçalho ser trocado, para
+     * que registros já incluídos no snapshot nunca fiquem sob uma geração mais nova que a dele.
+     */
+    private void reset(long newGeneration) throws IOException {
+        channel.truncate(Math.min(recordsStart, channel.size()));
+        channel.force(true);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC).putLong(newGeneration).flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+        channel.force(true);
+        generation = newGeneration;
+        recordsStart = FILE_HEADER_SIZE;
+    }
+
+    /**
+     * Geração do diário registrada no snapshot, ou {@link FinancingCodec#NO_GENERATION} se não houver snapshot.
+     */
+    private long snapshotGeneration() throws IOException {
+        return Files.exists(snapshotPath)
+                ? FinancingFileHandler.readJournalGeneration(snapshotPath.toString())
+                : FinancingCodec.NO_GENERATION;
+    }
+
+    /**
+     * Percorre o diário e trunca o arquivo no último registro íntegro,
+     * descartando um registro parcialmente gravado (por exemplo, após uma queda de energia).
+     */
+    private void recover() throws IOException {
+        long validEnd = scan(recordsStart, null);
+        if (validEnd < channel.size()) {
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Lê os registros em sequência, validando tamanho e CRC32 de cada um.
+     *
+     * @param from Posição do primeiro registro.
+     * @param sink Lista que recebe o payload de cada registro, ou null para apenas validar.
+     * @return A posição logo após o último registro íntegro.
+     */
+    private long scan(long from, ArrayList<byte[]> sink) throws IOException {
+        long size = channel.size();
+        long position = from;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        CRC32 crc = new CRC32();
+
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < 0 || length > MAX_RECORD_SIZE || position + HEADER_SIZE + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER_SIZE);
+            crc.reset();
+            crc.update(payload.array(), 0, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            if (sink != null) {
+                sink.add(payload.array());
+            }
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Fim inesperado do diário de financiamentos.");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Codifica um financiamento como um fluxo completo de {@link FinancingCodec} (cabeçalho e um registro).
+     */
+    private static byte[] toBytes(Financing financing) {
+        return FinancingCodec.encode(List.of(financing));
+    }
+
+    /**
+     * Decodifica o payload de um registro, aceitando também registros antigos gravados com a serialização padrão do Java.
+     */
+    private static Financing fromBytes(byte[] payload) throws IOException, ClassNotFoundException {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        if (payload.length >= Integer.BYTES && FinancingCodec.isEncoded(buffer.getInt(0))) {
+            ArrayList<Financing> financings = FinancingCodec.decode(buffer);
+            if (financings.size() != 1) {
+                throw new StreamCorruptedException("Registro do diário com " + financings.size() + " financiamentos.");
+            }
+            return financings.get(0);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (Financing) ois.readObject();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package util;
+
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Migração de arquivos de financiamentos serializados (financings.ser) gravados com a serialização padrão do Java
+ * para o formato de {@link FinancingCodec}.
+ * O arquivo original é mantido com a extensão .bak, e o novo arquivo só substitui o original depois de ser relido
+ * e conferido registro a registro. A cópia .bak e o novo arquivo são confirmados em disco antes da troca.
+ */
+public class FinancingMigration {
+
+    /**
+     * Resultado de uma migração.
+     *
+     * @param financings  Quantidade de financiamentos migrados.
+     * @param bytesBefore Tamanho do arquivo original.
+     * @param bytesAfter  Tamanho do arquivo migrado.
+     * @param migrated    Se o arquivo foi convertido (falso quando já estava no formato novo).
+     */
+    public record Result(int financings, long bytesBefore, long bytesAfter, boolean migrated) {
+    }
+
+    /**
+     * Converte um arquivo serializado para o formato de {@link FinancingCodec}.
+     *
+     * @param fileName O nome do arquivo serializado.
+     * @return O resultado da migração.
+     * @throws IOException            Se ocorrer um erro de entrada/saída ou se a conferência falhar.
+     * @throws ClassNotFoundException Se a classe não for encontrada durante a desserialização.
+     */
+    public static Result migrate(String fileName) throws IOException, ClassNotFoundException {
+        Path original = Paths.get(fileName);
+        long bytesBefore = Files.size(original);
+        if (isEncoded(original)) {
+            int count = FinancingFileHandler.deserializeFinancings(fileName).size();
+            return new Result(count, bytesBefore, bytesBefore, false);
+        }
+
+        ArrayList<Financing> financings = FinancingFileHandler.deserializeFinancings(fileName);
+        Path temporary = original.resolveSibling(original.getFileName() + ".tmp");
+        FinancingFileHandler.serializeFinancings(financings, temporary.toString());
+
+        ArrayList<Financing> check = FinancingFileHandler.deserializeFinancings(temporary.toString());
+        String mismatch = compare(financings, check);
+        if (mismatch != null) {
+            Files.delete(temporary);
+            throw new IOException("A conferência da migração falhou: " + mismatch);
+        }
+
+        Path backup = original.resolveSibling(original.getFileName() + ".bak");
+        Files.copy(original, backup, StandardCopyOption.REPLACE_EXISTING);
+        FinancingFileHandler.force(backup);
+        FinancingFileHandler.forceDirectory(backup);
+        Files.move(temporary, original, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        FinancingFileHandler.forceDirectory(original);
+        return new Result(financings.size(), bytesBefore, Files.size(original), true);
+    }
+
+    /**
+     * Compara as duas listas registro a registro: tipo concreto, atributos comuns e atributos do tipo.
+     * Os valores reais são comparados bit a bit, pois a codificação não tem perdas.
+     *
+     * @return A descrição da primeira diferença, ou null se as listas forem iguais.
+     */
+    private static String compare(List<Financing> expected, List<Financing> actual) {
+        if (expected.size() != actual.size()) {
+            return actual.size() + " de " + expected.size() + " financiamentos lidos.";
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            if (!sameFinancing(expected.get(i), actual.get(i))) {
+                return "o financiamento " + (i + 1) + " foi lido com valores diferentes.";
+            }
+        }
+        return null;
+    }
+
+    private static boolean sameFinancing(Financing expected, Financing actual) {
+        if (expected.getClass() != actual.getClass()
+                || !sameValue(expected.getPropertyValue(), actual.getPropertyValue())
+                || expected.getLoanTerm() != actual.getLoanTerm()
+                || !sameValue(expected.getInterestRate(), actual.getInterestRate())) {
+            return false;
+        }
+        if (expected instanceof House house) {
+            House other = (House) actual;
+            return sameValue(house.getBuiltAreaSize(), other.getBuiltAreaSize())
+                    && sameValue(house.getLandSize(), other.getLandSize());
+        }
+        if (expected instanceof Apartment apartment) {
+            Apartment other = (Apartment) actual;
+            return apartment.getGarageSpaces() == other.getGarageSpaces()
+                    && apartment.getFloorNumber() == other.getFloorNumber();
+        }
+        if (expected instanceof Land land) {
+            return Objects.equals(land.getZoneType(), ((Land) actual).getZoneType());
+        }
+        return true;
+    }
+
+    private static boolean sameValue(double expected, double actual) {
+        return Double.doubleToLongBits(expected) == Double.doubleToLongBits(actual);
+    }
+
+    private static boolean isEncoded(Path path) throws IOException {
+        byte[] header = new byte[Integer.BYTES];
+        try (var in = Files.newInputStream(path)) {
+            if (in.readNBytes(header, 0, header.length) < header.length) {
+                return false;
+            }
+        }
+        return FinancingCodec.isEncoded(ByteBuffer.wrap(header).getInt());
+    }
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        String fileName = args.length > 0 ? args[0] : "financings.ser";
+        Result result = migrate(fileName);
+        if (result.migrated()) {
+            System.out.printf("%d financiamento(s) migrado(s): %d bytes -> %d bytes. Original mantido em %s.bak%n",
+                    result.financings(), result.bytesBefore(), result.bytesAfter(), fileName);
+        } else {
+            System.out.printf("%s já está no formato novo (%d financiamento(s)).%n", fileName, result.financings());
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package util;
+
+import constants.FormattingConstants;
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Leitor incremental do relatório de financiamentos (financings.txt).
+ * Percorre o texto uma única vez, reconhecendo o rótulo de cada linha e convertendo os números
+ * no formato pt-BR ("R$ 500.000,00", "10,00%") diretamente dos caracteres, sem expressões regulares
+ * e sem strings intermediárias. Os financiamentos são produzidos um a um, sem carregar o arquivo inteiro.
+ */
+public class FinancingReportParser implements Iterator<Financing>, Closeable {
+    private static final char[] SEPARATOR = FormattingConstants.SEPARATOR_LINE.toCharArray();
+    private static final char[] TYPE_HOUSE = "Tipo: Casa".toCharArray();
+    private static final char[] TYPE_APARTMENT = "Tipo: Apartamento".toCharArray();
+    private static final char[] TYPE_LAND = "Tipo de imóvel: Terreno".toCharArray();
+    private static final char[] PROPERTY_VALUE = "Valor do imóvel:".toCharArray();
+    private static final char[] LOAN_TERM = "Prazo:".toCharArray();
+    private static final char[] INTEREST_RATE = "Taxa de juros".toCharArray();
+    private static final char[] BUILT_AREA = "Tamanho da área construída:".toCharArray();
+    private static final char[] LAND_SIZE = "Tamanho do terreno:".toCharArray();
+    private static final char[] GARAGE_SPACES = "Número de vagas na garagem:".toCharArray();
+    private static final char[] FLOOR_NUMBER = "Número do andar:".toCharArray();
+    private static final char[] ZONE_TYPE = "Tipo de zona:".toCharArray();
+
+    private static final int UNKNOWN = 0;
+    private static final int HOUSE = 1;
+    private static final int APARTMENT = 2;
+    private static final int LAND = 3;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private char[] line = new char[128];
+    private int lineLength;
+    private boolean endOfInput;
+
+    private Financing pending;
+    private int type;
+    private double propertyValue;
+    private int loanTerm;
+    private double interestRate;
+    private double builtAreaSize;
+    private double landSize;
+    private int garageSpaces;
+    private int floorNumber;
+    private String zoneType;
+    private boolean hasBlockContent;
+
+    /**
+     * Construtor que recebe a origem do texto do relatório.
+     *
+     * @param reader O leitor de onde os blocos de financiamento serão lidos.
+     */
+    public FinancingReportParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Expõe os financiamentos restantes como um Stream sequencial.
+     * Fechar o Stream fecha o leitor subjacente.
+     *
+     * @return Um Stream com os financiamentos lidos sob demanda.
+     */
+    public Stream<Financing> stream() {
+        Spliterator<Financing> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null) {
+            try {
+                pending = readNextBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return pending != null;
+    }
+
+    @Override
+    public Financing next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Financing financing = pending;
+        pending = null;
+        return financing;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Avança até o fim do próximo bloco delimitado pelas linhas separadoras.
+     *
+     * @return O financiamento do bloco, ou null se não houver mais blocos.
+     */
+    private Financing readNextBlock() throws IOException {
+        boolean isInsideBlock = false;
+        while (readLine()) {
+            if (startsWith(SEPARATOR)) {
+                if (isInsideBlock) {
+                    return buildFinancing();
+                }
+                resetBlock();
+                isInsideBlock = true;
+            } else if (isInsideBlock) {
+                hasBlockContent = true;
+                parseLine();
+            }
+        }
+        return isInsideBlock && hasBlockContent ? buildFinancing() : null;
+    }
+
+    private void resetBlock() {
+        type = UNKNOWN;
+        propertyValue = 0;
+        loanTerm = 0;
+        interestRate = 0;
+        builtAreaSize = 0;
+        landSize = 0;
+        garageSpaces = 0;
+        floorNumber = 0;
+        zoneType = "";
+        hasBlockContent = false;
+    }
+
+    /**
+     * Identifica o rótulo da linha atual e converte o valor correspondente.
+     */
+    private void parseLine() {
+        if (startsWith(TYPE_HOUSE)) {
+            type = HOUSE;
+        } else if (startsWith(TYPE_APARTMENT)) {
+            type = APARTMENT;
+        } else if (startsWith(TYPE_LAND)) {
+            type = LAND;
+        } else if (startsWith(PROPERTY_VALUE)) {
+            propertyValue = parseDouble(PROPERTY_VALUE.length);
+        } else if (startsWith(LOAN_TERM)) {
+            loanTerm = parseInt(LOAN_TERM.length);
+        } else if (startsWith(INTEREST_RATE)) {
+            interestRate = parseDouble(INTEREST_RATE.length);
+        } else if (startsWith(BUILT_AREA)) {
+            builtAreaSize = parseDouble(BUILT_AREA.length);
+        } else if (startsWith(LAND_SIZE)) {
+            landSize = parseDouble(LAND_SIZE.length);
+        } else if (startsWith(GARAGE_SPACES)) {
+            garageSpaces = parseInt(GARAGE_SPACES.length);
+        } else if (startsWith(FLOOR_NUMBER)) {
+            floorNumber = parseInt(FLOOR_NUMBER.length);
+        } else if (startsWith(ZONE_TYPE)) {
+            zoneType = new String(line, ZONE_TYPE.length, lineLength - ZONE_TYPE.length).trim();
+        }
+    }
+
+    private Financing buildFinancing() {
+        return switch (type) {
+            case HOUSE -> new House(propertyValue, loanTerm, interestRate, builtAreaSize, landSize);
+            case APARTMENT -> new Apartment(propertyValue, loanTerm, interestRate, garageSpaces, floorNumber);
+            case LAND -> new Land(propertyValue, loanTerm, interestRate, zoneType);
+            default -> throw new IllegalArgumentException("Tipo desconhecido no bloco de financiamento.");
+        };
+    }
+
+    /**
+     * Lê a próxima linha para o buffer de linha reutilizável, descartando o terminador.
+     *
+     * @return true se uma linha foi lida, false no fim da entrada.
+     */
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        boolean readAny = false;
+        while (true) {
+            if (position == limit) {
+                if (endOfInput || !fill()) {
+                    return readAny;
+                }
+            }
+            readAny = true;
+            char c = buffer[position++];
+            if (c == '\n') {
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+                return true;
+            }
+            if (lineLength == line.length) {
+                char[] grown = new char[line.length * 2];
+                System.arraycopy(line, 0, grown, 0, lineLength);
+                line = grown;
+            }
+            line[lineLength++] = c;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            endOfInput = true;
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private boolean startsWith(char[] label) {
+        if (lineLength < label.length) {
+            return false;
+        }
+        for (int i = 0; i < label.length; i++) {
+            if (line[i] != label[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converte um número no formato pt-BR a partir da posição informada da linha atual.
+     * Pontos são separadores de milhar, a vírgula é o separador decimal e os demais caracteres são ignorados.
+     *
+     * @param from Posição inicial do valor na linha.
+     * @return O valor double convertido.
+     */
+    private double parseDouble(int from) {
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean inFraction = false;
+        boolean negative = false;
+
+        for (int i = from; i < lineLength; i++) {
+            char c = line[i];
+            if (c >= '0' && c <= '9') {
+                if (digits == 18) {
+                    return parseDoubleSlow(from);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (inFraction) {
+                    fractionDigits++;
+                }
+            } else if (c == ',') {
+                inFraction = true;
+            } else if (c == '-') {
+                negative = true;
+            }
+        }
+
+        if (mantissa > MAX_EXACT_MANTISSA || fractionDigits >= POWERS_OF_TEN.length) {
+            return parseDoubleSlow(from);
+        }
+        // Mantissa e potência de dez exatas em double: a divisão é corretamente arredondada, como em Double.parseDouble
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Conversão de reserva para números com mais dígitos do que um double representa exatamente.
+     */
+    private double parseDoubleSlow(int from) {
+        StringBuilder value = new StringBuilder(lineLength - from);
+        for (int i = from; i < lineLength; i++) {
+            char c = line[i];
+            if ((c >= '0' && c <= '9') || c == '-') {
+                value.append(c);
+            } else if (c == ',') {
+                value.append('.');
+            }
+        }
+        return Double.parseDouble(value.toString());
+    }
+
+    /**
+     * Converte os dígitos da linha atual, a partir da posição informada, em um inteiro.
+     *
+     * @param from Posição inicial do valor na linha.
+     * @return O valor inteiro convertido.
+     */
+    private int parseInt(int from) {
+        int value = 0;
+        for (int i = from; i < lineLength; i++) {
+            char c = line[i];
+            if (c >= '0' && c <= '9') {
+                value = Math.addExact(Math.multiplyExact(value, 10), c - '0');
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,246 @@
+package util;
+
+import constants.FormattingConstants;
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Gera o bloco de relatório de cada financiamento diretamente em um destino (Writer, StringBuilder ou canal de arquivo),
+ * sem String.format e sem a String intermediária do toString.
+ * O texto produzido é idêntico, byte a byte, ao toString de {@link House}, {@link Apartment} e {@link Land},
+ * de modo que os arquivos continuam legíveis por {@link FinancingFileHandler#readFromFile(String)}.
+ * A instância não guarda estado mutável e pode ser compartilhada entre threads.
+ */
+public class FinancingReportWriter {
+    private static final String SEPARATOR = FormattingConstants.SEPARATOR_LINE + "\n";
+    private static final int CHANNEL_BUFFER_SIZE = 64 * 1024;
+    private static final double MAX_FAST_DECIMAL = 0x1p42;
+
+    private final Locale locale;
+    private final char decimalSeparator;
+    private final boolean asciiDigits;
+
+    /**
+     * Construtor que usa o idioma de formatação padrão, o mesmo usado pelo toString dos financiamentos.
+     */
+    public FinancingReportWriter() {
+        this(Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Construtor que usa o idioma informado para os números com duas casas decimais.
+     *
+     * @param locale O idioma de formatação.
+     */
+    public FinancingReportWriter(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        this.locale = locale;
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.asciiDigits = symbols.getZeroDigit() == '0';
+    }
+
+    /**
+     * Gera o bloco de relatório de um financiamento como String.
+     *
+     * @param financing O financiamento a ser formatado.
+     * @return O mesmo texto de {@code financing.toString()}.
+     */
+    public String render(Financing financing) {
+        return write(financing, new StringBuilder(512)).toString();
+    }
+
+    /**
+     * Acrescenta o bloco de relatório de um financiamento a um StringBuilder.
+     *
+     * @param financing O financiamento a ser formatado.
+     * @param out       O destino do texto.
+     * @return O próprio StringBuilder informado.
+     */
+    public StringBuilder write(Financing financing, StringBuilder out) {
+        try {
+            write(financing, (Appendable) out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * Escreve o bloco de relatório de um financiamento em qualquer Appendable (por exemplo, um Writer).
+     *
+     * @param financing O financiamento a ser formatado.
+     * @param out       O destino do texto.
+     * @throws IOException Se o destino lançar um erro de entrada/saída.
+     */
+    public void write(Financing financing, Appendable out) throws IOException {
+        if (financing instanceof House house) {
+            writeHouse(house, out);
+        } else if (financing instanceof Apartment apartment) {
+            writeApartment(apartment, out);
+        } else if (financing instanceof Land land) {
+            writeLand(land, out);
+        } else {
+            out.append(financing.toString());
+        }
+    }
+
+    /**
+     * Escreve os blocos de vários financiamentos em um canal (por exemplo, um FileChannel),
+     * codificando o texto em um ByteBuffer direto reutilizado entre os registros.
+     * Cada bloco é seguido de um separador de linha, como em {@link FinancingFileHandler#saveToFile}.
+     *
+     * @param financings Os financiamentos a serem escritos.
+     * @param channel    O canal de destino.
+     * @param charset    A codificação dos caracteres.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public void writeAll(Iterable<? extends Financing> financings, WritableByteChannel channel, Charset charset) throws IOException {
+        CharsetEncoder encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        ByteBuffer bytes = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        StringBuilder block = new StringBuilder(512);
+        String lineSeparator = System.lineSeparator();
+
+        for (Financing financing : financings) {
+            block.setLength(0);
+            write(financing, block).append(lineSeparator);
+            CharBuffer chars = CharBuffer.wrap(block);
+            while (true) {
+                CoderResult result = encoder.encode(chars, bytes, false);
+                if (result.isOverflow()) {
+                    drain(bytes, channel);
+                } else {
+                    break;
+                }
+            }
+        }
+        encoder.encode(CharBuffer.allocate(0), bytes, true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain(bytes, channel);
+        }
+        drain(bytes, channel);
+    }
+
+    private static void drain(ByteBuffer bytes, WritableByteChannel channel) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    private void writeHouse(House house, Appendable out) throws IOException {
+        out.append(SEPARATOR)
+                .append("         Detalhes do Financiamento - Casa         \n")
+                .append("Tipo: Casa\n");
+        writeCommonFields(house, "Taxa de juros: ", out);
+        out.append("Tamanho da área construída: ");
+        appendDecimal(house.getBuiltAreaSize(), out);
+        out.append(" m²\nTamanho do terreno: ");
+        appendDecimal(house.getLandSize(), out);
+        out.append(" m²\n");
+        writePayments(house, out);
+    }
+
+    private void writeApartment(Apartment apartment, Appendable out) throws IOException {
+        out.append(SEPARATOR)
+                .append("         Detalhes do Financiamento - Apartamento         \n")
+                .append("Tipo: Apartamento\n");
+        writeCommonFields(apartment, "Taxa de juros: ", out);
+        out.append("Número de vagas na garagem: ");
+        appendInt(apartment.getGarageSpaces(), out);
+        out.append("\nNúmero do andar: ");
+        appendInt(apartment.getFloorNumber(), out);
+        out.append('\n');
+        writePayments(apartment, out);
+    }
+
+    private void writeLand(Land land, Appendable out) throws IOException {
+        out.append(SEPARATOR)
+                .append("         Detalhes do Financiamento - Terreno         \n")
+                .append("Tipo de imóvel: Terreno\n");
+        writeCommonFields(land, "Taxa de juros anual: ", out);
+        out.append("Tipo de zona: ").append(String.valueOf(land.getZoneType())).append('\n');
+        writePayments(land, out);
+    }
+
+    private void writeCommonFields(Financing financing, String interestRateLabel, Appendable out) throws IOException {
+        out.append("Valor do imóvel: ");
+        CurrencyFormatter.appendBRL(financing.getPropertyValue(), out);
+        out.append("\nPrazo: ");
+        appendInt(financing.getLoanTerm(), out);
+        out.append(" anos\n").append(interestRateLabel);
+        appendDecimal(financing.getInterestRate(), out);
+        out.append("%\n");
+    }
+
+    private void writePayments(Financing financing, Appendable out) throws IOException {
+        out.append("Pagamento mensal: ");
+        CurrencyFormatter.appendBRL(financing.getMonthlyPayment(), out);
+        out.append("\nPagamento total: ");
+        CurrencyFormatter.appendBRL(financing.getTotalPayment(), out);
+        out.append('\n').append(SEPARATOR);
+    }
+
+    /**
+     * Escreve um inteiro da mesma forma que o especificador %d.
+     */
+    private void appendInt(int value, Appendable out) throws IOException {
+        if (!asciiDigits) {
+            out.append(String.format(locale, "%d", value));
+            return;
+        }
+        if (value < 0) {
+            out.append('-');
+        }
+        appendLong(Math.abs((long) value), out);
+    }
+
+    /**
+     * Escreve um número com duas casas decimais da mesma forma que o especificador %.2f.
+     * Quando a menor representação decimal do valor tem no máximo duas casas (o caso de valores digitados
+     * pelo usuário), os dígitos são gerados diretamente; nos demais casos usa o próprio String.format.
+     */
+    private void appendDecimal(double value, Appendable out) throws IOException {
+        double magnitude = Math.abs(value);
+        long hundredths = Math.round(magnitude * 100);
+        if (!asciiDigits || !(magnitude < MAX_FAST_DECIMAL) || hundredths / 100.0 != magnitude) {
+            out.append(String.format(locale, "%.2f", value));
+            return;
+        }
+        if (Double.doubleToRawLongBits(value) < 0) {
+            out.append('-');
+        }
+        long integerPart = hundredths / 100;
+        int fraction = (int) (hundredths % 100);
+        appendLong(integerPart, out);
+        out.append(decimalSeparator)
+                .append((char) ('0' + fraction / 10))
+                .append((char) ('0' + fraction % 10));
+    }
+
+    private static void appendLong(long value, Appendable out) throws IOException {
+        long power = 1;
+        while (power <= value / 10) {
+            power *= 10;
+        }
+        for (; power > 0; power /= 10) {
+            out.append((char) ('0' + value / power % 10));
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package util;
 
+import model.Apartment;
+import model.Financing;
+import model.House;
+import model.Land;
+import model.PaymentBatch;
+
 public enum FinancingTypesTranslated {
     HOUSE("Casa"),
     APARTMENT("Apartamento"),
@@ -27,4 +33,50 @@ public enum FinancingTypesTranslated {
                 return "Tipo desconhecido";
         }
     }
+
+    /**
+     * Retorna o código do tipo usado pelas colunas da carteira e pelo cálculo em lote
+     * ({@link PaymentBatch#HOUSE}, {@link PaymentBatch#APARTMENT} ou {@link PaymentBatch#LAND}).
+     *
+     * @return O código do tipo.
+     */
+    public byte code() {
+        return switch (this) {
+            case HOUSE -> PaymentBatch.HOUSE;
+            case APARTMENT -> PaymentBatch.APARTMENT;
+            case LAND -> PaymentBatch.LAND;
+        };
+    }
+
+    /**
+     * Retorna o tipo correspondente a um código de {@link #code()}.
+     *
+     * @param code O código do tipo.
+     * @return O tipo.
+     * @throws IllegalArgumentException Se o código não corresponder a nenhum tipo.
+     */
+    public static FinancingTypesTranslated fromCode(byte code) {
+        return switch (code) {
+            case PaymentBatch.HOUSE -> HOUSE;
+            case PaymentBatch.APARTMENT -> APARTMENT;
+            case PaymentBatch.LAND -> LAND;
+            default -> throw new IllegalArgumentException("Tipo de financiamento desconhecido: " + code);
+        };
+    }
+
+    /**
+     * Retorna o tipo de um financiamento. Subclasses (como as visões de {@code util.ColumnarFinancingSnapshot})
+     * têm o mesmo tipo da classe que estendem. É o único ponto que identifica o tipo pela classe: o código de
+     * {@link #code()} e a marca de {@link FinancingCodec} são derivados dele.
+     */
+    public static FinancingTypesTranslated fromFinancing(Financing financing) {
+        if (financing instanceof House) {
+            return HOUSE;
+        } else if (financing instanceof Apartment) {
+            return APARTMENT;
+        } else if (financing instanceof Land) {
+            return LAND;
+        }
+        throw new IllegalArgumentException("Tipo desconhecido: " + financing.getClass().getSimpleName());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,320 @@
+package util;
+
+import constants.FormattingConstants;
+import model.Financing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.zip.CRC32C;
+
+/**
+ * Leitura incremental de financings.txt, que só cresce por acréscimo de blocos no final.
+ * <p>
+ * O leitor guarda um ponto de controle: o deslocamento logo após o último bloco completo lido e o CRC-32C de todo o
+ * prefixo já lido. A cada recarga, o CRC do prefixo é recalculado e conferido, e apenas os blocos acrescentados
+ * depois do deslocamento são interpretados, com {@link FileChannel} posicionado nele. A conferência lê o prefixo
+ * sequencialmente, o que custa bem menos que interpretá-lo (centenas de MB por segundo); a interpretação, que é a parte
+ * cara, é proporcional aos dados novos. Se o arquivo encolheu ou qualquer byte do prefixo mudou, o arquivo é lido por
+ * inteiro novamente.
+ * Um bloco ainda incompleto no final do arquivo (gravação em andamento) fica para a próxima recarga.
+ * <p>
+ * As listas retornadas são retratos imutáveis: recargas posteriores não alteram uma lista já retornada.
+ */
+public class IncrementalFinancingReader {
+    private static final int CHECKSUM_BUFFER_SIZE = 1 << 20;
+    private static final int SCAN_WINDOW = 64 * 1024;
+
+    private final Path path;
+    private final Charset charset;
+    private final byte[] separator;
+
+    private Financing[] financings = new Financing[16];
+    private int size;
+    private long offset;
+    private final CRC32C prefixChecksum = new CRC32C();
+    private long fullReloads;
+    private long incrementalReloads;
+
+    /**
+     * Construtor do leitor. Nada é lido até a primeira recarga.
+     *
+     * @param fileName O nome do arquivo de texto.
+     */
+    public IncrementalFinancingReader(String fileName) {
+        this.path = Paths.get(fileName);
+        this.charset = Charset.defaultCharset();
+        this.separator = FormattingConstants.SEPARATOR_LINE.getBytes(charset);
+    }
+
+    /**
+     * Ponto de controle da leitura.
+     *
+     * @param offset         Deslocamento logo após o último bloco completo lido.
+     * @param prefixChecksum CRC-32C do arquivo até o deslocamento.
+     */
+    public record Checkpoint(long offset, long prefixChecksum) {
+    }
+
+    /**
+     * Lê os blocos acrescentados desde a última recarga, ou o arquivo inteiro se o prefixo já lido mudou.
+     *
+     * @return Todos os financiamentos do arquivo (lista somente leitura).
+     * @throws IOException Se ocorrer um erro de entrada/saída, inclusive se o arquivo não existir.
+     */
+    public synchronized List<Financing> reload() throws IOException {
+        try (FileChannel channel = open()) {
+            if (offset > 0 && !checkpointMatches(channel)) {
+                clear();
+            }
+            readFrom(channel);
+        }
+        return snapshot();
+    }
+
+    /**
+     * Descarta o ponto de controle e lê o arquivo inteiro.
+     *
+     * @return Todos os financiamentos do arquivo (lista somente leitura).
+     * @throws IOException Se ocorrer um erro de entrada/saída, inclusive se o arquivo não existir.
+     */
+    public synchronized List<Financing> reloadFully() throws IOException {
+        try (FileChannel channel = open()) {
+            clear();
+            readFrom(channel);
+        }
+        return snapshot();
+    }
+
+    public synchronized Checkpoint getCheckpoint() {
+        return new Checkpoint(offset, prefixChecksum.getValue());
+    }
+
+    /**
+     * Quantidade de recargas que precisaram ler o arquivo desde o início.
+     */
+    public synchronized long getFullReloads() {
+        return fullReloads;
+    }
+
+    /**
+     * Quantidade de recargas que leram apenas os blocos acrescentados.
+     */
+    public synchronized long getIncrementalReloads() {
+        return incrementalReloads;
+    }
+
+    private FileChannel open() throws IOException {
+        if (!Files.exists(path)) {
+            clear();
+            throw new NoSuchFileException(path.toString());
+        }
+        return FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    private void clear() {
+        financings = new Financing[16];
+        size = 0;
+        offset = 0;
+        prefixChecksum.reset();
+    }
+
+    private boolean checkpointMatches(FileChannel channel) throws IOException {
+        if (channel.size() < offset) {
+            return false;
+        }
+        CRC32C current = new CRC32C();
+        update(current, channel, 0, offset);
+        return current.getValue() == prefixChecksum.getValue();
+    }
+
+    /**
+     * Lê os blocos completos entre o deslocamento atual e o fim do arquivo e avança o ponto de controle.
+     */
+    private void readFrom(FileChannel channel) throws IOException {
+        if (offset == 0) {
+            fullReloads++;
+        } else {
+            incrementalReloads++;
+        }
+        long end = findLastBlockEnd(channel, offset, channel.size());
+        if (end <= offset) {
+            return;
+        }
+        InputStream region = new ChannelRegionInputStream(channel, offset, end);
+        try (FinancingReportParser parser = new FinancingReportParser(new InputStreamReader(region, charset))) {
+            parser.forEachRemaining(this::add);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        update(prefixChecksum, channel, offset, end);
+        offset = end;
+    }
+
+    private void add(Financing financing) {
+        if (size == financings.length) {
+            financings = Arrays.copyOf(financings, size * 2);
+        }
+        financings[size++] = financing;
+    }
+
+    /**
+     * Retrato da lista atual. Os elementos até {@code size} nunca são alterados depois de lidos, e os acréscimos
+     * posteriores são gravados depois dessa posição (ou em um novo array), portanto o retrato não muda.
+     */
+    private List<Financing> snapshot() {
+        return new Snapshot(financings, size);
+    }
+
+    /**
+     * Procura, de trás para frente, o fim do último bloco completo: a linha separadora seguida de uma linha em branco.
+     *
+     * @return O deslocamento logo após o último bloco completo, ou {@code from} se não houver bloco completo.
+     */
+    private long findLastBlockEnd(FileChannel channel, long from, long to) throws IOException {
+        // Separador mais a maior forma da linha em branco ("\n\r\n")
+        int overlap = separator.length + 3;
+        ByteBuffer window = ByteBuffer.allocate(SCAN_WINDOW + overlap);
+        long windowEnd = to;
+        while (windowEnd > from) {
+            long windowStart = Math.max(from, windowEnd - window.capacity());
+            window.clear().limit((int) (windowEnd - windowStart));
+            readFully(channel, window, windowStart);
+            for (int i = window.limit(); i > 0; i--) {
+                int blankLine = ParallelFinancingReader.blankLineBefore(window, i);
+                if (blankLine > 0 && i - blankLine >= separator.length && endsWith(window, i - blankLine, separator)) {
+                    return windowStart + i;
+                }
+            }
+            if (windowStart == from) {
+                break;
+            }
+            windowEnd = windowStart + overlap;
+        }
+        return from;
+    }
+
+    private static boolean endsWith(ByteBuffer window, int end, byte[] pattern) {
+        int start = end - pattern.length;
+        for (int i = 0; i < pattern.length; i++) {
+            if (window.get(start + i) != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Acrescenta ao CRC o trecho [from, to) do arquivo, lido em partes de tamanho fixo.
+     */
+    private static void update(CRC32C crc, FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(CHECKSUM_BUFFER_SIZE, Math.max(0, to - from)));
+        for (long position = from; position < to; position += buffer.limit()) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), to - position));
+            readFully(channel, buffer, position);
+            buffer.flip();
+            crc.update(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Fim inesperado do arquivo de financiamentos.");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Lista imutável sobre um prefixo do array de financiamentos.
+     */
+    private static final class Snapshot extends AbstractList<Financing> implements RandomAccess {
+        private final Financing[] financings;
+        private final int size;
+
+        Snapshot(Financing[] financings, int size) {
+            this.financings = financings;
+            this.size = size;
+        }
+
+        @Override
+        public Financing get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fora do intervalo de 0 a " + (size - 1));
+            }
+            return financings[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Fluxo de leitura sobre um trecho [início, fim) do arquivo, usando leituras posicionais do canal.
+     */
+    private static final class ChannelRegionInputStream extends InputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private long position;
+        private final long end;
+
+        ChannelRegionInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+            buffer.flip();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(bytes, off, count);
+            return count;
+        }
+
+        private boolean fill() throws IOException {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+            if (position >= end) {
+                return false;
+            }
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            readFully(channel, buffer, position);
+            position += buffer.limit();
+            buffer.flip();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package util;
+
+import constants.FormattingConstants;
+import model.Financing;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Leitura paralela do relatório de financiamentos.
+ * O arquivo é dividido em faixas de bytes alinhadas ao início de um bloco (linha separadora precedida de linha em branco),
+ * cada faixa é mapeada em memória e interpretada por um {@link FinancingReportParser} próprio,
+ * e os resultados são concatenados na ordem original do arquivo.
+ */
+public class ParallelFinancingReader {
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    /**
+     * Tamanho máximo de uma faixa. Cada faixa é decodificada de uma vez em um CharBuffer no heap (dois bytes por
+     * caractere), portanto o limite também limita a memória de cada tarefa. As faixas visam metade do limite,
+     * deixando folga para o avanço até o início do próximo bloco.
+     */
+    private static final int MAX_CHUNK_SIZE = 32 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SCAN_WINDOW = 64 * 1024;
+
+    private ParallelFinancingReader() {
+    }
+
+    /**
+     * Lê os financiamentos de um arquivo de texto em paralelo.
+     *
+     * @param fileName O nome do arquivo para leitura.
+     * @param pool     O pool fork/join que executará a leitura das faixas.
+     * @return A mesma lista retornada por {@link FinancingFileHandler#readFromFile(String)}.
+     * @throws IOException Se ocorrer um erro de entrada/saída.
+     */
+    public static ArrayList<Financing> readFromFile(String fileName, ForkJoinPool pool) throws IOException {
+        Charset charset = Charset.defaultCharset();
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long[] boundaries = splitIntoChunks(channel, pool.getParallelism(), charset);
+            return pool.invoke(new ChunkTask(channel, boundaries, 0, boundaries.length - 1, charset));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Calcula os limites das faixas, ajustando cada corte para o início do próximo bloco.
+     *
+     * @return Os deslocamentos de início de cada faixa, seguidos do tamanho do arquivo.
+     */
+    private static long[] splitIntoChunks(FileChannel channel, int parallelism, Charset charset) throws IOException {
+        long size = channel.size();
+        long chunkSize = Math.min(MAX_CHUNK_SIZE / 2, Math.max(MIN_CHUNK_SIZE, size / ((long) parallelism * CHUNKS_PER_THREAD)));
+        byte[] separator = FormattingConstants.SEPARATOR_LINE.getBytes(charset);
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long start = 0;
+        while (size - start > chunkSize) {
+            long next = findBlockStart(channel, start + chunkSize, size, separator);
+            if (next >= size) {
+                break;
+            }
+            if (next - start > MAX_CHUNK_SIZE) {
+                throw new IOException("Bloco de financiamento maior que o tamanho máximo de uma faixa.");
+            }
+            boundaries.add(next);
+            start = next;
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Procura, a partir de um deslocamento, a primeira linha separadora que abre um bloco,
+     * isto é, precedida por uma linha em branco.
+     *
+     * @return O deslocamento do início do bloco, ou o tamanho do arquivo se não houver outro bloco.
+     */
+    private static long findBlockStart(FileChannel channel, long from, long size, byte[] separator) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(SCAN_WINDOW + separator.length + 3);
+        // Recua alguns bytes para enxergar a linha em branco que precede o separador
+        long windowStart = Math.max(0, from - 3);
+        while (windowStart < size) {
+            window.clear();
+            int read = 0;
+            while (window.hasRemaining()) {
+                int n = channel.read(window, windowStart + read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            for (int i = 3; i + separator.length <= read; i++) {
+                if (window.get(i) == separator[0] && isBlankLineBefore(window, i) && matches(window, i, separator)) {
+                    return windowStart + i;
+                }
+            }
+            if (windowStart + read >= size) {
+                break;
+            }
+            windowStart += read - separator.length - 3;
+        }
+        return size;
+    }
+
+    private static boolean isBlankLineBefore(ByteBuffer window, int index) {
+        return blankLineBefore(window, index) > 0;
+    }
+
+    /**
+     * Tamanho da linha em branco que termina imediatamente antes da posição informada. Os blocos são gravados com
+     * {@code "\n"} após o separador seguido de {@link System#lineSeparator()}, portanto a linha em branco é
+     * {@code "\n\n"} ou, no Windows, {@code "\n\r\n"}. Também usado por {@link IncrementalFinancingReader}.
+     *
+     * @return 2 ou 3, conforme a forma da linha em branco, ou 0 se não houver linha em branco nessa posição.
+     */
+    static int blankLineBefore(ByteBuffer window, int index) {
+        if (index < 2 || window.get(index - 1) != '\n') {
+            return 0;
+        }
+        if (window.get(index - 2) == '\n') {
+            return 2;
+        }
+        return index >= 3 && window.get(index - 2) == '\r' && window.get(index - 3) == '\n' ? 3 : 0;
+    }
+
+    private static boolean matches(ByteBuffer window, int index, byte[] separator) {
+        for (int i = 0; i < separator.length; i++) {
+            if (window.get(index + i) != separator[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tarefa fork/join que divide o intervalo de faixas ao meio até restar uma única faixa.
+     */
+    private static class ChunkTask extends RecursiveTask<ArrayList<Financing>> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final int fromChunk;
+        private final int toChunk;
+        private final Charset charset;
+
+        ChunkTask(FileChannel channel, long[] boundaries, int fromChunk, int toChunk, Charset charset) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.charset = charset;
+        }
+
+        @Override
+        protected ArrayList<Financing> compute() {
+            if (toChunk - fromChunk == 1) {
+                return parseChunk();
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            ChunkTask left = new ChunkTask(channel, boundaries, fromChunk, middle, charset);
+            ChunkTask right = new ChunkTask(channel, boundaries, middle, toChunk, charset);
+            left.fork();
+            ArrayList<Financing> rightResult = right.compute();
+            ArrayList<Financing> result = left.join();
+            result.addAll(rightResult);
+            return result;
+        }
+
+        private ArrayList<Financing> parseChunk() {
+            long start = boundaries[fromChunk];
+            long length = boundaries[toChunk] - start;
+            ArrayList<Financing> financings = new ArrayList<>();
+            try {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                CharBuffer chars = charset.decode(mapped);
+                try (FinancingReportParser parser = new FinancingReportParser(
+                        new CharArrayReader(chars.array(), chars.arrayOffset(), chars.remaining()))) {
+                    parser.forEachRemaining(financings::add);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return financings;
+        }
+    }
+}
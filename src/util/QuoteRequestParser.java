@@ -0,0 +1,224 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conversão de linhas CSV e de objetos JSON simples (um nível, valores texto ou número) em pares nome/valor
+ * para a criação de pedidos de cotação.
+ */
+public class QuoteRequestParser {
+
+    /**
+     * Separa uma linha CSV em campos, respeitando aspas duplas.
+     *
+     * @param line A linha CSV.
+     * @return Os campos da linha.
+     */
+    public static String[] splitCsv(String line) {
+        ArrayList<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Associa os campos de uma linha CSV aos nomes do cabeçalho.
+     *
+     * @param header Os nomes das colunas.
+     * @param line   A linha CSV.
+     * @return Os valores de cada coluna.
+     * @throws IllegalArgumentException Se a linha tiver mais campos que o cabeçalho.
+     */
+    public static Map<String, String> parseCsv(String[] header, String line) {
+        String[] values = splitCsv(line);
+        if (values.length > header.length) {
+            throw new IllegalArgumentException("Linha com mais campos que o cabeçalho: " + line);
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            fields.put(header[i], values[i]);
+        }
+        return fields;
+    }
+
+    /**
+     * Converte um objeto JSON de um nível em pares nome/valor.
+     * Valores numéricos, booleanos e nulos são mantidos como texto; objetos e arrays aninhados não são aceitos.
+     *
+     * @param json O texto do objeto JSON.
+     * @return Os valores de cada campo.
+     * @throws IllegalArgumentException Se o texto não for um objeto JSON válido nesse formato.
+     */
+    public static Map<String, String> parseJsonObject(String json) {
+        JsonCursor cursor = new JsonCursor(json);
+        Map<String, String> fields = new HashMap<>();
+        cursor.expect('{');
+        if (cursor.peek() == '}') {
+            cursor.expect('}');
+            cursor.expectEnd();
+            return fields;
+        }
+        while (true) {
+            String name = cursor.readString();
+            cursor.expect(':');
+            fields.put(name, cursor.readValue());
+            char next = cursor.next();
+            if (next == '}') {
+                break;
+            }
+            if (next != ',') {
+                throw new IllegalArgumentException("JSON inválido: esperado ',' ou '}' na posição " + cursor.position);
+            }
+        }
+        cursor.expectEnd();
+        return fields;
+    }
+
+    /**
+     * Escapa um texto para ser usado como valor de texto em JSON.
+     *
+     * @param value O texto original.
+     * @return O texto escapado, sem as aspas externas.
+     */
+    public static String escapeJson(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Posição de leitura sobre o texto JSON.
+     */
+    private static class JsonCursor {
+        private final String json;
+        private int position;
+
+        JsonCursor(String json) {
+            this.json = json;
+        }
+
+        char peek() {
+            skipWhitespace();
+            if (position >= json.length()) {
+                throw new IllegalArgumentException("JSON inválido: fim inesperado.");
+            }
+            return json.charAt(position);
+        }
+
+        char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        void expect(char expected) {
+            if (next() != expected) {
+                throw new IllegalArgumentException("JSON inválido: esperado '" + expected + "' na posição " + (position - 1));
+            }
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (position != json.length()) {
+                throw new IllegalArgumentException("JSON inválido: conteúdo após o fim do objeto.");
+            }
+        }
+
+        String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("JSON inválido: objetos e arrays aninhados não são suportados.");
+            }
+            int start = position;
+            while (position < json.length() && ",}".indexOf(json.charAt(position)) < 0
+                    && !Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+            String literal = json.substring(start, position);
+            return literal.equals("null") ? null : literal;
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(position++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 't' -> value.append('\t');
+                    case 'r' -> value.append('\r');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > json.length()) {
+                            throw new IllegalArgumentException("JSON inválido: escape unicode incompleto.");
+                        }
+                        value.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                        position += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("JSON inválido: texto sem aspas de fechamento.");
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}